@@ -0,0 +1,286 @@
+package progmission;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+
+/**
+ * Single file holding the access windows of many sites, for one configuration
+ * of the mission.
+ *
+ * The file starts with a header (magic number, format version and end offset
+ * of the committed entries) followed by the entries of the sites, appended one
+ * after the other. Each entry header
+ * gives the site key and the size of its windows, encoded as in
+ * {@link AccessCacheFile} : the index from the site keys to the windows
+ * offsets is built by reading the entry headers only, jumping over the windows.
+ * It is kept in memory and only completed with the entries appended since, so
+ * loading a site costs a map lookup and the decoding of its windows, whatever
+ * the number of sites. A site appended again replaces the previous entry.
+ *
+ * The entries are never modified once committed, so the readers work on a
+ * memory-mapped view of the committed entries. The file is locked while the
+ * index is refreshed, shared by the readers and exclusive for a writer, both
+ * between processes (file lock) and between the threads of the process, which
+ * cannot share a file lock. A writer writes its entry after the committed ones,
+ * then commits it by updating the end offset of the header : an entry left
+ * incomplete by a crashed writer is never read, and is overwritten by the next
+ * one. The file is thus never truncated, which is not possible on every system
+ * while it is mapped.
+ *
+ * An instance can be used concurrently.
+ */
+final class AccessCacheContainer {
+
+	/** Extension of the access cache containers. */
+	static final String EXTENSION = ".acx";
+
+	/** Magic number of the access cache containers : "ACCX". */
+	private static final int MAGIC = 0x41434358;
+
+	/** Version of the format, to change with the layout of the entries. */
+	private static final int VERSION = 2;
+
+	/** Size (bytes) of the file header : magic number, version and end offset. */
+	private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+
+	/** Locks of the containers of the process, by canonical path. */
+	private static final Map<String, ReadWriteLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+	/** Container file. */
+	private final File file;
+
+	/** Lock of the container between the threads of the process. */
+	private final ReadWriteLock processLock;
+
+	/** Offset of the windows of each site key, in the mapped view. */
+	private final Map<String, Integer> index = new HashMap<>();
+
+	/** Memory-mapped view of the committed entries, null before the first read. */
+	private MappedByteBuffer view;
+
+	/** End offset of the committed entries already indexed. */
+	private long indexedEnd = HEADER_SIZE;
+
+	/**
+	 * Constructor. The file is only opened when used.
+	 *
+	 * @param file Container file
+	 * @throws IOException If the path of the file cannot be resolved
+	 */
+	AccessCacheContainer(final File file) throws IOException {
+		this.file = file;
+		this.processLock = PROCESS_LOCKS.computeIfAbsent(file.getCanonicalPath(),
+				path -> new ReentrantReadWriteLock());
+	}
+
+	/**
+	 * Check whether the container holds the windows of a site.
+	 *
+	 * @param key Site key
+	 * @return true if the site has been stored
+	 * @throws IOException If the container cannot be read
+	 */
+	synchronized boolean contains(final String key) throws IOException {
+		if (!this.index.containsKey(key)) {
+			refresh();
+		}
+		return this.index.containsKey(key);
+	}
+
+	/**
+	 * Read the access windows of a site.
+	 *
+	 * @param key      Site key
+	 * @param origin   Reference date of the offsets : the mission start date
+	 * @param interval Time interval of the {@link Timeline}
+	 * @param code     Code of the access phenomena
+	 * @param comment  Comment of the access phenomena
+	 * @return the access {@link Timeline}, or null if the site has not been stored
+	 * @throws IOException      If the container cannot be read
+	 * @throws PatriusException If the {@link Timeline} cannot be built
+	 */
+	synchronized Timeline read(final String key, final AbsoluteDate origin, final AbsoluteDateInterval interval,
+			final String code, final String comment) throws IOException, PatriusException {
+		if (!contains(key)) {
+			return null;
+		}
+		final ByteBuffer windows = this.view.duplicate();
+		windows.position(this.index.get(key));
+		return AccessCacheFile.decode(windows, origin, interval, code, comment);
+	}
+
+	/**
+	 * Append the access windows of a site at the end of the container, creating
+	 * it if needed.
+	 *
+	 * @param key      Site key
+	 * @param timeline Access {@link Timeline}
+	 * @param origin   Reference date of the offsets : the mission start date
+	 * @throws IOException If the container cannot be written
+	 */
+	void append(final String key, final Timeline timeline, final AbsoluteDate origin) throws IOException {
+		final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer windows = AccessCacheFile.encode(timeline, origin);
+		final ByteBuffer entry = ByteBuffer.allocate(2 * Integer.BYTES + keyBytes.length + windows.remaining())
+				.order(ByteOrder.LITTLE_ENDIAN);
+		entry.putInt(keyBytes.length).put(keyBytes).putInt(windows.remaining()).put(windows);
+		entry.flip();
+		final long entrySize = entry.remaining();
+
+		Files.createDirectories(this.file.getAbsoluteFile().getParentFile().toPath());
+		this.processLock.writeLock().lock();
+		try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+				FileLock lock = channel.lock()) {
+			if (channel.size() < HEADER_SIZE) {
+				// New container : writing the header, without any entry
+				writeHeader(channel, HEADER_SIZE);
+			}
+			final long end = readCommittedEnd(channel);
+
+			// Writing the entry after the committed ones, over the incomplete entry a
+			// crashed writer may have left, then committing it
+			writeFully(channel, entry, end);
+			channel.force(false);
+			writeHeader(channel, end + entrySize);
+		} finally {
+			this.processLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Index the entries committed since the last refresh, mapping the committed
+	 * entries of the container.
+	 *
+	 * @throws IOException If the container cannot be read or is not an access
+	 *                     cache container of the current version
+	 */
+	private void refresh() throws IOException {
+		if (!this.file.exists()) {
+			return;
+		}
+		this.processLock.readLock().lock();
+		try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+				FileLock lock = channel.lock(0L, Long.MAX_VALUE, true)) {
+			final long end = readCommittedEnd(channel);
+			if (end <= this.indexedEnd && this.view != null) {
+				return;
+			}
+			final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+			index(mapped, this.indexedEnd, this.index);
+			this.indexedEnd = end;
+			this.view = mapped;
+		} finally {
+			this.processLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Read the end offset of the committed entries from the header of a container.
+	 * The header is read into a heap buffer, so that the file is not mapped by the
+	 * writers.
+	 *
+	 * @param channel Channel of the container
+	 * @return the end offset of the committed entries
+	 * @throws IOException If the file is not an access cache container of the
+	 *                     current version
+	 */
+	private static long readCommittedEnd(final FileChannel channel) throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		while (header.hasRemaining()) {
+			if (channel.read(header, header.position()) < 0) {
+				throw new IOException("Not an access cache container");
+			}
+		}
+		if (header.getInt(0) != MAGIC) {
+			throw new IOException("Not an access cache container");
+		}
+		if (header.getInt(Integer.BYTES) != VERSION) {
+			throw new IOException("Unsupported access cache container version : " + header.getInt(Integer.BYTES));
+		}
+		final long end = header.getLong(2 * Integer.BYTES);
+		if (end < HEADER_SIZE || end > channel.size()) {
+			throw new IOException("Corrupted access cache container header : " + end);
+		}
+		return end;
+	}
+
+	/**
+	 * Write the header of a container, and force it to the storage.
+	 *
+	 * @param channel Channel of the container
+	 * @param end     End offset of the committed entries
+	 * @throws IOException If the container cannot be written
+	 */
+	private static void writeHeader(final FileChannel channel, final long end) throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC).putInt(VERSION).putLong(end).flip();
+		writeFully(channel, header, 0);
+		channel.force(false);
+	}
+
+	/**
+	 * Index the committed entries of a mapped container from an offset, by
+	 * reading their headers only.
+	 *
+	 * @param mapped Mapped view of the committed entries
+	 * @param start  Offset of the first entry to index
+	 * @param index  Index to complete, from the site keys to the windows offsets
+	 * @throws IOException If an entry does not fit in the committed entries
+	 */
+	private static void index(final MappedByteBuffer mapped, final long start, final Map<String, Integer> index)
+			throws IOException {
+		final ByteBuffer buffer = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int position = (int) start;
+		while (position < buffer.limit()) {
+			final int keyLength = buffer.limit() - position >= Integer.BYTES ? buffer.getInt(position) : -1;
+			final int windowsPosition = position + 2 * Integer.BYTES + keyLength;
+			if (keyLength < 0 || windowsPosition < 0 || windowsPosition > buffer.limit()) {
+				throw new IOException("Corrupted access cache container entry at " + position);
+			}
+			final int windowsLength = buffer.getInt(windowsPosition - Integer.BYTES);
+			if (windowsLength < 0 || windowsLength > buffer.limit() - windowsPosition) {
+				throw new IOException("Corrupted access cache container entry at " + position);
+			}
+			final byte[] keyBytes = new byte[keyLength];
+			buffer.position(position + Integer.BYTES);
+			buffer.get(keyBytes);
+			index.put(new String(keyBytes, StandardCharsets.UTF_8), windowsPosition);
+			position = windowsPosition + windowsLength;
+		}
+	}
+
+	/**
+	 * Write a whole buffer at a position of a channel.
+	 *
+	 * @param channel  Output channel
+	 * @param buffer   Buffer to write
+	 * @param position Position in the channel
+	 * @throws IOException If the channel cannot be written
+	 */
+	private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+			throws IOException {
+		long offset = position;
+		while (buffer.hasRemaining()) {
+			offset += channel.write(buffer, offset);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package progmission;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import fr.cnes.sirius.patrius.events.CodedEvent;
+import fr.cnes.sirius.patrius.events.Phenomenon;
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+
+/**
+ * Compact binary file of the access windows of one site.
+ *
+ * The file holds a header (magic number, format version, number of windows)
+ * followed by one record per window : its start and end as offsets (s) from the
+ * mission start, and flags telling whether each boundary is a real event or the
+ * horizon bound. The file is read through a memory-mapped buffer, without Java
+ * deserialization : only the phenomena of the {@link Timeline} are built.
+ *
+ * The access windows are now stored in an {@link AccessCacheContainer}, whose
+ * entries use the same encoding : the files of this format written before are
+ * only read.
+ */
+final class AccessCacheFile {
+
+	/** Extension of the access cache files. */
+	static final String EXTENSION = ".acc";
+
+	/** Magic number of the access cache files : "ACCS". */
+	private static final int MAGIC = 0x41434353;
+
+	/** Version of the format, to change with the layout of the records. */
+	private static final int VERSION = 1;
+
+	/** Size (bytes) of the header : magic number, version and window count. */
+	private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+	/** Size (bytes) of a window record : start, end and flags. */
+	private static final int RECORD_SIZE = 2 * Double.BYTES + 1;
+
+	/** Flag of a window whose start is a real event. */
+	private static final byte START_DEFINED = 1;
+
+	/** Flag of a window whose end is a real event. */
+	private static final byte END_DEFINED = 2;
+
+	/**
+	 * Private constructor, the class only holds static methods.
+	 */
+	private AccessCacheFile() {
+	}
+
+	/**
+	 * Read the access windows of a file.
+	 *
+	 * @param file     Input file
+	 * @param origin   Reference date of the offsets : the mission start date
+	 * @param interval Time interval of the {@link Timeline}
+	 * @param code     Code of the access phenomena
+	 * @param comment  Comment of the access phenomena
+	 * @return the access {@link Timeline}
+	 * @throws IOException      If the file cannot be read or is not an access
+	 *                          cache file of the current version
+	 * @throws PatriusException If the {@link Timeline} cannot be built
+	 */
+	static Timeline read(final File file, final AbsoluteDate origin, final AbsoluteDateInterval interval,
+			final String code, final String comment) throws IOException, PatriusException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return decode(buffer, origin, interval, code, comment);
+		}
+	}
+
+	/**
+	 * Encode the access windows of a {@link Timeline}.
+	 *
+	 * @param timeline Access {@link Timeline}
+	 * @param origin   Reference date of the offsets : the mission start date
+	 * @return the encoded windows, ready to be read
+	 */
+	static ByteBuffer encode(final Timeline timeline, final AbsoluteDate origin) {
+		final int count = timeline.getPhenomenaList().size();
+		final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * RECORD_SIZE)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(count);
+		for (final Phenomenon phenomenon : timeline.getPhenomenaList()) {
+			final AbsoluteDateInterval timespan = phenomenon.getTimespan();
+			buffer.putDouble(timespan.getLowerData().durationFrom(origin));
+			buffer.putDouble(timespan.getUpperData().durationFrom(origin));
+			buffer.put((byte) ((phenomenon.getStartingIsDefined() ? START_DEFINED : 0)
+					| (phenomenon.getEndingIsDefined() ? END_DEFINED : 0)));
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Decode access windows, from the current position of a buffer.
+	 *
+	 * @param buffer   Encoded windows, the position being moved past them
+	 * @param origin   Reference date of the offsets : the mission start date
+	 * @param interval Time interval of the {@link Timeline}
+	 * @param code     Code of the access phenomena
+	 * @param comment  Comment of the access phenomena
+	 * @return the access {@link Timeline}
+	 * @throws IOException      If the buffer does not hold access windows of the
+	 *                          current version
+	 * @throws PatriusException If the {@link Timeline} cannot be built
+	 */
+	static Timeline decode(final ByteBuffer buffer, final AbsoluteDate origin, final AbsoluteDateInterval interval,
+			final String code, final String comment) throws IOException, PatriusException {
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+			throw new IOException("Not an access cache file");
+		}
+		final int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported access cache version : " + version);
+		}
+		final int count = buffer.getInt();
+		if (count < 0 || buffer.remaining() < (long) count * RECORD_SIZE) {
+			throw new IOException("Truncated access cache file");
+		}
+
+		final Timeline timeline = new Timeline(interval);
+		for (int i = 0; i < count; i++) {
+			final double start = buffer.getDouble();
+			final double end = buffer.getDouble();
+			final byte flags = buffer.get();
+			final CodedEvent startEvent = new CodedEvent("Start of " + code, comment, origin.shiftedBy(start), true);
+			final CodedEvent endEvent = new CodedEvent("End of " + code, comment, origin.shiftedBy(end), false);
+			timeline.addPhenomenon(new Phenomenon(startEvent, (flags & START_DEFINED) != 0, endEvent,
+					(flags & END_DEFINED) != 0, code, comment));
+		}
+		return timeline;
+	}
+}
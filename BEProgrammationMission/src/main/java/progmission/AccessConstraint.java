@@ -0,0 +1,68 @@
+package progmission;
+
+import fr.cnes.sirius.patrius.events.Phenomenon;
+
+/**
+ * The three observation constraints evaluated to build the access
+ * {@link Phenomenon} of a site. Each constraint carries the codes of the
+ * phenomenon and of the events delimiting it, so that every access computation
+ * produces the same timelines.
+ *
+ * The phenomenon of a constraint is active when its g-function (see
+ * {@link AccessGeometry#g(AccessConstraint, double, double, double, double, double, double)})
+ * is positive.
+ */
+public enum AccessConstraint {
+
+	/** The site is inside the pointing capacity cone and above the horizon. */
+	VISIBILITY("Satellite visibility", "Start of satellite visibility", "End of satellite visibility"),
+
+	/** The Sun incidence angle on the site is below the maximum. */
+	ILLUMINATION("Illumination", "Start of illumination", "End of illumination"),
+
+	/** The Sun phase angle is above the maximum : the sensor is dazzled. */
+	DAZZLING("Dazzling", "Start of dazzling", "End of dazzling");
+
+	/** Code of the phenomenon. */
+	private final String code;
+
+	/** Code of the event starting the phenomenon. */
+	private final String startCode;
+
+	/** Code of the event ending the phenomenon. */
+	private final String endCode;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param code      Code of the phenomenon
+	 * @param startCode Code of the event starting the phenomenon
+	 * @param endCode   Code of the event ending the phenomenon
+	 */
+	AccessConstraint(final String code, final String startCode, final String endCode) {
+		this.code = code;
+		this.startCode = startCode;
+		this.endCode = endCode;
+	}
+
+	/**
+	 * @return the code of the phenomenon
+	 */
+	public String getCode() {
+		return this.code;
+	}
+
+	/**
+	 * @return the code of the event starting the phenomenon
+	 */
+	public String getStartCode() {
+		return this.startCode;
+	}
+
+	/**
+	 * @return the code of the event ending the phenomenon
+	 */
+	public String getEndCode() {
+		return this.endCode;
+	}
+}
@@ -0,0 +1,173 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.cnes.sirius.patrius.events.CodedEventsLogger;
+import fr.cnes.sirius.patrius.events.GenericCodingEventDetector;
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import fr.cnes.sirius.patrius.propagation.Propagator;
+import fr.cnes.sirius.patrius.propagation.SpacecraftState;
+import fr.cnes.sirius.patrius.propagation.events.AbstractDetector;
+import fr.cnes.sirius.patrius.propagation.events.EventDetector;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+
+/**
+ * Pipeline of the {@link AccessConstraint} detectors of one site propagation.
+ *
+ * Each constraint detector is coded with a {@link GenericCodingEventDetector}
+ * and monitored by its own {@link CodedEventsLogger} : only the monitored
+ * detector is attached to the propagator, so every g-function is evaluated
+ * once per step while its events still feed the logger used to build the
+ * constraint {@link Timeline}. The g-function evaluations are counted in a
+ * shared counter.
+ */
+public final class AccessDetectorPipeline {
+
+	/** Loggers of the registered constraints. */
+	private final Map<AccessConstraint, CodedEventsLogger> loggers = new EnumMap<>(AccessConstraint.class);
+
+	/** Monitored detectors, to attach to the propagator. */
+	private final List<EventDetector> detectors = new ArrayList<>();
+
+	/** Counter of the g-function evaluations. */
+	private final LongAdder evaluations;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param evaluations Counter of the g-function evaluations, possibly shared
+	 *                    between pipelines
+	 */
+	public AccessDetectorPipeline(final LongAdder evaluations) {
+		this.evaluations = evaluations;
+	}
+
+	/**
+	 * Register the detector of a constraint.
+	 *
+	 * @param constraint Constraint monitored by the detector
+	 * @param detector   Constraint detector, positive while the phenomenon is
+	 *                   active
+	 */
+	public void register(final AccessConstraint constraint, final EventDetector detector) {
+		final GenericCodingEventDetector codingDetector = new GenericCodingEventDetector(
+				new CountingDetector(detector, this.evaluations), constraint.getStartCode(),
+				constraint.getEndCode(), true, constraint.getCode());
+		final CodedEventsLogger logger = new CodedEventsLogger();
+		this.detectors.add(logger.monitorDetector(codingDetector));
+		this.loggers.put(constraint, logger);
+	}
+
+	/**
+	 * Attach the registered detectors to a propagator, each one once.
+	 *
+	 * @param propagator Propagator
+	 */
+	public void attachTo(final Propagator propagator) {
+		for (final EventDetector detector : this.detectors) {
+			propagator.addEventDetector(detector);
+		}
+	}
+
+	/**
+	 * Build the {@link Timeline} of a constraint once the propagation is done.
+	 *
+	 * @param constraint   Constraint of the {@link Timeline}
+	 * @param interval     Propagation interval
+	 * @param initialState State at the beginning of the interval, used to find the
+	 *                     phenomena already active, or null at the mission start
+	 * @return the {@link Timeline} of the constraint phenomena, empty if the
+	 *         constraint has not been registered
+	 * @throws PatriusException If the {@link Timeline} cannot be built
+	 */
+	public Timeline createTimeline(final AccessConstraint constraint, final AbsoluteDateInterval interval,
+			final SpacecraftState initialState) throws PatriusException {
+		final CodedEventsLogger logger = this.loggers.get(constraint);
+		return logger == null ? new Timeline(interval) : new Timeline(logger, interval, initialState);
+	}
+
+	/**
+	 * Detector counting the g-function evaluations of a wrapped detector. The
+	 * propagation settings are the ones of the wrapped detector, which may change
+	 * them during the propagation (see {@link AdaptiveMaxCheckDetector}).
+	 */
+	private static final class CountingDetector extends AbstractDetector {
+
+		/** Serializable UID. */
+		private static final long serialVersionUID = -5216830985409376613L;
+
+		/** Wrapped detector. */
+		private final EventDetector delegate;
+
+		/** Counter of the g-function evaluations. */
+		private final LongAdder evaluations;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param delegate    Wrapped detector
+		 * @param evaluations Counter of the g-function evaluations
+		 */
+		CountingDetector(final EventDetector delegate, final LongAdder evaluations) {
+			super(delegate.getMaxCheckInterval(), delegate.getThreshold());
+			this.delegate = delegate;
+			this.evaluations = evaluations;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void init(final SpacecraftState s0, final AbsoluteDate t) {
+			this.delegate.init(s0, t);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public double g(final SpacecraftState s) throws PatriusException {
+			this.evaluations.increment();
+			return this.delegate.g(s);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Action eventOccurred(final SpacecraftState s, final boolean increasing, final boolean forward)
+				throws PatriusException {
+			return this.delegate.eventOccurred(s, increasing, forward);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public SpacecraftState resetState(final SpacecraftState oldState) throws PatriusException {
+			return this.delegate.resetState(oldState);
+		}
+
+		/**
+		 * @return the max-check interval of the wrapped detector
+		 */
+		@Override
+		public double getMaxCheckInterval() {
+			return this.delegate.getMaxCheckInterval();
+		}
+
+		/**
+		 * @return false : the detector is never removed from the propagator
+		 */
+		@Override
+		public boolean shouldBeRemoved() {
+			return false;
+		}
+
+		/**
+		 * @return a copy of this detector, wrapping a copy of the wrapped detector
+		 */
+		@Override
+		public EventDetector copy() {
+			return new CountingDetector(this.delegate.copy(), this.evaluations);
+		}
+	}
+}
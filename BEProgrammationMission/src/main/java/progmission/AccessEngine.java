@@ -0,0 +1,534 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.cnes.sirius.patrius.events.CodedEvent;
+import fr.cnes.sirius.patrius.events.Phenomenon;
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import fr.cnes.sirius.patrius.frames.Frame;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinatesProvider;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import reader.Site;
+
+/**
+ * Access engine propagating the satellite only once for all the sites.
+ *
+ * The satellite and Sun positions are sampled once over the time interval, in
+ * the Earth body frame where the sites are fixed. The {@link AccessConstraint}
+ * g-functions of every site are then evaluated on this shared trajectory with
+ * the closed-form {@link AccessGeometry}, and their sign changes are refined to
+ * the convergence threshold, like the Patrius detectors do at each max-check
+ * step. The propagation cost is thus proportional to the horizon and not to
+ * the number of sites. When the engine is built from a fork/join pool, the
+ * sampling is shared between the threads of this pool ; otherwise it runs in
+ * the calling thread.
+ *
+ * Once built, the engine can be used concurrently for different sites.
+ */
+public class AccessEngine {
+
+	/** Comment of the phenomena computed by the engine. */
+	private static final String COMMENT = "Computed by the access engine";
+
+	/**
+	 * Duration (s) of the time chunks of the grid sampled concurrently : one day.
+	 */
+	private static final double SAMPLING_CHUNK_DURATION = 86400.;
+
+	/** Mission whose accesses are computed. */
+	private final SimpleMission mission;
+
+	/** Reference date of the time offsets : the mission start date. */
+	private final AbsoluteDate origin;
+
+	/** Time interval covered by the engine. */
+	private final AbsoluteDateInterval interval;
+
+	/** Convergence threshold (s) on the phenomena boundaries. */
+	private final double threshold;
+
+	/** Earth body frame, in which the geometry is evaluated. */
+	private final Frame bodyFrame;
+
+	/** Satellite ephemeris used to refine the sign changes. */
+	private final PVCoordinatesProvider satellite;
+
+	/** Sun ephemeris used to refine the sign changes. */
+	private final PVCoordinatesProvider sun;
+
+	/** Offsets (s) of the sampling grid from the origin. */
+	private final double[] times;
+
+	/** Satellite positions on the grid in the Earth body frame (m). */
+	private final double[] satX, satY, satZ;
+
+	/** Sun positions on the grid in the Earth body frame (m). */
+	private final double[] sunX, sunY, sunZ;
+
+	/** Counter of the g-function evaluations outside of the grid. */
+	private final LongAdder evaluations = new LongAdder();
+
+	/**
+	 * Build the engine and sample the satellite trajectory over the input
+	 * interval.
+	 *
+	 * @param mission   Mission whose accesses are computed
+	 * @param interval  Time interval to cover
+	 * @param step      Sampling step (s) : sign changes of the g-functions are
+	 *                  looked for between consecutive samples, as with the
+	 *                  max-check interval of a Patrius detector
+	 * @param threshold Convergence threshold (s) on the phenomena boundaries
+	 * @throws PatriusException If the satellite or Sun positions cannot be
+	 *                          computed
+	 */
+	public AccessEngine(final SimpleMission mission, final AbsoluteDateInterval interval, final double step,
+			final double threshold) throws PatriusException {
+		this(mission, interval, mission.getEphemeris(), mission.getSunEphemeris(), step, threshold);
+	}
+
+	/**
+	 * Build the engine over any interval, sampling the input satellite and Sun
+	 * ephemerides instead of the ones of the mission, which only cover the
+	 * mission horizon.
+	 *
+	 * @param mission   Mission whose accesses are computed
+	 * @param interval  Time interval to cover
+	 * @param satellite Satellite ephemeris, covering the interval and safe to
+	 *                  evaluate concurrently
+	 * @param sun       Sun ephemeris, covering the interval and safe to evaluate
+	 *                  concurrently
+	 * @param step      Sampling step (s)
+	 * @param threshold Convergence threshold (s) on the phenomena boundaries
+	 * @throws PatriusException If the satellite or Sun positions cannot be
+	 *                          computed
+	 */
+	public AccessEngine(final SimpleMission mission, final AbsoluteDateInterval interval,
+			final PVCoordinatesProvider satellite, final PVCoordinatesProvider sun, final double step,
+			final double threshold) throws PatriusException {
+		this.mission = mission;
+		this.origin = mission.getStartDate();
+		this.interval = interval;
+		this.threshold = threshold;
+		this.bodyFrame = mission.getEarth().getBodyFrame();
+		this.satellite = satellite;
+		this.sun = sun;
+
+		// Building the grid, its last point being the end of the interval
+		final double start = interval.getLowerData().durationFrom(this.origin);
+		final double duration = interval.getDuration();
+		final int n = (int) MathLib.ceil(duration / step) + 1;
+		this.times = new double[n];
+		this.satX = new double[n];
+		this.satY = new double[n];
+		this.satZ = new double[n];
+		this.sunX = new double[n];
+		this.sunY = new double[n];
+		this.sunZ = new double[n];
+
+		for (int i = 0; i < n; i++) {
+			this.times[i] = start + MathLib.min(i * step, duration);
+		}
+
+		// Sampling the satellite and the Sun once for all the sites. Outside of a
+		// fork/join pool, for instance when the sites are computed sequentially, the
+		// grid is sampled in the calling thread and the common pool is never used
+		if (ForkJoinTask.inForkJoinPool()) {
+			sampleConcurrently((int) MathLib.max(1., MathLib.floor(SAMPLING_CHUNK_DURATION / step)));
+		} else {
+			sample(0, n);
+		}
+	}
+
+	/**
+	 * Sample the satellite and Sun positions on the whole grid, split into time
+	 * chunks sampled concurrently in the current fork/join pool.
+	 *
+	 * @param chunkSize Number of grid points of a chunk
+	 * @throws PatriusException If the satellite or Sun positions cannot be
+	 *                          computed
+	 */
+	private void sampleConcurrently(final int chunkSize) throws PatriusException {
+		final int n = this.times.length;
+		final List<ForkJoinTask<Void>> tasks = new ArrayList<>();
+		for (int first = 0; first < n; first += chunkSize) {
+			final int from = first;
+			final int to = Math.min(n, first + chunkSize);
+			tasks.add(ForkJoinTask.adapt(() -> {
+				sample(from, to);
+				return null;
+			}));
+		}
+		try {
+			ForkJoinTask.invokeAll(tasks);
+		} catch (RuntimeException e) {
+			if (e.getCause() instanceof PatriusException) {
+				throw (PatriusException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Sample the satellite and Sun positions on a part of the grid.
+	 *
+	 * @param from Index of the first grid point
+	 * @param to   Index after the last grid point
+	 * @throws PatriusException If the satellite or Sun positions cannot be
+	 *                          computed
+	 */
+	private void sample(final int from, final int to) throws PatriusException {
+		for (int i = from; i < to; i++) {
+			final Vector3D sat = position(this.satellite, this.times[i]);
+			final Vector3D sun = position(this.sun, this.times[i]);
+			this.satX[i] = sat.getX();
+			this.satY[i] = sat.getY();
+			this.satZ[i] = sat.getZ();
+			this.sunX[i] = sun.getX();
+			this.sunY[i] = sun.getY();
+			this.sunZ[i] = sun.getZ();
+		}
+	}
+
+	/**
+	 * Compute the {@link Timeline} of the input {@link Site} gathering the
+	 * phenomena of the three {@link AccessConstraint}.
+	 *
+	 * @param site Input target {@link Site}
+	 * @return The {@link Timeline} containing the visibility, illumination and
+	 *         dazzling {@link Phenomenon}
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public Timeline computeSiteGlobalTimeline(final Site site) throws PatriusException {
+		return computeSiteGlobalTimeline(site, this.interval);
+	}
+
+	/**
+	 * Compute the {@link Timeline} of the input {@link Site} gathering the
+	 * phenomena of the three {@link AccessConstraint} over a part of the engine
+	 * interval.
+	 *
+	 * @param site     Input target {@link Site}
+	 * @param interval Time interval to cover, inside the one of the engine
+	 * @return The {@link Timeline} containing the visibility, illumination and
+	 *         dazzling {@link Phenomenon}, clipped to the input interval
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public Timeline computeSiteGlobalTimeline(final Site site, final AbsoluteDateInterval interval)
+			throws PatriusException {
+		final AccessGeometry geometry = new AccessGeometry(site, this.mission.getEarth());
+		final double lower = interval.getLowerData().durationFrom(this.origin);
+		final double upper = interval.getUpperData().durationFrom(this.origin);
+		final Timeline timeline = new Timeline(interval);
+		for (final AccessConstraint constraint : AccessConstraint.values()) {
+			for (final double[] window : computeWindows(geometry, constraint, lower, upper)) {
+				timeline.addPhenomenon(createPhenomenon(constraint, window));
+			}
+		}
+		return timeline;
+	}
+
+	/**
+	 * Compute the windows of the input {@link Site} during which the phenomenon of
+	 * a constraint is active.
+	 *
+	 * @param site       Input target {@link Site}
+	 * @param constraint Evaluated {@link AccessConstraint}
+	 * @param interval   Time interval to cover, inside the one of the engine
+	 * @return the windows as offsets (s) from the mission start, clipped to the
+	 *         input interval
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public IntervalSet computeConstraintWindows(final Site site, final AccessConstraint constraint,
+			final AbsoluteDateInterval interval) throws PatriusException {
+		final AccessGeometry geometry = new AccessGeometry(site, this.mission.getEarth());
+		return IntervalSet.fromWindows(computeWindows(geometry, constraint,
+				interval.getLowerData().durationFrom(this.origin), interval.getUpperData().durationFrom(this.origin)));
+	}
+
+	/**
+	 * Compute the windows of the input {@link Site} during which the phenomenon of
+	 * a constraint is active, only looking inside some windows. This is used to
+	 * evaluate a constraint only where it matters, for instance while the site is
+	 * visible.
+	 *
+	 * @param site       Input target {@link Site}
+	 * @param constraint Evaluated {@link AccessConstraint}
+	 * @param domain     Windows to look inside, inside the engine interval
+	 * @return the windows as offsets (s) from the mission start, clipped to the
+	 *         domain windows
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public IntervalSet computeConstraintWindows(final Site site, final AccessConstraint constraint,
+			final IntervalSet domain) throws PatriusException {
+		return computeConstraintWindows(site, constraint, domain, this.threshold);
+	}
+
+	/**
+	 * Compute the windows of the input {@link Site} during which the phenomenon of
+	 * a constraint is active, only looking inside some windows, with a custom
+	 * convergence threshold. The sign changes are the ones seen on the engine
+	 * grid whatever the threshold : a coarse threshold gives the same windows with
+	 * less accurate boundaries, each one within the threshold of the exact one.
+	 *
+	 * @param site       Input target {@link Site}
+	 * @param constraint Evaluated {@link AccessConstraint}
+	 * @param domain     Windows to look inside, inside the engine interval
+	 * @param threshold  Convergence threshold (s) on the phenomena boundaries
+	 * @return the windows as offsets (s) from the mission start, clipped to the
+	 *         domain windows
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public IntervalSet computeConstraintWindows(final Site site, final AccessConstraint constraint,
+			final IntervalSet domain, final double threshold) throws PatriusException {
+		final AccessGeometry geometry = new AccessGeometry(site, this.mission.getEarth());
+		final List<double[]> windows = new ArrayList<>();
+		for (int i = 0; i < domain.size(); i++) {
+			windows.addAll(computeWindows(geometry, constraint, domain.getStart(i), domain.getEnd(i), threshold));
+		}
+		return IntervalSet.fromWindows(windows);
+	}
+
+	/**
+	 * Refine the windows of a constraint found with a coarse threshold. Each
+	 * boundary of a coarse window is within the coarse threshold of the exact one
+	 * : the exact boundary is searched in this bracket, instead of in the whole
+	 * grid cell of the sign change. Only the coarse windows reaching the domain
+	 * windows are refined.
+	 *
+	 * @param site            Input target {@link Site}
+	 * @param constraint      Evaluated {@link AccessConstraint}
+	 * @param coarse          Windows of the constraint found with the coarse
+	 *                        threshold over [lower, upper]
+	 * @param coarseThreshold Convergence threshold (s) of the coarse windows
+	 * @param lower           Start offset (s) of the coarse computation
+	 * @param upper           End offset (s) of the coarse computation
+	 * @param domain          Windows to look inside, inside [lower, upper]
+	 * @return the windows as offsets (s) from the mission start, clipped to the
+	 *         domain windows
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public IntervalSet refineConstraintWindows(final Site site, final AccessConstraint constraint,
+			final IntervalSet coarse, final double coarseThreshold, final double lower, final double upper,
+			final IntervalSet domain) throws PatriusException {
+		final AccessGeometry geometry = new AccessGeometry(site, this.mission.getEarth());
+		final WindowFinder.GFunction g = t -> g(geometry, constraint, t);
+		final List<double[]> windows = new ArrayList<>();
+		for (int i = 0; i < coarse.size(); i++) {
+			final double start = coarse.getStart(i);
+			final double end = coarse.getEnd(i);
+			if (!overlaps(domain, start - coarseThreshold, end + coarseThreshold)) {
+				continue;
+			}
+
+			// The bounds of the computation are not sign changes
+			final double preciseStart = start > lower ? refineBoundary(g, start, coarseThreshold, lower, upper)
+					: start;
+			final double preciseEnd = end < upper ? refineBoundary(g, end, coarseThreshold, lower, upper) : end;
+			if (Double.isNaN(preciseStart) || Double.isNaN(preciseEnd)) {
+				// Several sign changes inside a bracket : back to the grid
+				windows.addAll(computeWindows(geometry, constraint, MathLib.max(lower, start - coarseThreshold),
+						MathLib.min(upper, end + coarseThreshold), this.threshold));
+			} else {
+				windows.add(new double[] { preciseStart, preciseEnd });
+			}
+		}
+		return IntervalSet.fromWindows(windows).and(domain);
+	}
+
+	/**
+	 * @return the number of g-function evaluations outside of the sampling grid,
+	 *         that is to say at the bounds of the computations and to refine the
+	 *         sign changes, since the engine has been built
+	 */
+	public long getEvaluations() {
+		return this.evaluations.sum();
+	}
+
+	/**
+	 * Record the {@link AccessProfile} of the input {@link Site} : the passes of
+	 * the satellite above the site horizon are found on the shared trajectory,
+	 * then the off-nadir, Sun incidence and Sun phase angles are sampled over each
+	 * pass.
+	 *
+	 * @param site Input target {@link Site}
+	 * @param step Sampling step (s) of the angles profiles
+	 * @return the {@link AccessProfile} over the engine interval
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public AccessProfile computeAccessProfile(final Site site, final double step) throws PatriusException {
+		final AccessGeometry geometry = new AccessGeometry(site, this.mission.getEarth());
+
+		// Passes above the horizon : they do not depend on any threshold
+		final List<double[]> passWindows = WindowFinder.findWindows(this.times,
+				i -> geometry.elevation(this.satX[i], this.satY[i], this.satZ[i]), t -> {
+					final Vector3D sat = position(this.satellite, t);
+					return geometry.elevation(sat.getX(), sat.getY(), sat.getZ());
+				}, this.threshold, this.times[0], this.times[this.times.length - 1]);
+
+		// Sampling the angles over each pass
+		final List<AccessProfile.Pass> passes = new ArrayList<>(passWindows.size());
+		for (final double[] window : passWindows) {
+			final int n = AccessProfile.sampleCount(window[0], window[1], step);
+			final float[] offNadir = new float[n];
+			final float[] incidence = new float[n];
+			final float[] phase = new float[n];
+			for (int k = 0; k < n; k++) {
+				final double t = AccessProfile.sampleTime(window[0], window[1], step, k);
+				final Vector3D sat = position(this.satellite, t);
+				final Vector3D sun = position(this.sun, t);
+				offNadir[k] = (float) geometry.offNadirAngle(sat.getX(), sat.getY(), sat.getZ());
+				incidence[k] = (float) geometry.sunIncidenceAngle(sun.getX(), sun.getY(), sun.getZ());
+				phase[k] = (float) geometry.sunPhaseAngle(sat.getX(), sat.getY(), sat.getZ(), sun.getX(), sun.getY(),
+						sun.getZ());
+			}
+			passes.add(new AccessProfile.Pass(window[0], window[1], offNadir, incidence, phase));
+		}
+		return new AccessProfile(site, step, passes);
+	}
+
+	/**
+	 * Compute the windows during which the phenomenon of a constraint is active.
+	 *
+	 * @param geometry   Geometry of the site
+	 * @param constraint Evaluated {@link AccessConstraint}
+	 * @param lower      Start offset (s) of the computation from the mission start
+	 * @param upper      End offset (s) of the computation from the mission start
+	 * @return the windows as {start, end} offsets (s) from the mission start
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          refinement
+	 */
+	List<double[]> computeWindows(final AccessGeometry geometry, final AccessConstraint constraint,
+			final double lower, final double upper) throws PatriusException {
+		return computeWindows(geometry, constraint, lower, upper, this.threshold);
+	}
+
+	/**
+	 * Compute the windows during which the phenomenon of a constraint is active,
+	 * with a custom convergence threshold.
+	 *
+	 * @param geometry   Geometry of the site
+	 * @param constraint Evaluated {@link AccessConstraint}
+	 * @param lower      Start offset (s) of the computation from the mission start
+	 * @param upper      End offset (s) of the computation from the mission start
+	 * @param threshold  Convergence threshold (s) on the phenomena boundaries
+	 * @return the windows as {start, end} offsets (s) from the mission start
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          refinement
+	 */
+	private List<double[]> computeWindows(final AccessGeometry geometry, final AccessConstraint constraint,
+			final double lower, final double upper, final double threshold) throws PatriusException {
+		// Evaluating the g-function on the shared trajectory and refining its sign
+		// changes
+		return WindowFinder.findWindows(this.times, i -> geometry.g(constraint, this.satX[i], this.satY[i],
+				this.satZ[i], this.sunX[i], this.sunY[i], this.sunZ[i]), t -> g(geometry, constraint, t),
+				threshold, lower, upper);
+	}
+
+	/**
+	 * Refine a sign change of a g-function known within a bracket.
+	 *
+	 * @param g       The g-function
+	 * @param root    Approximate sign change (s)
+	 * @param bracket Half-width (s) of the bracket around the approximate sign
+	 *                change
+	 * @param lower   Lower bound (s) of the bracket
+	 * @param upper   Upper bound (s) of the bracket
+	 * @return the sign change, or NaN if the g-function has the same sign at both
+	 *         ends of the bracket
+	 * @throws PatriusException If a g-function evaluation fails
+	 */
+	private double refineBoundary(final WindowFinder.GFunction g, final double root, final double bracket,
+			final double lower, final double upper) throws PatriusException {
+		final double a = MathLib.max(lower, root - bracket);
+		final double b = MathLib.min(upper, root + bracket);
+		final double ga = g.value(a);
+		final double gb = g.value(b);
+		if ((ga > 0) == (gb > 0)) {
+			return Double.NaN;
+		}
+		return WindowFinder.findRoot(g, a, ga, b, gb, this.threshold);
+	}
+
+	/**
+	 * Check whether an interval overlaps some windows.
+	 *
+	 * @param windows Windows
+	 * @param start   Start offset (s) of the interval
+	 * @param end     End offset (s) of the interval
+	 * @return true if the interval overlaps one of the windows
+	 */
+	private static boolean overlaps(final IntervalSet windows, final double start, final double end) {
+		for (int i = 0; i < windows.size(); i++) {
+			if (windows.getStart(i) < end && windows.getEnd(i) > start) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Evaluate the g-function of a constraint at any date.
+	 *
+	 * @param geometry   Geometry of the site
+	 * @param constraint Evaluated {@link AccessConstraint}
+	 * @param t          Offset (s) from the mission start
+	 * @return the g-function value
+	 * @throws PatriusException If the satellite or Sun position cannot be
+	 *                          computed
+	 */
+	private double g(final AccessGeometry geometry, final AccessConstraint constraint, final double t)
+			throws PatriusException {
+		this.evaluations.increment();
+		final Vector3D sat = position(this.satellite, t);
+		final Vector3D sun = position(this.sun, t);
+		return geometry.g(constraint, sat.getX(), sat.getY(), sat.getZ(), sun.getX(), sun.getY(), sun.getZ());
+	}
+
+	/**
+	 * Get a position in the Earth body frame.
+	 *
+	 * @param provider Satellite or Sun ephemeris
+	 * @param t        Offset (s) from the mission start
+	 * @return the position (m)
+	 * @throws PatriusException If the position cannot be computed
+	 */
+	private Vector3D position(final PVCoordinatesProvider provider, final double t) throws PatriusException {
+		return provider.getPVCoordinates(this.origin.shiftedBy(t), this.bodyFrame).getPosition();
+	}
+
+	/**
+	 * Create the {@link Phenomenon} of a constraint over a window.
+	 *
+	 * @param constraint {@link AccessConstraint} of the phenomenon
+	 * @param window     {start, end} offsets (s) from the mission start
+	 * @return the {@link Phenomenon}
+	 */
+	private Phenomenon createPhenomenon(final AccessConstraint constraint, final double[] window) {
+		final CodedEvent start = new CodedEvent(constraint.getStartCode(), COMMENT, this.origin.shiftedBy(window[0]),
+				true);
+		final CodedEvent end = new CodedEvent(constraint.getEndCode(), COMMENT, this.origin.shiftedBy(window[1]),
+				false);
+		return new Phenomenon(start, true, end, true, constraint.getCode(), COMMENT);
+	}
+
+	/**
+	 * @return the time interval covered by the engine
+	 */
+	public AbsoluteDateInterval getInterval() {
+		return this.interval;
+	}
+}
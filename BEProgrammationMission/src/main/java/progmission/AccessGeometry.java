@@ -0,0 +1,229 @@
+package progmission;
+
+import fr.cnes.sirius.patrius.bodies.ExtendedOneAxisEllipsoid;
+import fr.cnes.sirius.patrius.frames.Frame;
+import fr.cnes.sirius.patrius.frames.TopocentricFrame;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.FastMath;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import reader.Site;
+import utils.ConstantsBE;
+
+/**
+ * Closed-form access geometry of one {@link Site}.
+ *
+ * All the positions are expressed in the Earth body frame, in which the site
+ * is fixed : the satellite and Sun positions are given as raw coordinates so
+ * that the access engines can evaluate the constraints on primitive arrays.
+ * The Earth is spherical in our mission (flattening f=0), so the site zenith is
+ * also the direction from the Earth center to the site, and the nadir pointing
+ * sensor axis is the direction from the satellite to the Earth center.
+ *
+ * The g-functions reproduce the Patrius detectors used for the access
+ * computation : they are positive when the associated {@link AccessConstraint}
+ * phenomenon is active and their roots are the phenomenon boundaries.
+ */
+public final class AccessGeometry {
+
+	/** Site position in the Earth body frame (m). */
+	private final double px, py, pz;
+
+	/** Site zenith (unit vector) in the Earth body frame. */
+	private final double zx, zy, zz;
+
+	/** Pointing capacity of the satellite (rad). */
+	private final double pointingCapacity;
+
+	/** Maximum Sun incidence angle (rad). */
+	private final double maxSunIncidence;
+
+	/** Maximum Sun phase angle (rad). */
+	private final double maxSunPhase;
+
+	/**
+	 * Build the geometry of the input {@link Site} with the {@link ConstantsBE}
+	 * thresholds.
+	 *
+	 * @param site  Input {@link Site}
+	 * @param earth Earth model the site lies on
+	 * @throws PatriusException If the site position cannot be computed
+	 */
+	public AccessGeometry(final Site site, final ExtendedOneAxisEllipsoid earth) throws PatriusException {
+		this(site, earth, MathLib.toRadians(ConstantsBE.POINTING_CAPACITY),
+				MathLib.toRadians(ConstantsBE.MAX_SUN_INCIDENCE_ANGLE),
+				MathLib.toRadians(ConstantsBE.MAX_SUN_PHASE_ANGLE));
+	}
+
+	/**
+	 * Build the geometry of the input {@link Site} with custom thresholds.
+	 *
+	 * @param site             Input {@link Site}
+	 * @param earth            Earth model the site lies on
+	 * @param pointingCapacity Pointing capacity of the satellite (rad)
+	 * @param maxSunIncidence  Maximum Sun incidence angle (rad)
+	 * @param maxSunPhase      Maximum Sun phase angle (rad)
+	 * @throws PatriusException If the site position cannot be computed
+	 */
+	public AccessGeometry(final Site site, final ExtendedOneAxisEllipsoid earth, final double pointingCapacity,
+			final double maxSunIncidence, final double maxSunPhase) throws PatriusException {
+		final Frame bodyFrame = earth.getBodyFrame();
+		final TopocentricFrame siteFrame = new TopocentricFrame(earth, site.getPoint(), site.getName());
+		final Vector3D position = siteFrame.getPVCoordinates(ConstantsBE.START_DATE, bodyFrame).getPosition();
+		final Vector3D zenith = siteFrame.getZenith();
+		this.px = position.getX();
+		this.py = position.getY();
+		this.pz = position.getZ();
+		this.zx = zenith.getX();
+		this.zy = zenith.getY();
+		this.zz = zenith.getZ();
+		this.pointingCapacity = pointingCapacity;
+		this.maxSunIncidence = maxSunIncidence;
+		this.maxSunPhase = maxSunPhase;
+	}
+
+	/**
+	 * @return the site position in the Earth body frame (m)
+	 */
+	public Vector3D getSitePosition() {
+		return new Vector3D(this.px, this.py, this.pz);
+	}
+
+	/**
+	 * Evaluate the g-function of the input constraint.
+	 *
+	 * @param constraint Evaluated {@link AccessConstraint}
+	 * @param sx         Satellite position, X coordinate (m)
+	 * @param sy         Satellite position, Y coordinate (m)
+	 * @param sz         Satellite position, Z coordinate (m)
+	 * @param ux         Sun position, X coordinate (m)
+	 * @param uy         Sun position, Y coordinate (m)
+	 * @param uz         Sun position, Z coordinate (m)
+	 * @return the g-function value (rad), positive when the phenomenon is active
+	 */
+	public double g(final AccessConstraint constraint, final double sx, final double sy, final double sz,
+			final double ux, final double uy, final double uz) {
+		switch (constraint) {
+		case VISIBILITY:
+			return visibilityG(sx, sy, sz);
+		case ILLUMINATION:
+			return illuminationG(ux, uy, uz);
+		default:
+			return dazzlingG(sx, sy, sz, ux, uy, uz);
+		}
+	}
+
+	/**
+	 * Visibility g-function : the smallest of the margin to the pointing capacity
+	 * cone and of the site elevation (Earth masking).
+	 *
+	 * @param sx Satellite position, X coordinate (m)
+	 * @param sy Satellite position, Y coordinate (m)
+	 * @param sz Satellite position, Z coordinate (m)
+	 * @return the visibility margin (rad)
+	 */
+	public double visibilityG(final double sx, final double sy, final double sz) {
+		return MathLib.min(this.pointingCapacity - offNadirAngle(sx, sy, sz), elevation(sx, sy, sz));
+	}
+
+	/**
+	 * Illumination g-function : margin between the Sun incidence angle and its
+	 * maximum.
+	 *
+	 * @param ux Sun position, X coordinate (m)
+	 * @param uy Sun position, Y coordinate (m)
+	 * @param uz Sun position, Z coordinate (m)
+	 * @return the illumination margin (rad)
+	 */
+	public double illuminationG(final double ux, final double uy, final double uz) {
+		return this.maxSunIncidence - sunIncidenceAngle(ux, uy, uz);
+	}
+
+	/**
+	 * Dazzling g-function : excess of the Sun phase angle over its maximum.
+	 *
+	 * @param sx Satellite position, X coordinate (m)
+	 * @param sy Satellite position, Y coordinate (m)
+	 * @param sz Satellite position, Z coordinate (m)
+	 * @param ux Sun position, X coordinate (m)
+	 * @param uy Sun position, Y coordinate (m)
+	 * @param uz Sun position, Z coordinate (m)
+	 * @return the dazzling excess (rad)
+	 */
+	public double dazzlingG(final double sx, final double sy, final double sz, final double ux, final double uy,
+			final double uz) {
+		return sunPhaseAngle(sx, sy, sz, ux, uy, uz) - this.maxSunPhase;
+	}
+
+	/**
+	 * Angle between the nadir direction of the satellite and the line of sight
+	 * from the satellite to the site.
+	 *
+	 * @param sx Satellite position, X coordinate (m)
+	 * @param sy Satellite position, Y coordinate (m)
+	 * @param sz Satellite position, Z coordinate (m)
+	 * @return the off-nadir angle (rad)
+	 */
+	public double offNadirAngle(final double sx, final double sy, final double sz) {
+		return angle(-sx, -sy, -sz, this.px - sx, this.py - sy, this.pz - sz);
+	}
+
+	/**
+	 * Elevation of the satellite above the local horizon of the site.
+	 *
+	 * @param sx Satellite position, X coordinate (m)
+	 * @param sy Satellite position, Y coordinate (m)
+	 * @param sz Satellite position, Z coordinate (m)
+	 * @return the elevation (rad)
+	 */
+	public double elevation(final double sx, final double sy, final double sz) {
+		return FastMath.PI / 2 - angle(this.zx, this.zy, this.zz, sx - this.px, sy - this.py, sz - this.pz);
+	}
+
+	/**
+	 * Angle between the site zenith and the direction from the site to the Sun.
+	 *
+	 * @param ux Sun position, X coordinate (m)
+	 * @param uy Sun position, Y coordinate (m)
+	 * @param uz Sun position, Z coordinate (m)
+	 * @return the Sun incidence angle (rad)
+	 */
+	public double sunIncidenceAngle(final double ux, final double uy, final double uz) {
+		return angle(this.zx, this.zy, this.zz, ux - this.px, uy - this.py, uz - this.pz);
+	}
+
+	/**
+	 * Angle, seen from the site, between the satellite and the Sun.
+	 *
+	 * @param sx Satellite position, X coordinate (m)
+	 * @param sy Satellite position, Y coordinate (m)
+	 * @param sz Satellite position, Z coordinate (m)
+	 * @param ux Sun position, X coordinate (m)
+	 * @param uy Sun position, Y coordinate (m)
+	 * @param uz Sun position, Z coordinate (m)
+	 * @return the Sun phase angle (rad)
+	 */
+	public double sunPhaseAngle(final double sx, final double sy, final double sz, final double ux, final double uy,
+			final double uz) {
+		return angle(sx - this.px, sy - this.py, sz - this.pz, ux - this.px, uy - this.py, uz - this.pz);
+	}
+
+	/**
+	 * Angle between two vectors, accurate for all angles (atan2 formulation).
+	 *
+	 * @param ax First vector, X coordinate
+	 * @param ay First vector, Y coordinate
+	 * @param az First vector, Z coordinate
+	 * @param bx Second vector, X coordinate
+	 * @param by Second vector, Y coordinate
+	 * @param bz Second vector, Z coordinate
+	 * @return the angle between the two vectors (rad), in [0, pi]
+	 */
+	private static double angle(final double ax, final double ay, final double az, final double bx,
+			final double by, final double bz) {
+		final double cx = ay * bz - az * by;
+		final double cy = az * bx - ax * bz;
+		final double cz = ax * by - ay * bx;
+		return MathLib.atan2(MathLib.sqrt(cx * cx + cy * cy + cz * cz), ax * bx + ay * by + az * bz);
+	}
+}
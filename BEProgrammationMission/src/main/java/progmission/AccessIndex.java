@@ -0,0 +1,215 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import fr.cnes.sirius.patrius.events.Phenomenon;
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import reader.Site;
+
+/**
+ * Inverted index of an access plan, giving the sites accessible during a time
+ * interval without scanning every access {@link Timeline}.
+ *
+ * The horizon is split into buckets of a fixed duration, for instance one
+ * orbit revolution, each one holding the access windows overlapping it. A
+ * query only scans the windows of the buckets it overlaps : its cost depends
+ * on the number of windows around the queried dates, not on the number of
+ * sites.
+ *
+ * The index is a snapshot of the access plan : it is not updated when the plan
+ * changes. Once built, it can be queried concurrently.
+ */
+public class AccessIndex {
+
+	/** Start date of the first bucket. */
+	private final AbsoluteDate origin;
+
+	/** Duration (s) of the buckets. */
+	private final double bucketDuration;
+
+	/** Access windows overlapping each bucket. */
+	private final List<List<IndexedWindow>> buckets;
+
+	/**
+	 * Build the index of an access plan.
+	 *
+	 * @param accessPlan     Access plan, with one {@link Timeline} per
+	 *                       {@link Site}
+	 * @param horizon        Time interval covered by the index, the windows
+	 *                       outside being ignored
+	 * @param bucketDuration Duration (s) of the buckets
+	 * @throws IllegalArgumentException if the bucket duration is not positive
+	 */
+	public AccessIndex(final Map<Site, Timeline> accessPlan, final AbsoluteDateInterval horizon,
+			final double bucketDuration) {
+		if (!(bucketDuration > 0.)) {
+			throw new IllegalArgumentException("The bucket duration must be positive : " + bucketDuration);
+		}
+		this.origin = horizon.getLowerData();
+		this.bucketDuration = bucketDuration;
+
+		final int bucketCount = (int) MathLib.max(1., MathLib.ceil(horizon.getDuration() / bucketDuration));
+		this.buckets = new ArrayList<>(bucketCount);
+		for (int i = 0; i < bucketCount; i++) {
+			this.buckets.add(new ArrayList<>());
+		}
+
+		// Adding each window to all the buckets it overlaps
+		for (final Entry<Site, Timeline> entry : accessPlan.entrySet()) {
+			for (final Phenomenon phenomenon : entry.getValue().getPhenomenaList()) {
+				final IndexedWindow window = new IndexedWindow(entry.getKey(), phenomenon);
+				final int first = bucketOf(window.start);
+				final int last = bucketOf(window.end);
+				for (int i = MathLib.max(first, 0); i <= MathLib.min(last, bucketCount - 1); i++) {
+					this.buckets.get(i).add(window);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the access windows overlapping a time interval.
+	 *
+	 * @param interval Queried time interval
+	 * @return the overlapping access windows of each {@link Site}, in
+	 *         chronological order of their first window
+	 */
+	public Map<Site, List<Phenomenon>> getAccessWindows(final AbsoluteDateInterval interval) {
+		return getAccessWindows(interval.getLowerData().durationFrom(this.origin),
+				interval.getUpperData().durationFrom(this.origin));
+	}
+
+	/**
+	 * Get the sites accessible during a time interval, that is to say with an
+	 * access window overlapping it.
+	 *
+	 * @param interval Queried time interval
+	 * @return the accessible sites, in chronological order of their first window
+	 */
+	public Set<Site> getAccessibleSites(final AbsoluteDateInterval interval) {
+		return new LinkedHashSet<>(getAccessWindows(interval).keySet());
+	}
+
+	/**
+	 * Get the sites accessible at a date.
+	 *
+	 * @param date Queried date
+	 * @return the accessible sites
+	 */
+	public Set<Site> getAccessibleSites(final AbsoluteDate date) {
+		final double offset = date.durationFrom(this.origin);
+		return new LinkedHashSet<>(getAccessWindows(offset, offset).keySet());
+	}
+
+	/**
+	 * Get the sites accessible during a bucket, for instance during one orbit
+	 * revolution when the buckets last one orbital period.
+	 *
+	 * @param bucket Index of the bucket
+	 * @return the accessible sites, in chronological order of their first window
+	 */
+	public Set<Site> getAccessibleSites(final int bucket) {
+		return getAccessibleSites(getBucketInterval(bucket));
+	}
+
+	/**
+	 * @return the number of buckets
+	 */
+	public int getBucketCount() {
+		return this.buckets.size();
+	}
+
+	/**
+	 * Get the time interval of a bucket.
+	 *
+	 * @param bucket Index of the bucket
+	 * @return the time interval
+	 */
+	public AbsoluteDateInterval getBucketInterval(final int bucket) {
+		return new AbsoluteDateInterval(this.origin.shiftedBy(bucket * this.bucketDuration),
+				this.origin.shiftedBy((bucket + 1) * this.bucketDuration));
+	}
+
+	/**
+	 * Get the access windows overlapping a time range.
+	 *
+	 * @param start Start offset (s) from the start of the first bucket
+	 * @param end   End offset (s)
+	 * @return the overlapping access windows of each {@link Site}, in
+	 *         chronological order of their first window
+	 */
+	private Map<Site, List<Phenomenon>> getAccessWindows(final double start, final double end) {
+		// Scanning the buckets overlapped by the range, a window overlapping
+		// several of them being kept once
+		final List<IndexedWindow> windows = new ArrayList<>();
+		final Set<IndexedWindow> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		final int last = MathLib.min(bucketOf(end), this.buckets.size() - 1);
+		for (int i = MathLib.max(bucketOf(start), 0); i <= last; i++) {
+			for (final IndexedWindow window : this.buckets.get(i)) {
+				if (window.start <= end && window.end >= start && seen.add(window)) {
+					windows.add(window);
+				}
+			}
+		}
+		windows.sort((window1, window2) -> Double.compare(window1.start, window2.start));
+
+		final Map<Site, List<Phenomenon>> accessWindows = new LinkedHashMap<>();
+		for (final IndexedWindow window : windows) {
+			accessWindows.computeIfAbsent(window.site, site -> new ArrayList<>()).add(window.phenomenon);
+		}
+		return accessWindows;
+	}
+
+	/**
+	 * Get the bucket holding a time offset.
+	 *
+	 * @param offset Offset (s) from the start of the first bucket
+	 * @return the index of the bucket, possibly out of the buckets range
+	 */
+	private int bucketOf(final double offset) {
+		return (int) MathLib.floor(offset / this.bucketDuration);
+	}
+
+	/**
+	 * Access window of a {@link Site}, with its bounds as offsets from the start
+	 * of the first bucket.
+	 */
+	private final class IndexedWindow {
+
+		/** Accessed site. */
+		private final Site site;
+
+		/** Access window. */
+		private final Phenomenon phenomenon;
+
+		/** Start offset (s). */
+		private final double start;
+
+		/** End offset (s). */
+		private final double end;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param site       Accessed site
+		 * @param phenomenon Access window
+		 */
+		IndexedWindow(final Site site, final Phenomenon phenomenon) {
+			this.site = site;
+			this.phenomenon = phenomenon;
+			this.start = phenomenon.getTimespan().getLowerData().durationFrom(AccessIndex.this.origin);
+			this.end = phenomenon.getTimespan().getUpperData().durationFrom(AccessIndex.this.origin);
+		}
+	}
+}
@@ -0,0 +1,238 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import reader.Site;
+
+/**
+ * Threshold-agnostic access profile of one {@link Site}.
+ *
+ * For each pass of the satellite above the site horizon, the off-nadir angle,
+ * the Sun incidence angle and the Sun phase angle are recorded as compact time
+ * profiles, sampled with a constant step. The access windows for any set of
+ * thresholds (pointing capacity, maximum Sun incidence and phase angles) are
+ * then extracted from the profiles by a linear scan, without any propagation :
+ * mission design sweeps over these limits reuse the same profile.
+ *
+ * Between two samples the angles are linearly interpolated : the accuracy of
+ * the extracted boundaries thus depends on the sampling step, and a window
+ * shorter than the step may be missed, like with the max-check interval of a
+ * detector. The Earth masking does not depend on the thresholds, the windows
+ * are always clipped to the passes.
+ *
+ * Times are expressed as offsets (s) from the mission start.
+ */
+public final class AccessProfile {
+
+	/**
+	 * Angles profiles over one pass of the satellite above the site horizon.
+	 */
+	static final class Pass {
+
+		/** Start offset (s) of the pass. */
+		private final double start;
+
+		/** End offset (s) of the pass. */
+		private final double end;
+
+		/** Off-nadir angle (rad) at each sample. */
+		private final float[] offNadir;
+
+		/** Sun incidence angle (rad) at each sample. */
+		private final float[] incidence;
+
+		/** Sun phase angle (rad) at each sample. */
+		private final float[] phase;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param start     Start offset (s) of the pass
+		 * @param end       End offset (s) of the pass
+		 * @param offNadir  Off-nadir angle (rad) at each sample, not copied
+		 * @param incidence Sun incidence angle (rad) at each sample, not copied
+		 * @param phase     Sun phase angle (rad) at each sample, not copied
+		 */
+		Pass(final double start, final double end, final float[] offNadir, final float[] incidence,
+				final float[] phase) {
+			this.start = start;
+			this.end = end;
+			this.offNadir = offNadir;
+			this.incidence = incidence;
+			this.phase = phase;
+		}
+	}
+
+	/** Profiled {@link Site}. */
+	private final Site site;
+
+	/**
+	 * Sampling step (s) : the samples of a pass are at start + k * step, the last
+	 * one being at the end of the pass.
+	 */
+	private final double step;
+
+	/** Chronological passes above the site horizon. */
+	private final List<Pass> passes;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param site   Profiled {@link Site}
+	 * @param step   Sampling step (s)
+	 * @param passes Chronological passes above the site horizon
+	 */
+	AccessProfile(final Site site, final double step, final List<Pass> passes) {
+		this.site = site;
+		this.step = step;
+		this.passes = Collections.unmodifiableList(new ArrayList<>(passes));
+	}
+
+	/**
+	 * Get the number of samples of a pass.
+	 *
+	 * @param start Start offset (s) of the pass
+	 * @param end   End offset (s) of the pass
+	 * @param step  Sampling step (s)
+	 * @return the number of samples, including both bounds
+	 */
+	static int sampleCount(final double start, final double end, final double step) {
+		return (int) MathLib.ceil((end - start) / step) + 1;
+	}
+
+	/**
+	 * Get the offset of a sample of a pass.
+	 *
+	 * @param start Start offset (s) of the pass
+	 * @param end   End offset (s) of the pass
+	 * @param step  Sampling step (s)
+	 * @param k     Index of the sample
+	 * @return the offset (s) of the sample
+	 */
+	static double sampleTime(final double start, final double end, final double step, final int k) {
+		return MathLib.min(start + k * step, end);
+	}
+
+	/**
+	 * Extract the access windows for a set of thresholds : satellite visibility
+	 * (off-nadir angle below the pointing capacity) and illumination (Sun
+	 * incidence below its maximum) and no dazzling (Sun phase angle below its
+	 * maximum).
+	 *
+	 * @param pointingCapacity Pointing capacity of the satellite (rad)
+	 * @param maxSunIncidence  Maximum Sun incidence angle (rad)
+	 * @param maxSunPhase      Maximum Sun phase angle (rad)
+	 * @return the access windows, as offsets (s) from the mission start
+	 */
+	public IntervalSet extractWindows(final double pointingCapacity, final double maxSunIncidence,
+			final double maxSunPhase) {
+		final double[] thresholds = { pointingCapacity, maxSunIncidence, maxSunPhase };
+		final List<double[]> windows = new ArrayList<>();
+		for (final Pass pass : this.passes) {
+			final float[][] angles = { pass.offNadir, pass.incidence, pass.phase };
+			final int n = pass.offNadir.length;
+			double previousTime = pass.start;
+			boolean inside = isInside(angles, thresholds, 0);
+			double windowStart = pass.start;
+			for (int k = 1; k < n; k++) {
+				final double time = sampleTime(pass.start, pass.end, this.step, k);
+				final boolean nextInside = isInside(angles, thresholds, k);
+				if (nextInside != inside) {
+					final double root = crossing(angles, thresholds, k - 1, previousTime, time, nextInside);
+					if (nextInside) {
+						windowStart = root;
+					} else {
+						windows.add(new double[] { windowStart, root });
+					}
+					inside = nextInside;
+				}
+				previousTime = time;
+			}
+			if (inside) {
+				windows.add(new double[] { windowStart, pass.end });
+			}
+		}
+		return IntervalSet.fromWindows(windows);
+	}
+
+	/**
+	 * Tell whether all the angles of a sample are below their threshold.
+	 *
+	 * @param angles     Angles profiles
+	 * @param thresholds Thresholds of the angles (rad)
+	 * @param k          Index of the sample
+	 * @return true if the access criteria are met at the sample
+	 */
+	private static boolean isInside(final float[][] angles, final double[] thresholds, final int k) {
+		for (int j = 0; j < angles.length; j++) {
+			if (!(thresholds[j] - angles[j][k] > 0)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Find the boundary of the access window between two samples, the angles
+	 * being linearly interpolated. The access margin is the smallest of the
+	 * linear margins : entering the window, the boundary is the last margin to
+	 * become positive ; leaving it, the first margin to become negative.
+	 *
+	 * @param angles     Angles profiles
+	 * @param thresholds Thresholds of the angles (rad)
+	 * @param k          Index of the first sample
+	 * @param t0         Offset (s) of the first sample
+	 * @param t1         Offset (s) of the second sample
+	 * @param entering   true if the second sample is inside the window
+	 * @return the offset (s) of the boundary
+	 */
+	private static double crossing(final float[][] angles, final double[] thresholds, final int k,
+			final double t0, final double t1, final boolean entering) {
+		double root = entering ? t0 : t1;
+		for (int j = 0; j < angles.length; j++) {
+			final double m0 = thresholds[j] - angles[j][k];
+			final double m1 = thresholds[j] - angles[j][k + 1];
+			if (entering && m0 <= 0) {
+				root = MathLib.max(root, t0 + (t1 - t0) * m0 / (m0 - m1));
+			} else if (!entering && m1 <= 0) {
+				root = MathLib.min(root, t0 + (t1 - t0) * m0 / (m0 - m1));
+			}
+		}
+		return root;
+	}
+
+	/**
+	 * @return the profiled {@link Site}
+	 */
+	public Site getSite() {
+		return this.site;
+	}
+
+	/**
+	 * @return the sampling step (s) of the profiles
+	 */
+	public double getStep() {
+		return this.step;
+	}
+
+	/**
+	 * @return the number of passes above the site horizon
+	 */
+	public int getPassCount() {
+		return this.passes.size();
+	}
+
+	/**
+	 * @return the total number of recorded samples
+	 */
+	public int getSampleCount() {
+		int count = 0;
+		for (final Pass pass : this.passes) {
+			count += pass.offNadir.length;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,159 @@
+package progmission;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import reader.Site;
+import utils.LogUtils;
+
+/**
+ * Coordinator of a sharded access computation.
+ *
+ * The sites of the mission are split into shards (see
+ * {@link CompleteMission#getShardSites(int, int)}), each one computed by an
+ * {@link AccessShardWorker} process which serializes its accesses in the access
+ * directory of the mission. Once all the workers are done, the shards are merged
+ * into the access plan of the mission by {@link CompleteMission#computeAccessPlan()},
+ * which loads every {@link Site} from its serialization file : a {@link Site}
+ * missing from the files, for instance after a failed worker, is computed by
+ * the coordinator itself.
+ *
+ * The workers are launched as processes of the local machine, with the class
+ * path of the current one, which stands in for workers on several machines
+ * sharing the access directory : {@link #launchWorker(List)} can be overridden
+ * to launch them elsewhere.
+ *
+ * The settings of the coordinated mission which identify its cache container
+ * (fidelity preset, minimum access duration, access mode and computation
+ * settings such as the detectors or the screening used) are given to the
+ * workers with the access directory, so that the workers fill the container
+ * which the merge reads.
+ */
+public class AccessShardCoordinator {
+
+	/** Logger. */
+	private final Logger logger = LogUtils.GLOBAL_LOGGER;
+
+	/** Number of shards, that is to say of worker processes. */
+	private final int shardCount;
+
+	/** Number of threads of each worker. */
+	private final int workerParallelism;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param shardCount        Number of shards, that is to say of worker
+	 *                          processes
+	 * @param workerParallelism Number of threads of each worker
+	 * @throws IllegalArgumentException if a number is not positive
+	 */
+	public AccessShardCoordinator(final int shardCount, final int workerParallelism) {
+		if (shardCount < 1 || workerParallelism < 1) {
+			throw new IllegalArgumentException(
+					"Invalid number of shards or threads : " + shardCount + ", " + workerParallelism);
+		}
+		this.shardCount = shardCount;
+		this.workerParallelism = workerParallelism;
+	}
+
+	/**
+	 * Compute the access plan of a mission with the worker processes, then merge
+	 * the shards into the access plan of the mission.
+	 *
+	 * @param mission The mission, whose name, number of sites and access settings
+	 *                are given to the workers
+	 * @return the access plan of the mission
+	 * @throws PatriusException      If a {@link PatriusException} occurs when
+	 *                               merging the shards
+	 * @throws IllegalStateException if a worker cannot be launched, or if the
+	 *                               coordinator is interrupted
+	 */
+	public Map<Site, Timeline> computeAccessPlan(final CompleteMission mission) throws PatriusException {
+		logger.info("============= Launching " + this.shardCount + " access workers =============");
+
+		// Launching all the workers before waiting for any of them
+		final List<Process> workers = new ArrayList<>();
+		try {
+			for (int shardIndex = 0; shardIndex < this.shardCount; shardIndex++) {
+				workers.add(launchWorker(createWorkerCommand(mission, shardIndex)));
+			}
+
+			// Waiting for the workers : a failed shard is only reported, its sites are
+			// computed again by the merge
+			for (int shardIndex = 0; shardIndex < workers.size(); shardIndex++) {
+				final int exitCode = workers.get(shardIndex).waitFor();
+				if (exitCode != 0) {
+					logger.warn("Access worker of shard " + shardIndex + " failed with exit code " + exitCode);
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Access worker could not be launched", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Sharded access computation interrupted", e);
+		} finally {
+			// Never leaving a worker behind on failure
+			for (final Process worker : workers) {
+				worker.destroy();
+			}
+		}
+
+		// Merging the shards from the serialization files
+		return mission.computeAccessPlan();
+	}
+
+	/**
+	 * Build the command line of the worker of a shard, run with the Java runtime
+	 * and the class path of the current process.
+	 *
+	 * @param mission    The mission
+	 * @param shardIndex Index of the shard
+	 * @return the command line
+	 */
+	protected List<String> createWorkerCommand(final CompleteMission mission, final int shardIndex) {
+		final List<String> command = new ArrayList<>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(AccessShardWorker.class.getName());
+		command.add(mission.getName());
+		command.add(Integer.toString(mission.getSiteList().size()));
+		command.add(Integer.toString(shardIndex));
+		command.add(Integer.toString(this.shardCount));
+		command.add(Integer.toString(this.workerParallelism));
+		command.add(mission.getFidelity().name());
+		command.add(Double.toString(mission.getMinimumAccessDuration()));
+		command.add(mission.getAccessMode().name());
+		command.add(mission.getAccessDirectory().getAbsolutePath());
+		command.add(Boolean.toString(mission.isAnalyticVisibility()));
+		command.add(Boolean.toString(mission.isAnalyticIllumination()));
+		command.add(Boolean.toString(mission.isFusedDetector()));
+		command.add(Boolean.toString(mission.isTwoPhaseDetection()));
+		command.add(Boolean.toString(mission.isSwathScreening()));
+		command.add(Boolean.toString(mission.isCellScreening()));
+		command.add(Boolean.toString(mission.isAdaptiveMaxCheck()));
+		command.add(Boolean.toString(mission.isConstraintCascade()));
+		command.add(Double.toString(mission.getTimePartitionDuration()));
+		return command;
+	}
+
+	/**
+	 * Launch a worker process on the local machine, in the current working
+	 * directory.
+	 *
+	 * @param command Command line of the worker
+	 * @return the worker process
+	 * @throws IOException If the process cannot be started
+	 */
+	protected Process launchWorker(final List<String> command) throws IOException {
+		return new ProcessBuilder(command).inheritIO().start();
+	}
+}
@@ -0,0 +1,85 @@
+package progmission;
+
+import java.io.File;
+
+import org.slf4j.Logger;
+
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import utils.LogUtils;
+
+/**
+ * Worker process computing the accesses of one shard of the sites of a
+ * {@link CompleteMission}, see {@link CompleteMission#computeAccessPlan(int, int)}.
+ *
+ * The accesses are serialized in the access directory of the mission : the
+ * workers of a same run must share it, possibly over a shared filesystem when
+ * they run on several machines. The workers are launched on the local machine
+ * by {@link AccessShardCoordinator}, or by hand on each machine with the same
+ * arguments but the shard index.
+ *
+ * Arguments : mission name, number of sites, shard index, number of shards and,
+ * optionally, the number of threads of the worker followed by its access
+ * settings : fidelity preset, minimum access duration (s), access mode, access
+ * directory and, optionally, the computation settings : analytic visibility,
+ * analytic illumination, fused detector, two-phase detection, swath screening,
+ * cell screening, adaptive max-check, constraint cascade and time partition
+ * duration (s). Without them, the worker uses the default settings of
+ * {@link CompleteMission}.
+ */
+public final class AccessShardWorker {
+
+	/**
+	 * Private constructor, the class only holds the main method.
+	 */
+	private AccessShardWorker() {
+	}
+
+	/**
+	 * Compute the accesses of one shard.
+	 *
+	 * @param args Mission name, number of sites, shard index, number of shards,
+	 *             optionally the number of threads and optionally the fidelity
+	 *             preset, minimum access duration, access mode and access
+	 *             directory, and optionally the computation settings
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public static void main(String[] args) throws PatriusException {
+		if (args.length != 4 && args.length != 5 && args.length != 9 && args.length != 18) {
+			throw new IllegalArgumentException("Usage : AccessShardWorker <missionName> <numberOfSites> <shardIndex> "
+					+ "<shardCount> [threads [fidelity minimumAccessDuration accessMode accessDirectory "
+					+ "[analyticVisibility analyticIllumination fusedDetector twoPhaseDetection swathScreening "
+					+ "cellScreening adaptiveMaxCheck constraintCascade timePartitionDuration]]]");
+		}
+		final Logger logger = LogUtils.GLOBAL_LOGGER;
+		final int shardIndex = Integer.parseInt(args[2]);
+		final int shardCount = Integer.parseInt(args[3]);
+
+		final CompleteMission mission = new CompleteMission(args[0], Integer.parseInt(args[1]));
+		if (args.length > 4) {
+			mission.setAccessParallelism(Integer.parseInt(args[4]));
+		}
+		if (args.length > 5) {
+			mission.setFidelity(FidelityPreset.valueOf(args[5]));
+			mission.setMinimumAccessDuration(Double.parseDouble(args[6]));
+			mission.setAccessMode(CompleteMission.AccessMode.valueOf(args[7]));
+			mission.setAccessDirectory(new File(args[8]));
+		}
+		if (args.length > 9) {
+			mission.setAnalyticVisibility(Boolean.parseBoolean(args[9]));
+			mission.setAnalyticIllumination(Boolean.parseBoolean(args[10]));
+			mission.setFusedDetector(Boolean.parseBoolean(args[11]));
+			mission.setTwoPhaseDetection(Boolean.parseBoolean(args[12]));
+			mission.setSwathScreening(Boolean.parseBoolean(args[13]));
+			mission.setCellScreening(Boolean.parseBoolean(args[14]));
+			mission.setAdaptiveMaxCheck(Boolean.parseBoolean(args[15]));
+			mission.setConstraintCascade(Boolean.parseBoolean(args[16]));
+			mission.setTimePartitionDuration(Double.parseDouble(args[17]));
+		}
+
+		final double t0 = System.currentTimeMillis();
+		mission.computeAccessPlan(shardIndex, shardCount);
+		logger.info("Shard " + shardIndex + " / " + shardCount + " done in "
+				+ 0.001 * (System.currentTimeMillis() - t0) + " s");
+	}
+}
@@ -0,0 +1,183 @@
+package progmission;
+
+import fr.cnes.sirius.patrius.frames.Frame;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinates;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinatesProvider;
+import fr.cnes.sirius.patrius.propagation.SpacecraftState;
+import fr.cnes.sirius.patrius.propagation.events.AbstractDetector;
+import fr.cnes.sirius.patrius.propagation.events.EventDetector;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.utils.Constants;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+
+/**
+ * {@link EventDetector} wrapping an access constraint detector, whose max-check
+ * interval adapts to the distance to the constraint boundary.
+ *
+ * Each time the g-function is evaluated, the margin of the constraint (the
+ * angular distance to the pointing capacity cone, to the illumination
+ * terminator or to the phase angle threshold, see {@link AccessGeometry}) is
+ * divided by an upper bound of its rate of change. The result is a duration
+ * during which the constraint cannot change its status : the detector takes
+ * long steps when it is far from its events, down to a lower bound near them.
+ * The rates are bounded in the Earth body frame, where the site is fixed :
+ * <ul>
+ * <li>the line of sight from the site to the satellite rotates at most at
+ * v/d, with v the satellite velocity and d its distance to the site, and the
+ * nadir direction at most at v/r, with r the orbit radius ;</li>
+ * <li>the direction of the Sun rotates at most at the Earth rotation rate,
+ * plus its slow apparent motion.</li>
+ * </ul>
+ *
+ * The propagator only reads the max-check interval when a propagation starts,
+ * so it must be stepped with successive propagations whose durations are given
+ * by {@link #getMaxCheckInterval()}.
+ */
+public class AdaptiveMaxCheckDetector extends AbstractDetector {
+
+	/** Serializable UID. */
+	private static final long serialVersionUID = 4806581632734426012L;
+
+	/**
+	 * Upper bound of the rotation rate (rad/s) of the Sun direction in the Earth
+	 * body frame : Earth rotation plus the apparent motion of the Sun.
+	 */
+	private static final double SUN_DIRECTION_RATE = Constants.WGS84_EARTH_ANGULAR_VELOCITY + 1.e-6;
+
+	/** Wrapped constraint detector, giving the events. */
+	private final EventDetector delegate;
+
+	/** Geometry of the site. */
+	private final AccessGeometry geometry;
+
+	/** Constraint monitored by the wrapped detector. */
+	private final AccessConstraint constraint;
+
+	/** Sun position provider. */
+	private final PVCoordinatesProvider sun;
+
+	/** Earth body frame, in which the geometry is evaluated. */
+	private final Frame bodyFrame;
+
+	/** Site position in the Earth body frame (m). */
+	private final Vector3D sitePosition;
+
+	/** Lower bound of the max-check interval (s). */
+	private final double minCheck;
+
+	/** Upper bound of the max-check interval (s). */
+	private final double maxCheckLimit;
+
+	/** Current max-check interval (s), updated at each g-function evaluation. */
+	private double maxCheck;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param delegate        Wrapped constraint detector
+	 * @param geometry        Geometry of the site
+	 * @param constraint      Constraint monitored by the wrapped detector
+	 * @param sun             Sun position provider
+	 * @param bodyFrame       Earth body frame
+	 * @param initialMaxCheck Max-check interval (s) used before the first
+	 *                        g-function evaluation
+	 * @param minCheck        Lower bound of the max-check interval (s)
+	 * @param maxCheckLimit   Upper bound of the max-check interval (s)
+	 */
+	public AdaptiveMaxCheckDetector(final EventDetector delegate, final AccessGeometry geometry,
+			final AccessConstraint constraint, final PVCoordinatesProvider sun, final Frame bodyFrame,
+			final double initialMaxCheck, final double minCheck, final double maxCheckLimit) {
+		super(initialMaxCheck, delegate.getThreshold());
+		this.delegate = delegate;
+		this.geometry = geometry;
+		this.constraint = constraint;
+		this.sun = sun;
+		this.bodyFrame = bodyFrame;
+		this.sitePosition = geometry.getSitePosition();
+		this.minCheck = minCheck;
+		this.maxCheckLimit = maxCheckLimit;
+		this.maxCheck = initialMaxCheck;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void init(final SpacecraftState s0, final AbsoluteDate t) {
+		this.delegate.init(s0, t);
+	}
+
+	/**
+	 * Evaluate the wrapped g-function and update the max-check interval from the
+	 * current margin of the constraint.
+	 *
+	 * @param s Current spacecraft state
+	 * @return the wrapped g-function value
+	 * @throws PatriusException If the g-function or the margin cannot be
+	 *                          evaluated
+	 */
+	@Override
+	public double g(final SpacecraftState s) throws PatriusException {
+		final double g = this.delegate.g(s);
+
+		// Current geometry
+		final PVCoordinates pv = s.getPVCoordinates(this.bodyFrame);
+		final Vector3D sat = pv.getPosition();
+		final Vector3D sunPosition = this.sun.getPVCoordinates(s.getDate(), this.bodyFrame).getPosition();
+		final double margin = MathLib.abs(this.geometry.g(this.constraint, sat.getX(), sat.getY(), sat.getZ(),
+				sunPosition.getX(), sunPosition.getY(), sunPosition.getZ()));
+
+		// Upper bound of the margin rate of change
+		final double speed = pv.getVelocity().getNorm();
+		final double distance = sat.distance(this.sitePosition);
+		final double rate;
+		switch (this.constraint) {
+		case VISIBILITY:
+			rate = speed / distance + speed / sat.getNorm();
+			break;
+		case ILLUMINATION:
+			rate = SUN_DIRECTION_RATE;
+			break;
+		default:
+			rate = speed / distance + SUN_DIRECTION_RATE;
+			break;
+		}
+
+		// The constraint cannot change its status before the margin is consumed
+		this.maxCheck = MathLib.max(this.minCheck, MathLib.min(this.maxCheckLimit, margin / rate));
+		return g;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Action eventOccurred(final SpacecraftState s, final boolean increasing, final boolean forward)
+			throws PatriusException {
+		return this.delegate.eventOccurred(s, increasing, forward);
+	}
+
+	/**
+	 * @return the max-check interval (s) computed at the last g-function
+	 *         evaluation
+	 */
+	@Override
+	public double getMaxCheckInterval() {
+		return this.maxCheck;
+	}
+
+	/**
+	 * @return false : the detector is never removed from the propagator
+	 */
+	@Override
+	public boolean shouldBeRemoved() {
+		return false;
+	}
+
+	/**
+	 * @return a copy of this detector, wrapping a copy of the constraint detector
+	 */
+	@Override
+	public EventDetector copy() {
+		return new AdaptiveMaxCheckDetector(this.delegate.copy(), this.geometry, this.constraint, this.sun,
+				this.bodyFrame, this.maxCheck, this.minCheck, this.maxCheckLimit);
+	}
+}
@@ -0,0 +1,93 @@
+package progmission;
+
+import fr.cnes.sirius.patrius.frames.Frame;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.propagation.SpacecraftState;
+import fr.cnes.sirius.patrius.propagation.events.AbstractDetector;
+import fr.cnes.sirius.patrius.propagation.events.EventDetector;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+
+/**
+ * Visibility {@link EventDetector} of a site with a closed-form g-function.
+ *
+ * The satellite sensor is aligned with the nadir direction (body center
+ * pointing) and its field of view is a circular cone of half-angle the
+ * pointing capacity. With a spherical Earth and a point target, the sensor
+ * visibility of the site reduces to two tests, evaluated in the Earth body
+ * frame by {@link AccessGeometry#visibilityG(double, double, double)} :
+ * <ul>
+ * <li>the off-nadir angle of the line of sight is below the pointing
+ * capacity ;</li>
+ * <li>the line of sight is not occulted by the Earth, that is to say the
+ * satellite is above the local horizon of the site.</li>
+ * </ul>
+ * It gives the same windows as a SensorVisibilityDetector built on the
+ * satellite assembly, without evaluating the assembly frames, the field of
+ * view and the masking body at each step.
+ *
+ * The g-function is positive while the site is visible, and the detector
+ * continues the propagation at each event.
+ */
+public class AnalyticVisibilityDetector extends AbstractDetector {
+
+	/** Serializable UID. */
+	private static final long serialVersionUID = -2618093347519628770L;
+
+	/** Geometry of the site. */
+	private final AccessGeometry geometry;
+
+	/** Earth body frame, in which the geometry is evaluated. */
+	private final Frame bodyFrame;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param geometry  Geometry of the site
+	 * @param bodyFrame Earth body frame
+	 * @param maxCheck  Max-check interval (s)
+	 * @param threshold Convergence threshold (s)
+	 */
+	public AnalyticVisibilityDetector(final AccessGeometry geometry, final Frame bodyFrame, final double maxCheck,
+			final double threshold) {
+		super(maxCheck, threshold);
+		this.geometry = geometry;
+		this.bodyFrame = bodyFrame;
+	}
+
+	/**
+	 * Evaluate the visibility margin of the site.
+	 *
+	 * @param s Current spacecraft state
+	 * @return the visibility margin (rad), positive while the site is visible
+	 * @throws PatriusException If the satellite position cannot be expressed in
+	 *                          the Earth body frame
+	 */
+	@Override
+	public double g(final SpacecraftState s) throws PatriusException {
+		final Vector3D sat = s.getPVCoordinates(this.bodyFrame).getPosition();
+		return this.geometry.visibilityG(sat.getX(), sat.getY(), sat.getZ());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Action eventOccurred(final SpacecraftState s, final boolean increasing, final boolean forward)
+			throws PatriusException {
+		return Action.CONTINUE;
+	}
+
+	/**
+	 * @return false : the detector is never removed from the propagator
+	 */
+	@Override
+	public boolean shouldBeRemoved() {
+		return false;
+	}
+
+	/**
+	 * @return a copy of this detector
+	 */
+	@Override
+	public EventDetector copy() {
+		return new AnalyticVisibilityDetector(this.geometry, this.bodyFrame, getMaxCheckInterval(), getThreshold());
+	}
+}
@@ -1,1034 +1,2921 @@
-package progmission;
-
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
-
-import org.slf4j.Logger;
-
-import fr.cnes.sirius.patrius.assembly.models.SensorModel;
-import fr.cnes.sirius.patrius.attitudes.Attitude;
-import fr.cnes.sirius.patrius.attitudes.AttitudeLaw;
-import fr.cnes.sirius.patrius.attitudes.AttitudeLawLeg;
-import fr.cnes.sirius.patrius.attitudes.AttitudeLeg;
-import fr.cnes.sirius.patrius.attitudes.AttitudeProvider;
-import fr.cnes.sirius.patrius.attitudes.ConstantSpinSlew;
-import fr.cnes.sirius.patrius.attitudes.StrictAttitudeLegsSequence;
-import fr.cnes.sirius.patrius.attitudes.TargetGroundPointing;
-import fr.cnes.sirius.patrius.events.CodedEvent;
-import fr.cnes.sirius.patrius.events.CodedEventsLogger;
-import fr.cnes.sirius.patrius.events.GenericCodingEventDetector;
-import fr.cnes.sirius.patrius.events.Phenomenon;
-import fr.cnes.sirius.patrius.events.postprocessing.AndCriterion;
-import fr.cnes.sirius.patrius.events.postprocessing.ElementTypeFilter;
-import fr.cnes.sirius.patrius.events.postprocessing.NotCriterion;
-import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
-import fr.cnes.sirius.patrius.events.sensor.SensorVisibilityDetector;
-import fr.cnes.sirius.patrius.frames.FramesFactory;
-import fr.cnes.sirius.patrius.frames.TopocentricFrame;
-import fr.cnes.sirius.patrius.frames.transformations.Transform;
-import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
-import fr.cnes.sirius.patrius.math.util.MathLib;
-import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinates;
-import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinatesProvider;
-import fr.cnes.sirius.patrius.propagation.analytical.KeplerianPropagator;
-import fr.cnes.sirius.patrius.propagation.events.ConstantRadiusProvider;
-import fr.cnes.sirius.patrius.propagation.events.EventDetector;
-import fr.cnes.sirius.patrius.propagation.events.LocalRadiusProvider;
-import fr.cnes.sirius.patrius.propagation.events.ThreeBodiesAngleDetector;
-import fr.cnes.sirius.patrius.time.AbsoluteDate;
-import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
-import fr.cnes.sirius.patrius.time.AbsoluteDateIntervalsList;
-import fr.cnes.sirius.patrius.utils.exception.PatriusException;
-import reader.Site;
-import utils.ConstantsBE;
-import utils.LogUtils;
-import utils.ProjectUtils;
-
-/**
- * This class implements the context of an Earth Observation mission.
- *
- * @author herberl
- */
-public class CompleteMission extends SimpleMission {
-
-	/**
-	 * Logger for this class.
-	 */
-	private final Logger logger = LogUtils.GLOBAL_LOGGER;
-
-	/**
-	 * Maximum checking interval (s) for the event detection during the orbit
-	 * propagation.
-	 */
-	public static final double MAXCHECK_EVENTS = 120.0;
-
-	/**
-	 * Default convergence threshold (s) for the event computation during the orbit
-	 * propagation.
-	 */
-	public static final double TRESHOLD_EVENTS = 1.e-4;
-
-	/**
-	 * This {@link Map} will be used to enumerate each site access {@link Timeline},
-	 * that is to say a {@link Timeline} with access windows respecting all
-	 * observation conditions. This object corresponds to the access plan, which
-	 * will be computed in the computeAccessPlan() method.
-	 */
-	private final Map<Site, Timeline> accessPlan;
-
-	/**
-	 * This {@link Map} will be used to enumerate each site's programmed
-	 * observation. We suggest to use an {@link AttitudeLawLeg} to encapsulate the
-	 * guidance law of each observation. This object corresponds to the observation
-	 * plan, which will be computed in the computeObservationPlan() method.
-	 */
-	private final Map<Site, AttitudeLawLeg> observationPlan;
-
-	/**
-	 * {@link StrictAttitudeLegsSequence} representing the cinematic plan during the
-	 * whole mission horizon. Each {@link AttitudeLeg} corresponds to a diffrent
-	 * attitude law : either nadir pointing, target pointing or a slew between two
-	 * laws. This object corresponds to the cinematic plan, which will be computed
-	 * in the computeCinematicPlan() method.
-	 */
-	private final StrictAttitudeLegsSequence<AttitudeLeg> cinematicPlan;
-
-	/**
-	 * Constructor for the {@link CompleteMission} class.
-	 *
-	 * @param missionName   Name of the mission
-	 * @param numberOfSites Number of target {@link Site} to consider, please give a
-	 *                      number between 1 and 100.
-	 * @throws PatriusException      Can be raised by Patrius when building
-	 *                               particular objects. Here it comes from
-	 *                               {@link FramesFactory}
-	 * @throws IllegalStateException if the mission horizon is too short
-	 */
-	public CompleteMission(final String missionName, int numberOfSites) throws PatriusException {
-
-		// Since this class extends the SimpleMission class, we need to use the super
-		// constructor to instantiate our instance of CompleteMission. All the
-		// attributes of the super class will be instantiated during this step.
-		super(missionName, numberOfSites);
-
-		// Initialize the mission plans with empty maps. You will fill those HashMaps in
-		// the "compute****Plan()" methods.
-		this.accessPlan = new HashMap<>();
-		this.observationPlan = new HashMap<>();
-		this.cinematicPlan = new StrictAttitudeLegsSequence<>();
-
-	}
-
-	/**
-	 * A hash based on all the constants of the BE. This hash is unique and ensures
-	 * we get the right filename for a given {@link Site} and a given set of
-	 * {@link ConstantsBE} parameters. It is used in the names of the files
-	 * containing the serialized accesses for all {@link Site}.
-	 *
-	 */
-	private final static int hashConstantBE;
-
-	/**
-	 * [DO NOT MODIFY THIS METHOD]
-	 * 
-	 * This block of code is static, shared by all instances of CompleteMission. It
-	 * is executed only once when the class is first instantiated, to produce an
-	 * unique hash which encodes the whole constants of the BE in one single code.
-	 * You don't have to (and must not) modify this code if you want to benefit from
-	 * automatic serialization and reading of you access Timelines.
-	 */
-	static {
-		// Creating an unique hash code to be used for serialization
-		int hash = 17;
-
-		long doubleBits;
-		int doubleHash;
-
-		// The hash code depends from all the parameters from a given simulation : start
-		// and end date and all the ConstantBE values. We build a hashcode from all
-		// those values converting them as int
-
-		// Start and end dates
-		hash = 31 * hash + ConstantsBE.START_DATE.hashCode();
-		hash = 31 * hash + ConstantsBE.END_DATE.hashCode();
-
-		// ConstantBE values
-		double doubles[] = new double[] { ConstantsBE.ALTITUDE, ConstantsBE.INCLINATION, ConstantsBE.MEAN_ECCENTRICITY,
-				ConstantsBE.ASCENDING_NODE_LONGITUDE, ConstantsBE.POINTING_CAPACITY, ConstantsBE.SPACECRAFT_MASS,
-				ConstantsBE.MAX_SUN_INCIDENCE_ANGLE, ConstantsBE.MAX_SUN_PHASE_ANGLE, ConstantsBE.INTEGRATION_TIME,
-				ConstantsBE.POINTING_AGILITY_DURATIONS[0], ConstantsBE.POINTING_AGILITY_DURATIONS[1],
-				ConstantsBE.POINTING_AGILITY_DURATIONS[2], ConstantsBE.POINTING_AGILITY_DURATIONS[3],
-				ConstantsBE.POINTING_AGILITY_DURATIONS[4], ConstantsBE.POINTING_AGILITY_ROTATIONS[0],
-				ConstantsBE.POINTING_AGILITY_ROTATIONS[1], ConstantsBE.POINTING_AGILITY_ROTATIONS[2],
-				ConstantsBE.POINTING_AGILITY_ROTATIONS[3], ConstantsBE.POINTING_AGILITY_ROTATIONS[4], MAXCHECK_EVENTS,
-				TRESHOLD_EVENTS };
-		for (Double d : doubles) {
-			doubleBits = Double.doubleToLongBits(d);
-			doubleHash = (int) (doubleBits ^ (doubleBits >>> 32));
-			hash = 31 * hash + doubleHash;
-		}
-
-		// Finally assigning the current simulation hashConstantBE value
-		hashConstantBE = hash;
-	}
-
-	/**
-	 * This method should compute the input {@link Site}'s access {@link Timeline}.
-	 * That is to say the {@link Timeline} which contains all the {@link Phenomenon}
-	 * respecting the access conditions for this site : good visibility + corrrect
-	 * illumination of the {@link Site}.
-	 * 
-	 * For that, we suggest you create as many {@link Timeline} as you need and
-	 * combine them with logical gates to filter only the access windows phenomenon.
-	 * 
-	 * @param targetSite Input target {@link Site}
-	 * @return The {@link Timeline} of all the access {@link Phenomenon} for the
-	 *         input {@link Site}.
-	 * @throws PatriusException If a {@link PatriusException} occurs.
-	 */
-	private Timeline createSiteAccessTimeline(Site targetSite) throws PatriusException {
-		
-		// Creating the global timeline, which takes into account the 3 constraints.
-		Timeline siteAccessTimeline = createSiteGlobalTimeline(targetSite);
-
-		// First criterion : we create a new phenomenon including these two conditions : satellite visibility and illumination
-		final AndCriterion andCriterion = new AndCriterion("Satellite visibility", "Illumination",
-				"Satellite visibility and illumination", "Comment about this phenomenon");
-		
-		// Applying our first criterion in order to add all the new phenonmena inside the global timeline
-		andCriterion.applyTo(siteAccessTimeline);
-		
-		// Second criterion : we create a new phenomenon including this condition : no dazzling
-		final NotCriterion notCriterion = new NotCriterion("Dazzling", "No dazzling", "Comment") ;
-		
-		// Applying our second criterion in order to add all the new phenonmena inside the global timeline		
-		notCriterion.applyTo(siteAccessTimeline);
-		
-		// Third criterion : we create a new phenomenon including these three conditions : satellite visibility and illumination and no dazzling
-		final AndCriterion andCriterion2 = new AndCriterion("Satellite visibility and illumination", "No dazzling",
-				"Satellite visibility and illumination and no dazzling", "Comment about this phenomenon");
-		
-		// Applying our third criterion in order to add all the new phenonmena inside the global timeline	
-		andCriterion2.applyTo(siteAccessTimeline);
-
-		// Then, creating an ElementTypeFilter that will only keep the phenomenon "Satellite visibility and illumination and no dazzling"
-		final ElementTypeFilter obsConditionFilter = new ElementTypeFilter(
-				"Satellite visibility and illumination and no dazzling", false);
-		
-		// Finally, we filter the global timeline to keep only the phenomenon "Satellite visibility and illumination and no dazzling" : this is 
-		// our final timeline.
-		obsConditionFilter.applyTo(siteAccessTimeline);
-		
-		// We log the final access timeline associated to the current target
-		logger.info("\n" + targetSite.getName());
-		ProjectUtils.printTimeline(siteAccessTimeline);
-
-		return siteAccessTimeline;
-	}
-	
-	/**
-	 * This method compute a {@link Timeline} object which encapsulates all
-	 * the {@link Phenomenon} corresponding to the following phenomena : 
-	 * satellite visibility, illumination and dazzling, relative to
-	 * the input target {@link Site}.
-	 * 
-	 * @param targetSite Input target {@link Site}
-	 * @return The {@link Timeline} containing all the {@link Phenomenon} relative
-	 *         to these 3 phenomena.
-	 * @throws PatriusException If a {@link PatriusException} occurs when creating
-	 *                          the {@link Timeline}.
-	 */
-	private Timeline createSiteGlobalTimeline(Site targetSite) throws PatriusException {
-		/**
-		 * We decided to directly calculate a global timeline which encapsulates the 3 phenomena, 
-		 * in order to propagate only once per Site, with the three detectors attached to the 
-		 * propagator. We did this to gain computation time.
-		 */
-		
-		// Taking a new local propagator for the site, in order to gain computation time.
-		final KeplerianPropagator localPropagator = this.createDefaultPropagator();
-		
-		//////////////////// VISIBILITY DETECTOR ///////////////////////////////
-		
-		// Creating the visibility detector and adding it to the propagator.
-		final EventDetector constraintVisibilityDetector = createConstraintVisibilityDetector(targetSite);
-		localPropagator.addEventDetector(constraintVisibilityDetector);
-		
-		// Creating the associated CodedEventLogger and plugging it to the visibility detector. 
-		final GenericCodingEventDetector codingEventVisibilityDetector = new GenericCodingEventDetector(constraintVisibilityDetector,
-				"Start of satellite visibility", "End of satellite visibility", true, "Satellite visibility");
-		final CodedEventsLogger eventVisibilityLogger = new CodedEventsLogger();
-		final EventDetector eventVisibilityDetector = eventVisibilityLogger.monitorDetector(codingEventVisibilityDetector);
-		
-		// Adding the logger to the propagator, in order to monitor the event coded by the codingEventDetector
-		localPropagator.addEventDetector(eventVisibilityDetector);
-		
-		//////////////////// ILLUMINATION DETECTOR ///////////////////////////////
-		
-		// Creating the illumination detector and adding it to the propagator.
-		final EventDetector constraintIlluminationDetector = createConstraintIlluminationDetector(targetSite);
-		localPropagator.addEventDetector(constraintIlluminationDetector);
-
-		// Creating the associated CodedEventLogger and plugging it to the illumination detector. 
-		final GenericCodingEventDetector codingEventIlluminationDetector = new GenericCodingEventDetector(constraintIlluminationDetector,
-				"Start of illumination", "End of illumination", true, "Illumination");
-		final CodedEventsLogger eventIlluminationLogger = new CodedEventsLogger();
-		final EventDetector eventIlluminationDetector = eventIlluminationLogger.monitorDetector(codingEventIlluminationDetector);
-		
-		// Adding the logger to the propagator, in order to monitor the event coded by the codingEventDetector
-		localPropagator.addEventDetector(eventIlluminationDetector);
-
-		//////////////////// DAZZLING DETECTOR ///////////////////////////////
-		
-		// Creating the dazzling detector and adding it to the propagator.
-		final EventDetector constraintDazzlingDetector = createConstraintDazzlingDetector(targetSite);
-		localPropagator.addEventDetector(constraintDazzlingDetector);
-
-		// Creating the associated CodedEventLogger and plugging it to the dazzling detector. 
-		final GenericCodingEventDetector codingEventDazzlingDetector = new GenericCodingEventDetector(constraintDazzlingDetector,
-				"Start of dazzling", "End of dazzling", true, "Dazzling");
-		final CodedEventsLogger eventDazzlingLogger = new CodedEventsLogger();
-		final EventDetector eventDazzlingDetector = eventDazzlingLogger.monitorDetector(codingEventDazzlingDetector);
-		
-		// Adding the logger to the propagator, in order to monitor the event coded by the codingEventDetector
-		localPropagator.addEventDetector(eventDazzlingDetector);
-
-		//////////////////// ORBIT PROPAGATION ///////////////////////////////
-		// Now, the local propagator is configured with all the detectors and loggers. So we can propagate.
-		
-		// Finally propagating the orbit
-		localPropagator.propagate(this.getStartDate(), this.getEndDate());
-		
-		//////////////////// CREATION OF THE 3 TIMELINES ///////////////////////////////
-		
-		// Creating the first timeline, which corresponds to the visibility phenomenon
-		final Timeline timelineVisibility = new Timeline(eventVisibilityLogger,
-		new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()), null);
-		
-		// Creating the second timeline, which corresponds to the illumination phenomenon
-		final Timeline timelineIllumination = new Timeline(eventIlluminationLogger,
-				new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()), null);
-		
-		// Creating the third timeline, which corresponds to the dazzling phenomenon
-		final Timeline timelineDazzling = new Timeline(eventDazzlingLogger,
-				new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()), null); 
-		
-		///////////////////// CREATION OF THE GLOBAL TIMELINE /////////////////////////
-		// The idea is to create a global timeline concatenating the 3 timelines.
-
-		// Creating the global timeline
-		final Timeline siteAccessTimeline = new Timeline(
-				new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()));
-		
-		// Adding the phenomena of all the considered timelines
-		for (final Phenomenon phenom : timelineVisibility.getPhenomenaList()) {
-			siteAccessTimeline.addPhenomenon(phenom);
-		}
-		for (final Phenomenon phenom : timelineIllumination.getPhenomenaList()) {
-			siteAccessTimeline.addPhenomenon(phenom);
-		}
-		for (final Phenomenon phenom : timelineDazzling.getPhenomenaList()) {
-			siteAccessTimeline.addPhenomenon(phenom); 
-		} 
-
-		return siteAccessTimeline;
-
-	}
-	
-	/**
-	 * Create an adapted instance of {@link EventDetector} for monitoring 
-	 * the events defined by the visibility constraint, for the input 
-	 * target site.
-	 * 
-	 * @param targetSite Input target {@link Site}
-	 * @return An {@link EventDetector} answering the visibility constraint.
-	 */
-	private EventDetector createConstraintVisibilityDetector(Site targetSite) {
-		
-		// Creating a sensor model by using the sensor of the satellite
-		SensorModel sensorModel = new SensorModel(this.getSatellite().getAssembly(), "sensor");
-		
-		// Adding the earth as a masking body to the sensor model
-		sensorModel.addMaskingCelestialBody(this.getEarth());
-		
-		// Defining the target by creating a PVCoordinatesProvider and a radius
-		PVCoordinatesProvider target = new TopocentricFrame(this.getEarth(), targetSite.getPoint(),targetSite.getName());
-		LocalRadiusProvider radius = new ConstantRadiusProvider(0); // radius of 0 because we consider the target as a point.
-		
-		// Adding the target to the sensor model.
-		sensorModel.setMainTarget(target, radius);
-		
-		// Creating the event visibility detector for the associated target, by using the sensor model.
-		EventDetector visibilityDetector = new SensorVisibilityDetector(sensorModel, MAXCHECK_EVENTS, TRESHOLD_EVENTS, 
-				EventDetector.Action.CONTINUE, EventDetector.Action.CONTINUE);
-
-		return visibilityDetector;
-	}
-	
-	/**
-	 * Create an adapted instance of {@link EventDetector} for monitoring 
-	 * the events defined by the illumination constraint, for the input 
-	 * target site.
-	 * 
-	 * @param targetSite Input target {@link Site}
-	 * @return An {@link EventDetector} answering the illumination constraint.
-	 */
-	private EventDetector createConstraintIlluminationDetector(Site targetSite) {
-		
-		// Defining the target as a PVCoordinatesProvider
-		PVCoordinatesProvider target = new TopocentricFrame(this.getEarth(), targetSite.getPoint(),targetSite.getName());
-		
-		// Creating the illumination detector for the associated target. The angle to consider is the one between the
-		// target zenith and the direction target-->sun (sun incidence angle). By taking in input the Earth, the target 
-		// and the Sun as we did, the calculated angle is the one between the opposite of the zenith and the direction 
-		// target--sun. That's why we compare it with 180 minus the sun incidence angle.
-		EventDetector illuminationDetector = new ThreeBodiesAngleDetector(this.getEarth(), target ,
-				this.getSun(), MathLib.toRadians(180-ConstantsBE.MAX_SUN_INCIDENCE_ANGLE), MAXCHECK_EVENTS, 
-				TRESHOLD_EVENTS, EventDetector.Action.CONTINUE );
-		
-		return illuminationDetector;
-	}
-	
-	/**
-	 * Create an adapted instance of {@link EventDetector} for monitoring 
-	 * the events defined by the dazzling, for the input target site.
-	 * 
-	 * @param targetSite Input target {@link Site}
-	 * @return An {@link EventDetector} detecting the dazzling.
-	 */
-	private EventDetector createConstraintDazzlingDetector(Site targetSite) {
-		
-		// Defining the target as a PVCoordinatesProvider
-		PVCoordinatesProvider target = new TopocentricFrame(this.getEarth(), targetSite.getPoint(),targetSite.getName());
-		
-		// Creating the dazzling detector for the associated target. The angle to consider is the one between the
-		// direction target-->satellite and the direction target--sun (sun phase angle). By taking in input the 
-		// satellite, the target and the sun, the calculated angle is also the sun phase angle, so we can compare
-		// them.
-		EventDetector dazzlingDetector = new ThreeBodiesAngleDetector(this.getSatellite().getPropagator().getPvProvider(), target, 
-				this.getSun(), MathLib.toRadians(ConstantsBE.MAX_SUN_PHASE_ANGLE), MAXCHECK_EVENTS, TRESHOLD_EVENTS,
-				EventDetector.Action.CONTINUE );
-		
-		return dazzlingDetector;
-	}
-
-	/**
-	 * Compute the access plan.
-	 * 
-	 * Reminder : the access plan corresponds to the object gathering all the
-	 * opportunities of access for all the sites of interest during the mission
-	 * horizon. One opportunity of access is defined by an access window (an
-	 * interval of time during which the satellite can observe the target and during
-	 * which all the observation conditions are achieved : visibility, incidence
-	 * angle, illumination of the scene,etc.).
-	 * @return the sites access plan with one {@link Timeline} per {@link Site}
-	 * @throws PatriusException If a {@link PatriusException} occurs during the
-	 *                          computations
-	 */
-	public Map<Site, Timeline> computeAccessPlan() throws PatriusException {
-		logger.info("============= Computing Access Plan =============");
-		
-		// Iterating over all sites
-		for (Site targetSite : this.getSiteList()) {
-			
-			logger.info(" Site : " + targetSite.getName());
-			
-			// Checking if the Site access Timeline has already been serialized or not
-			final String filename = generateSerializationName(targetSite, hashConstantBE);
-			File file = new File(filename);
-			boolean loaded = false;
-	
-			// If the file exists for the current Site, we try to load its content
-			if (file.exists()) {
-				try {
-					// Load the timeline from the file and add it to the accessPlan
-					final Timeline siteAccessTimeline = loadSiteAccessTimeline(filename);
-					this.accessPlan.put(targetSite, siteAccessTimeline);
-					ProjectUtils.printTimeline(siteAccessTimeline);
-					loaded = true; // the Site has been loaded, no need to compute the access again
-					logger.info(filename + "has been loaded successfully!");
-				} catch (ClassNotFoundException | IOException e) {
-					logger.warn(filename + " could not be loaded !");
-					logger.warn(e.getMessage());
-				}
-			}
-			// If it was not serialized or if loading has failed, we need to compute and
-			// serialize the site access Timeline
-			if (!loaded) {
-				logger.info(targetSite.getName() + " has not been serialized, launching access computation...");
-				// Computing the site access Timeline
-				final Timeline siteAccessTimeline = createSiteAccessTimeline(targetSite);
-				this.accessPlan.put(targetSite, siteAccessTimeline);
-				ProjectUtils.printTimeline(siteAccessTimeline);
-	
-				try {
-					// Serialize the timeline for later reading
-					serializeSiteAccessTimeline(filename, siteAccessTimeline);
-					logger.info(filename + " has been serialized successfully !");
-				} catch (IOException e) {
-					logger.warn(filename + " could not be serialized !");
-					logger.warn(e.getMessage());
-				}
-			}
-		}
-
-		return this.accessPlan;
-	}
-
-	/**
-	 * Compute the observation plan.
-	 * 
-	 * Reminder : the observation plan corresponds to the sequence of observations
-	 * programmed for the satellite during the mission horizon. Each observation is
-	 * defined by an observation window (start date; end date defining an
-	 * {@link AbsoluteDateInterval}), a target (target {@link Site}) and an
-	 * {@link AttitudeLawLeg} giving the attitude guidance to observe the target.
-	 * 
-	 * @return the sites observation plan with one {@link AttitudeLawLeg} per
-	 *         {@link Site}
-	 * @throws PatriusException If a {@link PatriusException} occurs during the
-	 *                          computations
-	 */
-	public Map<Site, AttitudeLawLeg> computeObservationPlan() throws PatriusException {
-		/**
-		 * In order to calculate the observation, we defined a greedy algorithm. Our
-		 * algorithm can be decomposed in two steps:
-		 * 
-		 * Step 1 : defining all the possible observation windows, for all sites,
-		 * 			and sorting them by score.
-		 * 
-		 * 			To do this, we create a global array that contains all the
-		 * 			possible observations, for all sites, and for each timeline
-		 * 			of each site. In the array, an observation is defined by
-		 * 			the association of a Site, an AttitudeLawLeg and a score.
-		 * 			Therefore, there might be several times the same Site in 
-		 * 			the array, but associated to different observations. 
-		 * 			Then, we sort this array by score (in descending order).
-		 * 			By doing this, the Sites can be in disorder in the array,
-		 * 			because only sort by score. For example, we can have a 
-		 * 			sequence :
-		 * 			[..., (SiteA, ObsLeg1, Score), (SiteB, ObsLeg1, Score),
-		 * 			(SiteA, ObsLeg2, Score), ...].
-		 * 			This ensures that we insert each time the best possible 
-		 *			observation.
-		 * 
-		 * Step 2 : inserting observations in the plan, by prioritizing the ones
-		 * 			with the highest scores.
-		 * 
-		 * 			To do this, we iterate over the observations defined at the
-		 * 			previous step. For each iteration, we test if the
-		 * 			observation can be inserted in the plan.
-		 * 			First condition : the Site shouldn't have been already
-		 * 			observed.
-		 * 			Second condition : there shouldn't be another observation
-		 * 			in the same time interval.
-		 * 			Third condition : the free-interval with the previous
-		 * 			observation and the next one should be large enough to
-		 * 			perform the slew.
-		 * 			If one of these conditions is not respected, we try to
-		 * 			insert the next observation in the array...etc... until
-		 * 			we reach the end of the array.
-		 */
-		
-		logger.info("============= Computing Observation Plan =============");
-		
-		//////////////////////////// STEP 1 //////////////////////////////
-		
-		// Creating the array that will contain all possible observations.
-		List<Object[]> allObservationsArray = new ArrayList<>();
-		
-		// Defining our observations : for each timeline of each site, we compute 
-		// different observation intervals of 10s, by using a sliding window of
-		// 5.001s. For example, for a timeline ]7h10:00:000, 7h10:17:000[, we define
-		// 2 observation intervals : 
-		// [7h10:00:001 ; 7h10:10:001], [7h10:05:002 ; 7h10:15:002]
-		// We took a window step of 5.001s and not 5s to avoid issues with open intervals.
-		
-		// Defining the step window
-		double stepWindow = 5.001; // in seconds.
-		
-		// Iterating over the sites
-		for (final Entry<Site, Timeline> entry : this.accessPlan.entrySet()) {
-			
-			// Getting the target Site
-			final Site target = entry.getKey();
-			
-			// Getting its access Timeline
-			final Timeline timeline = entry.getValue();
-			
-			// Create the observation law for the current target
-			final AttitudeLaw observationLaw = createObservationLaw(target);
-			
-			// Iterating over the timelines of the site
-			for (final Phenomenon accessWindow : timeline.getPhenomenaList()) {
-				
-				int timelineCount = 1; //Used to name the obsLeg
-				
-				// Getting the interval corresponding to the timeline
-				final AbsoluteDateInterval accessInterval = accessWindow.getTimespan();
-				
-				// Creating a list containing the middle of the future observations
-				final List<AbsoluteDate> middleDateList = accessInterval.getDateList(stepWindow);
-				
-				// Iterating over the middle dates of the future observations.
-				// We don't consider the last middle date, because we may not have
-				// enough time after it to create an observation.
-				for (int i = 0; i < middleDateList.size() - 1; i++) {
-					
-					// Creating the observation interval : 10s around the middle date
-		            final AbsoluteDate middleDate = middleDateList.get(i);
-		            final AbsoluteDate obsStart = middleDate.shiftedBy(-ConstantsBE.INTEGRATION_TIME / 2);
-					final AbsoluteDate obsEnd = middleDate.shiftedBy(ConstantsBE.INTEGRATION_TIME / 2);
-					final AbsoluteDateInterval obsInterval = new AbsoluteDateInterval(obsStart, obsEnd);
-					
-					// Creating the corresponding AttitudeLawLeg and naming it
-					final String legName = "OBS_" + timelineCount + "_" + i + "_" + target.getName();
-					final AttitudeLawLeg obsLeg = new AttitudeLawLeg(observationLaw, obsInterval, legName);
-					
-					// Computing the score of the observation
-					final double scoreObs = MathLib.cos(getEffectiveIncidence(target, obsLeg)) * target.getScore();
-					
-					// Adding the observation to the array
-					allObservationsArray.add(new Object[]{target, obsLeg, scoreObs});
-				}
-				timelineCount++;
-			}
-			
-		}
-		// Sorting the observations in descending order of score
-		allObservationsArray.sort((record1, record2) -> Double.compare((double) record2[2], (double) record1[2]));
-		
-		
-		//////////////////////////// STEP 2 //////////////////////////////
-		
-		// Creating a list which will contain the already observed sites.
-		List<String> observedSitesList = new ArrayList<>();
-		
-		// Iterating over all the possible observations
-		outerLoop:
-		for (Object[] obs : allObservationsArray) {
-            Site currentTarget = (Site) obs[0];
-      
-            // First condition : the site should not have been already observed
-            if (observedSitesList.contains(currentTarget.getName())) {
-            	// If it has already been observed, we directly go to
-            	// the next observation to insert.
-            	continue;
-            }
-            
-            // Defining the start and the end of the observation that we want
-            // to insert
-            AttitudeLawLeg currentObsLeg = (AttitudeLawLeg) obs[1];
-            AbsoluteDateInterval currentInterval = currentObsLeg.getTimeInterval();
-            AbsoluteDate currentStartInterval = currentInterval.getLowerData();
-            AbsoluteDate currentEndInterval = currentInterval.getUpperData();
-            
-            // Defining the start and end attitudes of the observation we want to insert.
-            Attitude currentStartIntervalAttitude = currentObsLeg.getAttitudeLaw().getAttitude(this.createDefaultPropagator(), 
-            		currentStartInterval,this.getEme2000());
-            Attitude currentEndIntervalAttitude = currentObsLeg.getAttitudeLaw().getAttitude(this.createDefaultPropagator(), 
-            		currentEndInterval, this.getEme2000());
-            
-            logger.info("---------------------------------------------");
-            logger.info("Trying to insert " + currentTarget.getName() + " : " + currentInterval + " in the observation plan...");
-            
-            // Iterating over all the observations that are already in the plan,
-            // in order to test compatibility with the one we want to insert.
-            for (AttitudeLawLeg otherObsLeg : observationPlan.values()) {
-            	// Remark : In practice, we only need to test compatibility with 
-            	// the previous one in the plan, and the following one. Here, we
-            	// test the compatibility with all the observations that are in 
-            	// the plan, so it's not optimized. But the computation time
-            	// is correct.
-            	
-            	// Defining the start and the end of the observation that is
-                // already in the plan
-            	AbsoluteDateInterval otherInterval = otherObsLeg.getTimeInterval();
-            	AbsoluteDate otherStartInterval = otherInterval.getLowerData();
-                AbsoluteDate otherEndInterval = otherInterval.getUpperData();
-                
-                logger.info("-");
-                logger.info("Testing compatibility with " + otherObsLeg.getNature() + " : " + otherInterval);
-                
-            	// Second condition : it should be the only observation during this interval.
-                // For this, we compute the intersection between the observation we want to
-                // insert and the one that is already in the plan.
-            	if (otherInterval.getIntersectionWith(currentInterval)!=null) {
-            		logger.info("Non-empty intersection detected : insertion cancelled");
-            		// If the intersection is not empty, we directly go to the next
-            		// observation to insert
-            		continue outerLoop;
-            	}
-            	logger.info("Intersection non-empty : OK");
-            	
-            	// Third condition : the slew duration must be upper than the time between observations.
-            	
-            	// Testing compatibility with previous observation :
-            	// For this, we first compute the time between the end of the observation we want to insert,
-            	// and the start of the one that is already in the plan. It must be upper than the slew
-            	// duration :
-            	
-            	// Computing the slew duration
-            	Attitude otherStartIntervalAttitude = otherObsLeg.getAttitudeLaw().getAttitude(this.createDefaultPropagator(), 
-            			otherStartInterval, this.getEme2000());
-            	double slewDurationRight = this.getSatellite().computeSlewDuration(currentEndIntervalAttitude, otherStartIntervalAttitude);
-            	
-            	if (Math.abs(otherStartInterval.durationFrom(currentEndInterval)) < slewDurationRight) {
-            		logger.info("Too short duration with the next observation : insertion cancelled");
-            		// If the duration with the previous observation is too short, we directly go to
-            		// the next observation to insert
-            		continue outerLoop;
-            	}
-            	
-            	// Testing compatibility with following observation :
-            	// For this, we first compute the time between the end of the observation that is already
-            	// in the plan, and the start of the one we want to insert. It must be upper than the slew
-            	// duration :
-            	
-            	// Computing the slew duration
-            	Attitude otherEndIntervalAttitude = otherObsLeg.getAttitudeLaw().getAttitude(this.createDefaultPropagator(), otherEndInterval,
-                		this.getEme2000());
-            	double slewDurationLeft = this.getSatellite().computeSlewDuration(otherEndIntervalAttitude, currentStartIntervalAttitude);
-            	
-            	if (Math.abs(currentStartInterval.durationFrom(otherEndInterval)) < slewDurationLeft) {
-            		logger.info("Too short duration with the previous observation : insertion cancelled");
-            		// If the duration with the following observation is too short, we directly go to
-            		// the next observation to insert
-            		continue outerLoop;
-            	}
-            	logger.info("Enough time between the 2 observations : OK");
-            	
-            }
-            
-            //Finally adding the observation to the plan if all conditions are met
-            this.observationPlan.put(currentTarget, currentObsLeg);
-            
-            // Updating the list of observed sites
-            observedSitesList.add(currentTarget.getName());
-            
-            logger.info("-");
-            logger.info("<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<< Successful insertion of " + currentTarget.getName()
-            			+ ">>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>");
-            logger.info("-");
-		}
-		
-		return this.observationPlan;
-	}
-
-	/**
-	 * Computes the cinematic plan.
-	 * 
-	 * @return a {@link StrictAttitudeLegsSequence} that gives all the cinematic
-	 *         plan of the {@link Satellite}. It is a chronological sequence of all
-	 *         the {@link AttitudeLawLeg} that are necessary to define the
-	 *         {@link Attitude} of the {@link Satellite} during all the mission
-	 *         horizon. Those legs can have 3 natures : pointing a target site,
-	 *         pointing nadir and performing a slew between one of the two previous
-	 *         kind of legs.
-	 * @throws PatriusException
-	 */
-	
-	public StrictAttitudeLegsSequence<AttitudeLeg> computeCinematicPlan() throws PatriusException {
-		/**
-		 * We faced an issue when calculating the cinematic plan. We had some problems with the slews from
-		 * the nadirs to the sites. First, we computed the observationLaw with the constructor using the
-		 * Geodetic point. But we noticed that the slews from the nadir were very long (higher than the
-		 * maxSlewDuration). Moreover, when visualizing in VTS, the satellite pointed on other parts of 
-		 * the globe. So we concluded that there was an issue with our method createObservationLaw. We
-		 * tried to modify it by using 3D vectors and it solved the problems. 
-		 * But last week, we asked a teacher about which 3D vectors to use, and he said that we couldn't
-		 * use the getZenith() vector.
-		 * 
-		 * To summarize, it works, but we have a doubt on our createObservationLaw method, because we
-		 * still use the getZenith() vector.
-		 */
-
-		logger.info("============= Computing Cinematic Plan =============");
-		
-		// Sorting the observation plan by date of observation.
-		// Comparison based on the lower bounds of the time intervals
-		Map<Site, AttitudeLawLeg> sortedObservationPlan = this.observationPlan.entrySet()
-			    .stream().sorted((entry1, entry2) -> {
-			        AbsoluteDateInterval interval1 = entry1.getValue().getTimeInterval();
-			        AbsoluteDateInterval interval2 = entry2.getValue().getTimeInterval();
-			        return interval1.getLowerData().compareTo(interval2.getLowerData());})
-			    	.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
-			        (e1, e2) -> e1, LinkedHashMap::new));
-		
-		// Getting our nadir law
-		final AttitudeLaw nadirLaw = this.getSatellite().getDefaultAttitudeLaw();
-		
-		// Getting the propagator
-		final KeplerianPropagator propagator = this.createDefaultPropagator();
-
-		/////////// FIRST STEP : Initial Nadir Law --> Slew --> First Observation ////////////
-		
-		// Getting the start and end date of the mission
-		final AbsoluteDate start = this.getStartDate();
-		final AbsoluteDate end = this.getEndDate();
-		
-		// Getting the first observation and its AttitudeLeg
-		Site firstSite = sortedObservationPlan.keySet().iterator().next();
-		AttitudeLeg firstObsLeg = sortedObservationPlan.get(firstSite);
-		
-		// Getting the start of the first observation, and its attitude
-		final AbsoluteDate firstObsStart = firstObsLeg.getDate();
-		final Attitude startFirstObsAttitude = firstObsLeg.getAttitude(propagator, firstObsStart, getEme2000());
-		
-		// Defining the end date of the initial Nadir Law, and its attitude
-		final AbsoluteDate endInitialNadirLaw = firstObsStart.shiftedBy(-getSatellite().getMaxSlewDuration());
-		final Attitude endInitialNadirAttitude = nadirLaw.getAttitude(propagator, endInitialNadirLaw, getEme2000());
-		
-		// Creating the Attitude Law Legs
-		final AttitudeLawLeg initialNadir = new AttitudeLawLeg(nadirLaw, start, endInitialNadirLaw, "Nadir_Law_1");
-		final ConstantSpinSlew slewFromInitialNadir = new ConstantSpinSlew(endInitialNadirAttitude, startFirstObsAttitude, 
-																			"Slew_Nadir_to_" + firstSite.getName());
-		
-		// Adding them to the cinematic plan
-		this.cinematicPlan.add(initialNadir);
-		this.cinematicPlan.add(slewFromInitialNadir);
-		this.cinematicPlan.add(firstObsLeg);
-		
-		/////////// SECOND STEP : Slew from 1st observation -->  2nd Observation --> Slew to Nadir --> ... --> Last Observation ////////////
-		
-		int sizeObservationPlan = sortedObservationPlan.size();
-		int currentIndex = 0; //Used to detect the last Site
-		
-		// Creating a variable PreviousSite because we need to store it to compute the slew to the next one.
-		Site previousSite = firstSite;
-		
-		// Iterating over all the observations
-		for (Map.Entry<Site, AttitudeLawLeg> entry : sortedObservationPlan.entrySet()) {
-			
-			// We don't process the first site because we already did it before the loop (step 1)
-			if (currentIndex == 0) {
-				currentIndex++;
-				continue;
-			}
-			
-			// Getting the site associated to the next observation
-			Site site = entry.getKey();
-			
-			// Getting the observation legs associated to the previous and the next site
-			AttitudeLeg obsLeg = sortedObservationPlan.get(site);
-			AttitudeLeg previousObsLeg = sortedObservationPlan.get(previousSite);
-			
-			// Getting the end of the previous observation, and its attitude
-			AbsoluteDate endPreviousObsLeg = previousObsLeg.getEnd();
-			Attitude endPreviousObsAttitude = previousObsLeg.getAttitude(propagator, endPreviousObsLeg, getEme2000());
-			
-			// Getting the start of the next observation, and its attitude
-			AbsoluteDate startObsLeg = obsLeg.getDate();
-			Attitude startObsAttitude = obsLeg.getAttitude(propagator, startObsLeg, getEme2000());
-			
-			// If there is enough time between the two observations, we insert a Nadir
-			if (startObsLeg.durationFrom(endPreviousObsLeg) > 2 * this.getSatellite().getMaxSlewDuration()) {
-				
-				// Defining the start and the end date of the Nadir Law, and its attitude
-				final AbsoluteDate startNadirLaw = endPreviousObsLeg.shiftedBy(getSatellite().getMaxSlewDuration());
-				final AbsoluteDate endNadirLaw = startObsLeg.shiftedBy(-getSatellite().getMaxSlewDuration());
-				final Attitude startNadirAttitude = nadirLaw.getAttitude(propagator, startNadirLaw, getEme2000());
-				final Attitude endNadirAttitude = nadirLaw.getAttitude(propagator, endNadirLaw, getEme2000());
-				
-				// Creating the Attitude Law Legs
-				final AttitudeLawLeg nadir = new AttitudeLawLeg(nadirLaw, startNadirLaw, endNadirLaw, "Nadir_Law");
-				final ConstantSpinSlew slewToNadir = new ConstantSpinSlew(endPreviousObsAttitude, startNadirAttitude, 
-														"Slew_from_" + previousSite.getName() + "_to_Nadir");
-				final ConstantSpinSlew slewFromNadir = new ConstantSpinSlew(endNadirAttitude, startObsAttitude, 
-															"Slew_from_Nadir_to_" + site.getName());
-				// Adding them to the cinematic plan
-				this.cinematicPlan.add(slewToNadir);
-				this.cinematicPlan.add(nadir);
-				this.cinematicPlan.add(slewFromNadir);
-				this.cinematicPlan.add(obsLeg);	
-			}
-			
-			// Else, we only inert a slew
-			else {
-				
-				// Creating the Attitude Law Leg
-				final ConstantSpinSlew slew = new ConstantSpinSlew(endPreviousObsAttitude, startObsAttitude, 
-										"Slew_from_" + previousSite.getName() + "_to_" + site.getName() );
-				
-				// Adding it to the cinematic plan with the next observation
-				this.cinematicPlan.add(slew);
-				this.cinematicPlan.add(obsLeg);
-			}
-			
-			// If this is the last Site of the observation plan, we create the final Nadir
-			if (currentIndex==sizeObservationPlan-1) {
-				// Getting the end of the last observation, and its attitude
-				AbsoluteDate endObsLeg = obsLeg.getEnd();
-				Attitude endObsAttitude = obsLeg.getAttitude(propagator, endObsLeg, getEme2000());
-				
-				// Creating the start of the final Nadir law, and its attitude
-				AbsoluteDate startFinalNadirLaw = endObsLeg.shiftedBy(getSatellite().getMaxSlewDuration());
-				Attitude startFinalNadirAttitude = nadirLaw.getAttitude(propagator, startFinalNadirLaw, getEme2000());
-				
-				// Creating the Attitude Law Legs
-				ConstantSpinSlew slewToFinalNadir = new ConstantSpinSlew(endObsAttitude, startFinalNadirAttitude, "Slew_to_final_Nadir");
-				AttitudeLawLeg finalNadir = new AttitudeLawLeg(nadirLaw, startFinalNadirLaw, end, "Final_Nadir_Law");
-				
-				// Adding them to the cinematic plan
-				this.cinematicPlan.add(slewToFinalNadir);
-				this.cinematicPlan.add(finalNadir);
-			}
-			
-			// Updating the previous site, and the current index
-			previousSite = site;
-			currentIndex++;
-		}
-		
-		return this.cinematicPlan;
-	}
-
-	
-	// Here is the first method that we used, but we faced problems with VTS
-	// (the satellite pointed anywhere in the globe)
-	
-	//private AttitudeLaw createObservationLaw(Site target) throws PatriusException {
-		/**
-		 * To perform an observation, the satellite needs to point the target for a
-		 * fixed duration.
-		 * 
-		 * Here, you will use the {@link TargetGroundPointing}. This law provides a the
-		 * Attitude of a Satellite that only points one target at the surface of a
-		 * BodyShape. The earth object from the SimpleMission is a BodyShape and we
-		 * remind you that the Site object has an attribute which is a GeodeticPoint.
-		 * Use those informations to your advantage to build a TargetGroundPointing.
-		 * 
-		 * Note : to avoid unusual behavior of the TargetGroundPointing law, we advise
-		 * you use the following constructor : TargetGroundPointing(BodyShape, Vector3D,
-		 * Vector3D, Vector3D) specifying the line of sight axis and the normal axis.
-		 */
-		/*
-		 * Complete the code below to create your observation law and return it
-		 */
-		/*AttitudeLaw observationLaw = new TargetGroundPointing(
-			    this.getEarth(),
-			    target.getPoint());
-		
-		return observationLaw;
-	}*/
-	
-	// Here is the method we use. It works, but the we have a doubt on the vectors
-	// that we use.
-	
-	/**
-	 * [COMPLETE THIS METHOD TO ACHIEVE YOUR PROJECT]
-	 * 
-	 * Create an observation leg, that is to say an {@link AttitudeLaw} that give
-	 * the {@link Attitude} (pointing direction) of the {@link Satellite} in order
-	 * to perform the observation of the input target {@link Site}.
-	 * 
-	 * An {@link AttitudeLaw} is an {@link AttitudeProvider} providing the method
-	 * {@link AttitudeProvider#getAttitude()} which can be used to compute the
-	 * {@link Attitude} of the {@link Satellite} at any given {@link AbsoluteDate}
-	 * (instant) during the mission horizon.
-	 * 
-	 * An {@link AttitudeLaw} is valid at any time in theory.
-	 * 
-	 * @param target Input target {@link Site}
-	 * @return An {@link AttitudeLawLeg} adapted to the observation.
-	 * @throws PatriusException 
-	 */
-	private AttitudeLaw createObservationLaw(Site target) throws PatriusException {
-	     
-        AttitudeLaw observationLaw = new TargetGroundPointing(
-                this.getEarth(),
-                target.getPoint().getZenith(),
-                this.getSatellite().getSensorAxis(),
-                this.getSatellite().getFrameXAxis()
-            );
-        
-        return observationLaw;
-	}
-	
-	/**
-	 * [DO NOT MODIFY THIS METHOD]
-	 * 
-	 * Computes and returns the angle of incidence (satellite->nadir ;
-	 * satellite->target) at the middle date of the input observation.
-	 * (same method as in SimpleMission)
-	 * 
-	 * @param site              Input {@link Site} associated with the
-	 *                          {@link AttitudeLawLeg}.
-	 * @param observationLawLeg Observation law leg to evaluate. It should be a
-	 *                          {@link TargetGroundPointing} targeting a given
-	 *                          {@link Site}, and we are going to measure the angle
-	 *                          of incidence of the {@link Site}with respect to
-	 *                          nadir direction at the middle date of the
-	 *                          observation {@link AttitudeLawLeg}.
-	 * @return The angle of incidence at the middle date of the input law, as a
-	 *         double.
-	 * @throws PatriusException If an error occurs during the propagation.
-	 */
-	private double getEffectiveIncidence(Site site, AttitudeLawLeg observationLawLeg) throws PatriusException {
-		// Getting the middleDate, IE the date of the middle of the observation that we
-		// are going to use to check the incidence angle.
-		final AbsoluteDate middleDate = observationLawLeg.getTimeInterval().getMiddleDate();
-
-		// Creating a new propagator to compute the satellite's pv coordinates
-		final KeplerianPropagator propagator = createDefaultPropagator();
-
-		// Calculating the satellite PVCoordinates at middleDate
-		final PVCoordinates satPv = propagator.getPVCoordinates(middleDate, this.getEme2000());
-
-		// Calculating the Site PVCoordinates at middleDate
-		final TopocentricFrame siteFrame = new TopocentricFrame(this.getEarth(), site.getPoint(), site.getName());
-		final PVCoordinates sitePv = siteFrame.getPVCoordinates(middleDate, this.getEme2000());
-
-		// Calculating the normalized site-sat vector at middleDate
-		final Vector3D siteSatVectorEme2000 = satPv.getPosition().subtract(sitePv.getPosition()).normalize();
-
-		// Calculating the vector normal to the surface at the Site at middleDate
-		final Vector3D siteNormalVectorEarthFrame = siteFrame.getZenith();
-		final Transform earth2Eme2000 = siteFrame.getParentShape().getBodyFrame().getTransformTo(this.getEme2000(), middleDate);
-		final Vector3D siteNormalVectorEme2000 = earth2Eme2000.transformPosition(siteNormalVectorEarthFrame);
-
-		// Finally, we can compute the incidence angle = angle between
-		// siteNormalVectorEme2000 and siteSatVectorEme2000
-		final double incidenceAngle = Vector3D.angle(siteNormalVectorEme2000, siteSatVectorEme2000);
-
-		//logger.info("Site : " + site.getName() + " " + site.getPoint().toString());
-		//logger.info("Incidence angle rad : " + incidenceAngle);
-		//logger.info("Incidence angle deg : " + MathLib.toDegrees(incidenceAngle));
-
-		return incidenceAngle;
-
-	}
-
-	/**
-	 * @return the accessPlan
-	 */
-	public Map<Site, Timeline> getAccessPlan() {
-		return this.accessPlan;
-	}
-
-	/**
-	 * @return the observationPlan
-	 */
-	public Map<Site, AttitudeLawLeg> getObservationPlan() {
-		return this.observationPlan;
-	}
-
-	/**
-	 * @return the cinematicPlan
-	 */
-	public StrictAttitudeLegsSequence<AttitudeLeg> getCinematicPlan() {
-		return this.cinematicPlan;
-	}
-
-	@Override
-	public String toString() {
-		return "CompleteMission [name=" + this.getName() + ", startDate=" + this.getStartDate() + ", endDate="
-				+ this.getEndDate() + ", satellite=" + this.getSatellite() + "]";
-	}
-}
+package progmission;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+
+import fr.cnes.sirius.patrius.assembly.models.SensorModel;
+import fr.cnes.sirius.patrius.attitudes.Attitude;
+import fr.cnes.sirius.patrius.attitudes.AttitudeLaw;
+import fr.cnes.sirius.patrius.attitudes.AttitudeLawLeg;
+import fr.cnes.sirius.patrius.attitudes.AttitudeLeg;
+import fr.cnes.sirius.patrius.attitudes.AttitudeProvider;
+import fr.cnes.sirius.patrius.attitudes.ConstantSpinSlew;
+import fr.cnes.sirius.patrius.attitudes.StrictAttitudeLegsSequence;
+import fr.cnes.sirius.patrius.attitudes.TargetGroundPointing;
+import fr.cnes.sirius.patrius.events.CodedEvent;
+import fr.cnes.sirius.patrius.events.CodedEventsLogger;
+import fr.cnes.sirius.patrius.events.GenericCodingEventDetector;
+import fr.cnes.sirius.patrius.events.Phenomenon;
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import fr.cnes.sirius.patrius.events.sensor.SensorVisibilityDetector;
+import fr.cnes.sirius.patrius.frames.FramesFactory;
+import fr.cnes.sirius.patrius.frames.TopocentricFrame;
+import fr.cnes.sirius.patrius.frames.transformations.Transform;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinates;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinatesProvider;
+import fr.cnes.sirius.patrius.propagation.BoundedPropagator;
+import fr.cnes.sirius.patrius.propagation.SpacecraftState;
+import fr.cnes.sirius.patrius.propagation.analytical.KeplerianPropagator;
+import fr.cnes.sirius.patrius.propagation.events.ConstantRadiusProvider;
+import fr.cnes.sirius.patrius.propagation.events.EventDetector;
+import fr.cnes.sirius.patrius.propagation.events.LocalRadiusProvider;
+import fr.cnes.sirius.patrius.propagation.events.ThreeBodiesAngleDetector;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.time.AbsoluteDateIntervalsList;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import fr.cnes.sirius.patrius.utils.exception.PropagationException;
+import reader.Site;
+import utils.ConstantsBE;
+import utils.LogUtils;
+import utils.ProjectUtils;
+import utils.VTSTools;
+
+/**
+ * This class implements the context of an Earth Observation mission.
+ *
+ * @author herberl
+ */
+public class CompleteMission extends SimpleMission {
+
+	/**
+	 * Logger for this class.
+	 */
+	private final Logger logger = LogUtils.GLOBAL_LOGGER;
+
+	/**
+	 * Maximum checking interval (s) for the event detection during the orbit
+	 * propagation.
+	 */
+	public static final double MAXCHECK_EVENTS = 120.0;
+
+	/**
+	 * Default convergence threshold (s) for the event computation during the orbit
+	 * propagation.
+	 */
+	public static final double TRESHOLD_EVENTS = 1.e-4;
+
+	/**
+	 * Coarse convergence threshold (s) of the first phase of the two-phase
+	 * detection, see {@link #setTwoPhaseDetection(boolean)}.
+	 */
+	public static final double COARSE_TRESHOLD_EVENTS = 1.0;
+
+	/**
+	 * Code of the access {@link Phenomenon} : the ones respecting all the
+	 * constraints.
+	 */
+	public static final String ACCESS_CODE = "Satellite visibility and illumination and no dazzling";
+
+	/**
+	 * Comment of the access {@link Phenomenon}.
+	 */
+	private static final String ACCESS_COMMENT = "Comment about this phenomenon";
+
+	/**
+	 * Strategies available to compute the site access timelines. Both produce the
+	 * same access plan.
+	 */
+	public enum AccessMode {
+
+		/**
+		 * Each site propagates its own copy of the orbit, with the Patrius detectors of
+		 * the three constraints attached.
+		 */
+		PER_SITE_PROPAGATION,
+
+		/**
+		 * The orbit is propagated only once and all the sites are evaluated against this
+		 * trajectory, see {@link AccessEngine}.
+		 */
+		SINGLE_PROPAGATION,
+
+		/**
+		 * The visibility is computed precisely over the first repeat cycle of the
+		 * ground track and shifted in time to the following cycles, the Sun-dependent
+		 * constraints being re-checked on each cycle, see {@link RepeatCycleAccess}.
+		 */
+		REPEAT_CYCLE
+	}
+
+	/** Strategy used to compute the site access timelines. */
+	private AccessMode accessMode = AccessMode.PER_SITE_PROPAGATION;
+
+	/**
+	 * Sampling step (s) of the ground track used to screen the satellite passes.
+	 */
+	public static final double SCREENING_STEP = 60.0;
+
+	/**
+	 * Order in which the possible observations, as {Site, AttitudeLawLeg, score}
+	 * arrays, are tried by the planners : descending score, the ties being broken
+	 * by site name then by start date. The plan thus does not depend on the order
+	 * in which the sites accesses have been computed.
+	 */
+	private static final Comparator<Object[]> OBSERVATION_ORDER = (record1, record2) -> {
+		final int byScore = Double.compare((double) record2[2], (double) record1[2]);
+		if (byScore != 0) {
+			return byScore;
+		}
+		final int byName = ((Site) record1[0]).getName().compareTo(((Site) record2[0]).getName());
+		if (byName != 0) {
+			return byName;
+		}
+		return ((AttitudeLawLeg) record1[1]).getTimeInterval().getLowerData()
+				.compareTo(((AttitudeLawLeg) record2[1]).getTimeInterval().getLowerData());
+	};
+
+	/**
+	 * Sampling step (s) of the {@link AccessProfile} angles : the boundaries of
+	 * the windows extracted from a profile are linearly interpolated between the
+	 * samples.
+	 */
+	public static final double PROFILE_STEP = 5.0;
+
+	/**
+	 * Whether the detectors of {@link AccessMode#PER_SITE_PROPAGATION} are only
+	 * run inside the candidate passes given by the {@link GroundTrackScreening}.
+	 */
+	private boolean swathScreening = false;
+
+	/** Ground track screening shared by all the sites, built at first use. */
+	private GroundTrackScreening groundTrackScreening;
+
+	/**
+	 * Size of the cells of {@link SiteCellScreening}, relative to the footprint
+	 * half-angle of the sensor : the candidate passes of a cell are widened by at
+	 * most about this ratio.
+	 */
+	public static final double CELL_FOOTPRINT_RATIO = 0.25;
+
+	/**
+	 * Whether the candidate passes of the swath screening are shared by the sites
+	 * of a same geographic cell, see {@link SiteCellScreening}.
+	 */
+	private boolean cellScreening = false;
+
+	/** Cell screening of the mission sites, built at first use. */
+	private SiteCellScreening siteCellScreening;
+
+	/**
+	 * Access engine shared by all the sites in
+	 * {@link AccessMode#SINGLE_PROPAGATION} mode, built at first use.
+	 */
+	private AccessEngine accessEngine;
+
+	/**
+	 * Repeat cycle access computation shared by all the sites in
+	 * {@link AccessMode#REPEAT_CYCLE} mode, built at first use.
+	 */
+	private RepeatCycleAccess repeatCycleAccess;
+
+	/**
+	 * Number of threads used to compute the access plan. With a value of 1, the
+	 * sites are processed sequentially in the calling thread, otherwise a
+	 * work-stealing pool of this size computes the site access timelines
+	 * concurrently.
+	 */
+	private int accessParallelism = 1;
+
+	/**
+	 * Duration (s) of the time chunks into which the horizon of a site is split
+	 * in {@link AccessMode#PER_SITE_PROPAGATION} mode, the chunks being
+	 * propagated concurrently in the pool of the sites when the access
+	 * parallelism allows it. With a value of 0, the horizon is propagated at once.
+	 */
+	private double timePartitionDuration = 0.;
+
+	/**
+	 * Upper bound (s) of the adaptive max-check interval, reached far from the
+	 * constraint boundaries.
+	 */
+	public static final double ADAPTIVE_MAX_CHECK = 3600.0;
+
+	/**
+	 * Whether the detectors of {@link AccessMode#PER_SITE_PROPAGATION} adapt their
+	 * max-check interval to the distance to the constraint boundaries, see
+	 * {@link AdaptiveMaxCheckDetector}, instead of using {@link #MAXCHECK_EVENTS}.
+	 */
+	private boolean adaptiveMaxCheck = false;
+
+	/**
+	 * Whether the illumination windows of {@link AccessMode#PER_SITE_PROPAGATION}
+	 * are computed by the {@link IlluminationEngine} rather than by a detector
+	 * attached to the orbit propagation.
+	 */
+	private boolean analyticIllumination = false;
+
+	/** Illumination engine shared by all the sites, built at first use. */
+	private IlluminationEngine illuminationEngine;
+
+	/**
+	 * Whether the visibility detector of {@link AccessMode#PER_SITE_PROPAGATION}
+	 * is the closed-form {@link AnalyticVisibilityDetector} rather than a
+	 * {@link SensorVisibilityDetector} built on the satellite assembly.
+	 */
+	private boolean analyticVisibility = false;
+
+	/**
+	 * Whether the access windows of {@link AccessMode#PER_SITE_PROPAGATION} are
+	 * detected by a single {@link FusedAccessDetector} rather than by one
+	 * detector per constraint.
+	 */
+	private boolean fusedDetector = false;
+
+	/**
+	 * Whether the access windows of {@link AccessMode#SINGLE_PROPAGATION} are
+	 * first found with {@link #COARSE_TRESHOLD_EVENTS}, only the candidate windows
+	 * being then refined with {@link #TRESHOLD_EVENTS}.
+	 */
+	private boolean twoPhaseDetection = false;
+
+	/**
+	 * Minimum duration (s) of the computed access windows, the shorter ones being
+	 * dropped. The default value keeps all of them.
+	 */
+	private double minimumAccessDuration = 0.;
+
+	/**
+	 * Number of g-function evaluations of the constraint detectors, over all the
+	 * sites propagations.
+	 */
+	private final LongAdder detectorEvaluations = new LongAdder();
+
+	/**
+	 * Whether the visibility windows are computed first, the illumination and
+	 * dazzling constraints being then only evaluated inside them.
+	 */
+	private boolean constraintCascade = false;
+
+	/**
+	 * Fidelity of the pipeline : detector tolerances, observation candidates
+	 * sampling and VTS ephemerides resolution.
+	 */
+	private FidelityPreset fidelity = FidelityPreset.PRECISE;
+
+	/**
+	 * Score mass, relative to the planned score, below which the lazy planner
+	 * stops pulling sites, see {@link #computeLazyObservationPlan()}.
+	 */
+	private double lazyPlanningTolerance = 0.;
+
+	/**
+	 * This {@link Map} will be used to enumerate each site access {@link Timeline},
+	 * that is to say a {@link Timeline} with access windows respecting all
+	 * observation conditions. This object corresponds to the access plan, which
+	 * will be computed in the computeAccessPlan() method. It may be filled
+	 * concurrently, see {@link #setAccessParallelism(int)}.
+	 */
+	private final Map<Site, Timeline> accessPlan;
+
+	/**
+	 * Default directory of the serialized accesses, relative to the working
+	 * directory.
+	 */
+	public static final String ACCESS_DIRECTORY = "accesses";
+
+	/** Directory of the serialized accesses, see {@link #setAccessDirectory(File)}. */
+	private File accessDirectory = new File(ACCESS_DIRECTORY);
+
+	/** Access cache containers already opened, by file name. */
+	private final Map<String, AccessCacheContainer> accessCaches = new ConcurrentHashMap<>();
+
+	/**
+	 * This {@link Map} will be used to enumerate each site's programmed
+	 * observation. We suggest to use an {@link AttitudeLawLeg} to encapsulate the
+	 * guidance law of each observation. This object corresponds to the observation
+	 * plan, which will be computed in the computeObservationPlan() method.
+	 */
+	private final Map<Site, AttitudeLawLeg> observationPlan;
+
+	/**
+	 * {@link StrictAttitudeLegsSequence} representing the cinematic plan during the
+	 * whole mission horizon. Each {@link AttitudeLeg} corresponds to a diffrent
+	 * attitude law : either nadir pointing, target pointing or a slew between two
+	 * laws. This object corresponds to the cinematic plan, which will be computed
+	 * in the computeCinematicPlan() method.
+	 */
+	private final StrictAttitudeLegsSequence<AttitudeLeg> cinematicPlan;
+
+	/**
+	 * Constructor for the {@link CompleteMission} class.
+	 *
+	 * @param missionName   Name of the mission
+	 * @param numberOfSites Number of target {@link Site} to consider, please give a
+	 *                      number between 1 and 100.
+	 * @throws PatriusException      Can be raised by Patrius when building
+	 *                               particular objects. Here it comes from
+	 *                               {@link FramesFactory}
+	 * @throws IllegalStateException if the mission horizon is too short
+	 */
+	public CompleteMission(final String missionName, int numberOfSites) throws PatriusException {
+
+		// Since this class extends the SimpleMission class, we need to use the super
+		// constructor to instantiate our instance of CompleteMission. All the
+		// attributes of the super class will be instantiated during this step.
+		super(missionName, numberOfSites);
+
+		// Initialize the mission plans with empty maps. You will fill those HashMaps in
+		// the "compute****Plan()" methods. The access plan can be filled by several
+		// threads at once, hence the concurrent map.
+		this.accessPlan = new ConcurrentHashMap<>();
+		this.observationPlan = new HashMap<>();
+		this.cinematicPlan = new StrictAttitudeLegsSequence<>();
+
+	}
+
+	/**
+	 * A hash based on all the constants of the BE. This hash is unique and ensures
+	 * we get the right filename for a given {@link Site} and a given set of
+	 * {@link ConstantsBE} parameters. It is used in the names of the files
+	 * containing the serialized accesses for all {@link Site}.
+	 *
+	 */
+	private final static int hashConstantBE;
+
+	/**
+	 * [DO NOT MODIFY THIS METHOD]
+	 * 
+	 * This block of code is static, shared by all instances of CompleteMission. It
+	 * is executed only once when the class is first instantiated, to produce an
+	 * unique hash which encodes the whole constants of the BE in one single code.
+	 * You don't have to (and must not) modify this code if you want to benefit from
+	 * automatic serialization and reading of you access Timelines.
+	 */
+	static {
+		// Creating an unique hash code to be used for serialization
+		int hash = 17;
+
+		long doubleBits;
+		int doubleHash;
+
+		// The hash code depends from all the parameters from a given simulation : start
+		// and end date and all the ConstantBE values. We build a hashcode from all
+		// those values converting them as int
+
+		// Start and end dates
+		hash = 31 * hash + ConstantsBE.START_DATE.hashCode();
+		hash = 31 * hash + ConstantsBE.END_DATE.hashCode();
+
+		// ConstantBE values
+		double doubles[] = new double[] { ConstantsBE.ALTITUDE, ConstantsBE.INCLINATION, ConstantsBE.MEAN_ECCENTRICITY,
+				ConstantsBE.ASCENDING_NODE_LONGITUDE, ConstantsBE.POINTING_CAPACITY, ConstantsBE.SPACECRAFT_MASS,
+				ConstantsBE.MAX_SUN_INCIDENCE_ANGLE, ConstantsBE.MAX_SUN_PHASE_ANGLE, ConstantsBE.INTEGRATION_TIME,
+				ConstantsBE.POINTING_AGILITY_DURATIONS[0], ConstantsBE.POINTING_AGILITY_DURATIONS[1],
+				ConstantsBE.POINTING_AGILITY_DURATIONS[2], ConstantsBE.POINTING_AGILITY_DURATIONS[3],
+				ConstantsBE.POINTING_AGILITY_DURATIONS[4], ConstantsBE.POINTING_AGILITY_ROTATIONS[0],
+				ConstantsBE.POINTING_AGILITY_ROTATIONS[1], ConstantsBE.POINTING_AGILITY_ROTATIONS[2],
+				ConstantsBE.POINTING_AGILITY_ROTATIONS[3], ConstantsBE.POINTING_AGILITY_ROTATIONS[4], MAXCHECK_EVENTS,
+				TRESHOLD_EVENTS };
+		for (Double d : doubles) {
+			doubleBits = Double.doubleToLongBits(d);
+			doubleHash = (int) (doubleBits ^ (doubleBits >>> 32));
+			hash = 31 * hash + doubleHash;
+		}
+
+		// Finally assigning the current simulation hashConstantBE value
+		hashConstantBE = hash;
+	}
+
+	/**
+	 * The {@link ConstantsBE} values and detector tolerances hashed after the
+	 * start date in {@link #horizonFreeHashConstantBE} : the values hashed after
+	 * the dates in {@link #hashConstantBE}, in the same order.
+	 */
+	private static final double[] HASHED_CONSTANTS = new double[] { ConstantsBE.ALTITUDE, ConstantsBE.INCLINATION,
+			ConstantsBE.MEAN_ECCENTRICITY, ConstantsBE.ASCENDING_NODE_LONGITUDE, ConstantsBE.POINTING_CAPACITY,
+			ConstantsBE.SPACECRAFT_MASS, ConstantsBE.MAX_SUN_INCIDENCE_ANGLE, ConstantsBE.MAX_SUN_PHASE_ANGLE,
+			ConstantsBE.INTEGRATION_TIME, ConstantsBE.POINTING_AGILITY_DURATIONS[0],
+			ConstantsBE.POINTING_AGILITY_DURATIONS[1], ConstantsBE.POINTING_AGILITY_DURATIONS[2],
+			ConstantsBE.POINTING_AGILITY_DURATIONS[3], ConstantsBE.POINTING_AGILITY_DURATIONS[4],
+			ConstantsBE.POINTING_AGILITY_ROTATIONS[0], ConstantsBE.POINTING_AGILITY_ROTATIONS[1],
+			ConstantsBE.POINTING_AGILITY_ROTATIONS[2], ConstantsBE.POINTING_AGILITY_ROTATIONS[3],
+			ConstantsBE.POINTING_AGILITY_ROTATIONS[4], MAXCHECK_EVENTS, TRESHOLD_EVENTS };
+
+	/**
+	 * A hash of the same constants as {@link #hashConstantBE}, except the mission
+	 * end date. Access files sharing this hash have been computed with the same
+	 * orbit and constraints from the same start date : they only differ by their
+	 * horizon, which is given in their name (see
+	 * {@link #generateHorizonSerializationName(Site, double)}).
+	 */
+	private final static int horizonFreeHashConstantBE;
+
+	static {
+		int hash = 17;
+		hash = 31 * hash + ConstantsBE.START_DATE.hashCode();
+		for (final double d : HASHED_CONSTANTS) {
+			final long doubleBits = Double.doubleToLongBits(d);
+			hash = 31 * hash + (int) (doubleBits ^ (doubleBits >>> 32));
+		}
+		horizonFreeHashConstantBE = hash;
+	}
+
+	/**
+	 * This method should compute the input {@link Site}'s access {@link Timeline}.
+	 * That is to say the {@link Timeline} which contains all the {@link Phenomenon}
+	 * respecting the access conditions for this site : good visibility + corrrect
+	 * illumination of the {@link Site}.
+	 * 
+	 * For that, we suggest you create as many {@link Timeline} as you need and
+	 * combine them with logical gates to filter only the access windows phenomenon.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @return The {@link Timeline} of all the access {@link Phenomenon} for the
+	 *         input {@link Site}.
+	 * @throws PatriusException If a {@link PatriusException} occurs.
+	 */
+	public Timeline createSiteAccessTimeline(Site targetSite) throws PatriusException {
+		return createSiteAccessTimeline(targetSite, new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()));
+	}
+
+	/**
+	 * Compute the input {@link Site}'s access {@link Timeline} over a part of the
+	 * mission horizon.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @param horizon    Time interval to cover, inside the mission horizon
+	 * @return The {@link Timeline} of all the access {@link Phenomenon} for the
+	 *         input {@link Site}, clipped to the interval.
+	 * @throws PatriusException If a {@link PatriusException} occurs.
+	 */
+	public Timeline createSiteAccessTimeline(Site targetSite, AbsoluteDateInterval horizon)
+			throws PatriusException {
+		
+		final IntervalSet accessWindows;
+		if (this.accessMode == AccessMode.SINGLE_PROPAGATION) {
+			// Computing the windows of the 3 constraints from the shared trajectory, then
+			// applying the access criteria
+			final AccessEngine engine = getAccessEngine();
+			if (this.twoPhaseDetection) {
+				accessWindows = computeTwoPhaseAccessWindows(engine, targetSite, horizon);
+			} else {
+				final IntervalSet visibility = engine.computeConstraintWindows(targetSite,
+						AccessConstraint.VISIBILITY, horizon);
+				if (this.constraintCascade) {
+					// The other constraints only matter while the site is visible
+					accessWindows = combineAccessCriteria(visibility,
+							engine.computeConstraintWindows(targetSite, AccessConstraint.ILLUMINATION, visibility),
+							engine.computeConstraintWindows(targetSite, AccessConstraint.DAZZLING, visibility),
+							horizon);
+				} else {
+					accessWindows = combineAccessCriteria(visibility,
+							engine.computeConstraintWindows(targetSite, AccessConstraint.ILLUMINATION, horizon),
+							engine.computeConstraintWindows(targetSite, AccessConstraint.DAZZLING, horizon),
+							horizon);
+				}
+			}
+		} else if (this.accessMode == AccessMode.REPEAT_CYCLE) {
+			// Shifting the visibility of the previous repeat cycles, then re-checking the
+			// Sun-dependent constraints
+			accessWindows = getRepeatCycleAccess().computeAccessWindows(targetSite, horizon);
+		} else if (this.swathScreening || this.cellScreening) {
+			// The satellite can only see the site during the candidate passes given by
+			// the ground track, of the site or of its cell : the detectors are run only
+			// inside those passes, and the access windows of all the passes are gathered
+			final List<AbsoluteDateInterval> passes = this.cellScreening
+					? getSiteCellScreening().computeCandidateIntervals(targetSite)
+					: getGroundTrackScreening().computeCandidateIntervals(targetSite);
+			IntervalSet passesWindows = IntervalSet.EMPTY;
+			for (final AbsoluteDateInterval pass : passes) {
+				// Clipping the pass to the interval
+				if (pass.getUpperData().compareTo(horizon.getLowerData()) <= 0
+						|| pass.getLowerData().compareTo(horizon.getUpperData()) >= 0) {
+					continue;
+				}
+				final AbsoluteDateInterval candidate = new AbsoluteDateInterval(
+						pass.getLowerData().compareTo(horizon.getLowerData()) > 0 ? pass.getLowerData()
+								: horizon.getLowerData(),
+						pass.getUpperData().compareTo(horizon.getUpperData()) < 0 ? pass.getUpperData()
+								: horizon.getUpperData());
+				passesWindows = passesWindows.or(computeAccessWindows(targetSite, candidate));
+			}
+			accessWindows = passesWindows;
+		} else {
+			accessWindows = computePartitionedAccessWindows(targetSite, horizon);
+		}
+		
+		// Converting the access windows to a timeline only once they are combined and
+		// filtered
+		final Timeline siteAccessTimeline = filterShortWindows(accessWindows, horizon)
+				.toTimeline(this.getStartDate(), horizon, ACCESS_CODE, ACCESS_COMMENT);
+		
+		// We log the final access timeline associated to the current target
+		logger.info("\n" + targetSite.getName());
+		ProjectUtils.printTimeline(siteAccessTimeline);
+
+		return siteAccessTimeline;
+	}
+	
+	/**
+	 * Compute the access windows of the input {@link Site} over an interval split
+	 * into time chunks of {@link #getTimePartitionDuration()}.
+	 * 
+	 * The orbit is analytical : each chunk starts from the satellite state at its
+	 * beginning, and the phenomena already active then are kept (see
+	 * {@link #createSiteGlobalTimeline(Site, AbsoluteDateInterval, Set)}). A
+	 * window straddling a chunk boundary is thus split into two windows touching
+	 * at the boundary, merged back by the union of the chunks windows.
+	 * 
+	 * When the access plan is computed in parallel, the chunks are forked in the
+	 * pool of the sites. Otherwise they are computed in turn in the calling
+	 * thread, which never hands them to the common pool.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @param interval   Time interval to cover
+	 * @return The access windows, as offsets from the mission start
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          propagation of a chunk
+	 */
+	private IntervalSet computePartitionedAccessWindows(Site targetSite, AbsoluteDateInterval interval)
+			throws PatriusException {
+		if (this.timePartitionDuration <= 0. || interval.getDuration() <= this.timePartitionDuration) {
+			return computeAccessWindows(targetSite, interval);
+		}
+		
+		// One chunk per time partition, the last one being possibly shorter
+		final List<AbsoluteDateInterval> chunks = new ArrayList<>();
+		AbsoluteDate chunkStart = interval.getLowerData();
+		while (chunkStart.compareTo(interval.getUpperData()) < 0) {
+			final AbsoluteDate shiftedEnd = chunkStart.shiftedBy(this.timePartitionDuration);
+			final AbsoluteDateInterval chunk = new AbsoluteDateInterval(chunkStart,
+					shiftedEnd.compareTo(interval.getUpperData()) < 0 ? shiftedEnd : interval.getUpperData());
+			chunks.add(chunk);
+			chunkStart = chunk.getUpperData();
+		}
+		
+		IntervalSet windows = IntervalSet.EMPTY;
+		if (this.accessParallelism <= 1 || !ForkJoinTask.inForkJoinPool()) {
+			// Sequential computation : the chunks in turn, in the calling thread
+			for (final AbsoluteDateInterval chunk : chunks) {
+				windows = windows.or(computeAccessWindows(targetSite, chunk));
+			}
+			return windows;
+		}
+		
+		// One task per chunk, forked in the pool of the sites
+		final List<ForkJoinTask<IntervalSet>> tasks = new ArrayList<>();
+		for (final AbsoluteDateInterval chunk : chunks) {
+			tasks.add(ForkJoinTask.adapt(() -> computeAccessWindows(targetSite, chunk)));
+		}
+		
+		// Gathering the windows of the chunks, rethrowing the first failure
+		try {
+			ForkJoinTask.invokeAll(tasks);
+			for (final ForkJoinTask<IntervalSet> task : tasks) {
+				windows = windows.or(task.join());
+			}
+		} catch (RuntimeException e) {
+			if (e.getCause() instanceof PatriusException) {
+				throw (PatriusException) e.getCause();
+			}
+			throw e;
+		}
+		return windows;
+	}
+
+	/**
+	 * Compute the access windows of the input {@link Site} with the access engine
+	 * in two phases.
+	 * 
+	 * The constraints windows are first found with the coarse threshold : each
+	 * of their boundaries is then within {@link #COARSE_TRESHOLD_EVENTS} of the
+	 * exact one, the sign changes being the ones seen on the engine grid whatever
+	 * the threshold. Widening the visibility, illumination and no dazzling windows
+	 * by this threshold before combining them thus gives candidate windows
+	 * containing all the exact access windows. The candidates too short to hold
+	 * an access window of the minimum duration are dropped, and the constraints
+	 * are only refined with {@link #TRESHOLD_EVENTS} inside the remaining ones :
+	 * the crossings discarded by the logical gates or by the duration filter are
+	 * never refined at full precision. The kept crossings are refined from their
+	 * coarse bracket, within {@link #COARSE_TRESHOLD_EVENTS} of the coarse one,
+	 * and not again from their grid cell.
+	 * 
+	 * @param engine     Access engine
+	 * @param targetSite Input target {@link Site}
+	 * @param horizon    Time interval to cover
+	 * @return The access windows, as offsets from the mission start
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	private IntervalSet computeTwoPhaseAccessWindows(AccessEngine engine, Site targetSite,
+			AbsoluteDateInterval horizon) throws PatriusException {
+		final double lower = horizon.getLowerData().durationFrom(this.getStartDate());
+		final double upper = horizon.getUpperData().durationFrom(this.getStartDate());
+		final IntervalSet domain = IntervalSet.fromWindows(Collections.singletonList(new double[] { lower, upper }));
+		
+		// First phase : coarse windows of the constraints
+		final IntervalSet coarseVisibility = engine.computeConstraintWindows(targetSite,
+				AccessConstraint.VISIBILITY, domain, COARSE_TRESHOLD_EVENTS);
+		final IntervalSet coarseIllumination = engine.computeConstraintWindows(targetSite,
+				AccessConstraint.ILLUMINATION, domain, COARSE_TRESHOLD_EVENTS);
+		final IntervalSet coarseDazzling = engine.computeConstraintWindows(targetSite, AccessConstraint.DAZZLING,
+				domain, COARSE_TRESHOLD_EVENTS);
+		
+		// Candidate windows, containing the exact access windows
+		final IntervalSet candidates = filterShortWindows(coarseVisibility.dilate(COARSE_TRESHOLD_EVENTS)
+				.and(coarseIllumination.dilate(COARSE_TRESHOLD_EVENTS))
+				.and(coarseDazzling.not(lower, upper).dilate(COARSE_TRESHOLD_EVENTS)).and(domain), horizon);
+		
+		// Second phase : precise windows inside the candidates only, seeded with the
+		// coarse brackets. Outside of the candidates, the visibility and illumination
+		// windows are empty, so are the accesses.
+		return combineAccessCriteria(
+				engine.refineConstraintWindows(targetSite, AccessConstraint.VISIBILITY, coarseVisibility,
+						COARSE_TRESHOLD_EVENTS, lower, upper, candidates),
+				engine.refineConstraintWindows(targetSite, AccessConstraint.ILLUMINATION, coarseIllumination,
+						COARSE_TRESHOLD_EVENTS, lower, upper, candidates),
+				engine.refineConstraintWindows(targetSite, AccessConstraint.DAZZLING, coarseDazzling,
+						COARSE_TRESHOLD_EVENTS, lower, upper, candidates),
+				horizon);
+	}
+
+	/**
+	 * Drop the windows shorter than the minimum access duration. The windows
+	 * reaching a bound of the interval are kept, since they may continue outside
+	 * of it (see {@link #stitchTimelines(Timeline, Timeline, AbsoluteDate)}).
+	 * 
+	 * @param windows  Windows, as offsets from the mission start
+	 * @param interval Time interval covered by the windows
+	 * @return The windows lasting at least the minimum access duration
+	 */
+	private IntervalSet filterShortWindows(IntervalSet windows, AbsoluteDateInterval interval) {
+		if (this.minimumAccessDuration <= 0.) {
+			return windows;
+		}
+		final double lower = interval.getLowerData().durationFrom(this.getStartDate());
+		final double upper = interval.getUpperData().durationFrom(this.getStartDate());
+		final List<double[]> kept = new ArrayList<>();
+		for (int i = 0; i < windows.size(); i++) {
+			if (windows.getEnd(i) - windows.getStart(i) >= this.minimumAccessDuration || windows.getStart(i) <= lower
+					|| windows.getEnd(i) >= upper) {
+				kept.add(new double[] { windows.getStart(i), windows.getEnd(i) });
+			}
+		}
+		return IntervalSet.fromWindows(kept);
+	}
+
+	/**
+	 * Compute the access windows of the input {@link Site} over an interval by
+	 * propagating the orbit with the constraint detectors.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @param interval   Time interval to cover
+	 * @return The access windows, as offsets from the mission start
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          propagation
+	 */
+	private IntervalSet computeAccessWindows(Site targetSite, AbsoluteDateInterval interval)
+			throws PatriusException {
+		if (this.fusedDetector) {
+			// The fused detector gives the access windows edges directly
+			return IntervalSet.fromTimeline(createSiteFusedTimeline(targetSite, interval), ACCESS_CODE,
+					this.getStartDate());
+		}
+		if (!this.constraintCascade) {
+			// Creating the global timeline, which takes into account the 3 constraints,
+			// then applying the access criteria
+			return applyAccessCriteria(createSiteGlobalTimeline(targetSite, interval), interval);
+		}
+		
+		// Propagating with the visibility detector alone first
+		final AbsoluteDate origin = this.getStartDate();
+		final IntervalSet visibility = IntervalSet.fromTimeline(
+				createSiteGlobalTimeline(targetSite, interval, EnumSet.of(AccessConstraint.VISIBILITY)),
+				AccessConstraint.VISIBILITY.getCode(), origin);
+		
+		// Then evaluating the illumination and dazzling only inside the visibility
+		// windows : outside of them, the access criteria are false whatever their
+		// value. The detectors are started at the beginning of each window with the
+		// state of the satellite at this date, so they find the same events.
+		IntervalSet illumination = IntervalSet.EMPTY;
+		IntervalSet dazzling = IntervalSet.EMPTY;
+		for (int i = 0; i < visibility.size(); i++) {
+			final AbsoluteDateInterval window = new AbsoluteDateInterval(origin.shiftedBy(visibility.getStart(i)),
+					origin.shiftedBy(visibility.getEnd(i)));
+			final Timeline windowTimeline = createSiteGlobalTimeline(targetSite, window,
+					EnumSet.of(AccessConstraint.ILLUMINATION, AccessConstraint.DAZZLING));
+			illumination = illumination.or(
+					IntervalSet.fromTimeline(windowTimeline, AccessConstraint.ILLUMINATION.getCode(), origin));
+			dazzling = dazzling
+					.or(IntervalSet.fromTimeline(windowTimeline, AccessConstraint.DAZZLING.getCode(), origin));
+		}
+		return combineAccessCriteria(visibility, illumination, dazzling, interval);
+	}
+
+	/**
+	 * Record the threshold-agnostic {@link AccessProfile} of the input
+	 * {@link Site} over the mission horizon, from the trajectory shared by the
+	 * {@link AccessEngine}.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @return The {@link AccessProfile} of the site
+	 * @throws PatriusException If a {@link PatriusException} occurs.
+	 */
+	public AccessProfile createSiteAccessProfile(Site targetSite) throws PatriusException {
+		return getAccessEngine().computeAccessProfile(targetSite, PROFILE_STEP);
+	}
+
+	/**
+	 * Extract the access {@link Timeline} of a {@link Site} from its
+	 * {@link AccessProfile} for a set of thresholds, without any propagation.
+	 * With the {@link ConstantsBE} thresholds, the windows are the ones of
+	 * {@link #createSiteAccessTimeline(Site)} within the profile interpolation
+	 * accuracy.
+	 * 
+	 * @param profile          {@link AccessProfile} of the site, see
+	 *                         {@link #createSiteAccessProfile(Site)}
+	 * @param pointingCapacity Pointing capacity of the satellite (rad)
+	 * @param maxSunIncidence  Maximum Sun incidence angle (rad)
+	 * @param maxSunPhase      Maximum Sun phase angle (rad)
+	 * @return The {@link Timeline} of all the access {@link Phenomenon} for these
+	 *         thresholds.
+	 * @throws PatriusException If the {@link Timeline} cannot be built.
+	 */
+	public Timeline createSiteAccessTimeline(AccessProfile profile, double pointingCapacity,
+			double maxSunIncidence, double maxSunPhase) throws PatriusException {
+		return profile.extractWindows(pointingCapacity, maxSunIncidence, maxSunPhase).toTimeline(
+				this.getStartDate(), new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()), ACCESS_CODE,
+				ACCESS_COMMENT);
+	}
+
+	/**
+	 * Compute the access {@link Timeline} of the input {@link Site} over the input
+	 * interval with a single {@link FusedAccessDetector} attached to the
+	 * propagator.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @param interval   Time interval over which the orbit is propagated
+	 * @return The {@link Timeline} of the access {@link Phenomenon}
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          propagation
+	 */
+	private Timeline createSiteFusedTimeline(Site targetSite, AbsoluteDateInterval interval)
+			throws PatriusException {
+		final KeplerianPropagator localPropagator = this.createDefaultPropagator();
+		final SpacecraftState initialState = interval.getLowerData().compareTo(this.getStartDate()) > 0
+				? localPropagator.propagate(interval.getLowerData())
+				: null;
+		
+		// Creating the fused detector and monitoring it with the logger : the
+		// monitored detector is the only one attached to the propagator
+		final FusedAccessDetector fusedAccessDetector = new FusedAccessDetector(
+				new AccessGeometry(targetSite, this.getEarth()), this.getSunEphemeris(),
+				this.getEarth().getBodyFrame(), this.fidelity.getMaxCheck(), this.fidelity.getThreshold());
+		final GenericCodingEventDetector codingEventAccessDetector = new GenericCodingEventDetector(
+				fusedAccessDetector, "Start of " + ACCESS_CODE, "End of " + ACCESS_CODE, true, ACCESS_CODE);
+		final CodedEventsLogger eventAccessLogger = new CodedEventsLogger();
+		localPropagator.addEventDetector(eventAccessLogger.monitorDetector(codingEventAccessDetector));
+		
+		localPropagator.propagate(interval.getLowerData(), interval.getUpperData());
+		return new Timeline(eventAccessLogger, interval, initialState);
+	}
+
+	/**
+	 * Compute the per-constraint {@link Timeline} of the input {@link Site} over
+	 * the mission horizon, gathering the visibility, illumination and dazzling
+	 * phenomena. It is meant for diagnostics, for instance to find which
+	 * constraint limits the accesses found with the {@link FusedAccessDetector}.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @return The {@link Timeline} containing the {@link Phenomenon} of the 3
+	 *         constraints
+	 * @throws PatriusException If a {@link PatriusException} occurs.
+	 */
+	public Timeline createSiteConstraintsTimeline(Site targetSite) throws PatriusException {
+		return createSiteGlobalTimeline(targetSite, new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()));
+	}
+
+	/**
+	 * Combine the phenomena of a global {@link Timeline} (see
+	 * {@link #createSiteGlobalTimeline(Site, AbsoluteDateInterval)}) with logical
+	 * gates, to keep only the access windows.
+	 * 
+	 * @param siteGlobalTimeline Global {@link Timeline} of a site
+	 * @param interval           Time interval covered by the {@link Timeline}
+	 * @return The access windows, as offsets from the mission start
+	 */
+	private IntervalSet applyAccessCriteria(Timeline siteGlobalTimeline, AbsoluteDateInterval interval) {
+		final AbsoluteDate origin = this.getStartDate();
+		return combineAccessCriteria(
+				IntervalSet.fromTimeline(siteGlobalTimeline, AccessConstraint.VISIBILITY.getCode(), origin),
+				IntervalSet.fromTimeline(siteGlobalTimeline, AccessConstraint.ILLUMINATION.getCode(), origin),
+				IntervalSet.fromTimeline(siteGlobalTimeline, AccessConstraint.DAZZLING.getCode(), origin), interval);
+	}
+
+	/**
+	 * Combine the windows of the 3 constraints : the access windows are the ones
+	 * with satellite visibility and illumination and no dazzling.
+	 * 
+	 * @param visibility   Visibility windows
+	 * @param illumination Illumination windows
+	 * @param dazzling     Dazzling windows
+	 * @param interval     Time interval covered by the windows
+	 * @return The access windows, as offsets from the mission start
+	 */
+	private IntervalSet combineAccessCriteria(IntervalSet visibility, IntervalSet illumination,
+			IntervalSet dazzling, AbsoluteDateInterval interval) {
+		// No dazzling : complement of the dazzling windows over the interval
+		final IntervalSet noDazzling = dazzling.not(interval.getLowerData().durationFrom(this.getStartDate()),
+				interval.getUpperData().durationFrom(this.getStartDate()));
+
+		// Satellite visibility and illumination and no dazzling
+		return visibility.and(illumination).and(noDazzling);
+	}
+	
+	/**
+	 * This method compute a {@link Timeline} object which encapsulates all
+	 * the {@link Phenomenon} corresponding to the following phenomena : 
+	 * satellite visibility, illumination and dazzling, relative to
+	 * the input target {@link Site}, over the input interval.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @param interval   Time interval over which the orbit is propagated
+	 * @return The {@link Timeline} containing all the {@link Phenomenon} relative
+	 *         to these 3 phenomena.
+	 * @throws PatriusException If a {@link PatriusException} occurs when creating
+	 *                          the {@link Timeline}.
+	 */
+	private Timeline createSiteGlobalTimeline(Site targetSite, AbsoluteDateInterval interval)
+			throws PatriusException {
+		return createSiteGlobalTimeline(targetSite, interval, EnumSet.allOf(AccessConstraint.class));
+	}
+
+	/**
+	 * Compute the {@link Timeline} of the phenomena of some of the constraints,
+	 * relative to the input target {@link Site}, over the input interval. Only
+	 * the detectors of these constraints are attached to the propagator.
+	 * 
+	 * @param targetSite  Input target {@link Site}
+	 * @param interval    Time interval over which the orbit is propagated
+	 * @param constraints Constraints whose phenomena are computed
+	 * @return The {@link Timeline} containing the {@link Phenomenon} of the
+	 *         constraints.
+	 * @throws PatriusException If a {@link PatriusException} occurs when creating
+	 *                          the {@link Timeline}.
+	 */
+	private Timeline createSiteGlobalTimeline(Site targetSite, AbsoluteDateInterval interval,
+			Set<AccessConstraint> constraints) throws PatriusException {
+		/**
+		 * We decided to directly calculate a global timeline which encapsulates the 3 phenomena, 
+		 * in order to propagate only once per Site, with the three detectors attached to the 
+		 * propagator. We did this to gain computation time.
+		 */
+		
+		// Taking a new local propagator for the site, in order to gain computation time.
+		final KeplerianPropagator localPropagator = this.createDefaultPropagator();
+		
+		// When the interval starts after the mission start, the phenomena already
+		// active at its beginning have no starting event : the state at the beginning of
+		// the interval is given to the timelines so that they are not lost
+		final SpacecraftState initialState = interval.getLowerData().compareTo(this.getStartDate()) > 0
+				? localPropagator.propagate(interval.getLowerData())
+				: null;
+		
+		// Detectors whose max-check interval adapts to the geometry, if enabled
+		final List<AdaptiveMaxCheckDetector> adaptiveDetectors = new ArrayList<>();
+		
+		// Each detector is registered once in the pipeline, which codes its events
+		// and feeds them to its logger
+		final AccessDetectorPipeline pipeline = new AccessDetectorPipeline(this.detectorEvaluations);
+		
+		//////////////////// VISIBILITY DETECTOR ///////////////////////////////
+		
+		if (constraints.contains(AccessConstraint.VISIBILITY)) {
+			// Creating the visibility detector and registering it
+			pipeline.register(AccessConstraint.VISIBILITY,
+					withAdaptiveMaxCheck(createConstraintVisibilityDetector(targetSite), targetSite,
+							AccessConstraint.VISIBILITY, adaptiveDetectors));
+		}
+		
+		//////////////////// ILLUMINATION DETECTOR ///////////////////////////////
+		
+		// By default the illumination detector is attached to the propagator. The
+		// illumination does not depend on the satellite : with the analytic illumination
+		// flag, its windows are given by the illumination engine instead, and no
+		// detector is attached.
+		if (constraints.contains(AccessConstraint.ILLUMINATION) && !this.analyticIllumination) {
+			// Creating the illumination detector and registering it
+			pipeline.register(AccessConstraint.ILLUMINATION,
+					withAdaptiveMaxCheck(createConstraintIlluminationDetector(targetSite), targetSite,
+							AccessConstraint.ILLUMINATION, adaptiveDetectors));
+		}
+
+		//////////////////// DAZZLING DETECTOR ///////////////////////////////
+		
+		if (constraints.contains(AccessConstraint.DAZZLING)) {
+			// Creating the dazzling detector and registering it
+			pipeline.register(AccessConstraint.DAZZLING,
+					withAdaptiveMaxCheck(createConstraintDazzlingDetector(targetSite), targetSite,
+							AccessConstraint.DAZZLING, adaptiveDetectors));
+		}
+
+		//////////////////// ORBIT PROPAGATION ///////////////////////////////
+		// Now, the local propagator is configured with all the detectors and loggers. So we can propagate.
+		
+		// Finally propagating the orbit
+		pipeline.attachTo(localPropagator);
+		propagate(localPropagator, interval, adaptiveDetectors);
+		
+		//////////////////// CREATION OF THE 3 TIMELINES ///////////////////////////////
+		
+		// Creating the first timeline, which corresponds to the visibility phenomenon
+		final Timeline timelineVisibility = pipeline.createTimeline(AccessConstraint.VISIBILITY, interval,
+				initialState);
+		
+		// Creating the second timeline, which corresponds to the illumination phenomenon
+		// (left empty when the illumination is not requested)
+		final Timeline timelineIllumination = constraints.contains(AccessConstraint.ILLUMINATION)
+				&& this.analyticIllumination ? createIlluminationTimeline(targetSite, interval)
+						: pipeline.createTimeline(AccessConstraint.ILLUMINATION, interval, initialState);
+		
+		// Creating the third timeline, which corresponds to the dazzling phenomenon
+		final Timeline timelineDazzling = pipeline.createTimeline(AccessConstraint.DAZZLING, interval,
+				initialState);
+		
+		///////////////////// CREATION OF THE GLOBAL TIMELINE /////////////////////////
+		// The idea is to create a global timeline concatenating the 3 timelines.
+
+		// Creating the global timeline
+		final Timeline siteAccessTimeline = new Timeline(interval);
+		
+		// Adding the phenomena of all the considered timelines
+		for (final Phenomenon phenom : timelineVisibility.getPhenomenaList()) {
+			siteAccessTimeline.addPhenomenon(phenom);
+		}
+		for (final Phenomenon phenom : timelineIllumination.getPhenomenaList()) {
+			siteAccessTimeline.addPhenomenon(phenom);
+		}
+		for (final Phenomenon phenom : timelineDazzling.getPhenomenaList()) {
+			siteAccessTimeline.addPhenomenon(phenom); 
+		} 
+
+		return siteAccessTimeline;
+
+	}
+	
+	/**
+	 * Create the illumination {@link Timeline} of the input {@link Site} from the
+	 * windows of the {@link IlluminationEngine}, without any propagation.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @param interval   Time interval of the {@link Timeline}
+	 * @return The {@link Timeline} containing the illumination {@link Phenomenon}
+	 * @throws PatriusException If the illumination windows cannot be computed
+	 */
+	private Timeline createIlluminationTimeline(Site targetSite, AbsoluteDateInterval interval)
+			throws PatriusException {
+		final Timeline timelineIllumination = new Timeline(interval);
+		final String comment = "Computed by the illumination engine";
+		for (final AbsoluteDateInterval window : getIlluminationEngine().computeIlluminationIntervals(targetSite,
+				interval)) {
+			final CodedEvent start = new CodedEvent(AccessConstraint.ILLUMINATION.getStartCode(), comment,
+					window.getLowerData(), true);
+			final CodedEvent end = new CodedEvent(AccessConstraint.ILLUMINATION.getEndCode(), comment,
+					window.getUpperData(), false);
+			timelineIllumination.addPhenomenon(
+					new Phenomenon(start, true, end, true, AccessConstraint.ILLUMINATION.getCode(), comment));
+		}
+		return timelineIllumination;
+	}
+	
+	/**
+	 * Wrap a constraint detector in an {@link AdaptiveMaxCheckDetector} when the
+	 * adaptive max-check interval is enabled.
+	 * 
+	 * @param detector          Constraint detector
+	 * @param targetSite        Input target {@link Site}
+	 * @param constraint        Constraint monitored by the detector
+	 * @param adaptiveDetectors List to which the created wrapper is added
+	 * @return The wrapper, or the input detector if the adaptive max-check
+	 *         interval is disabled
+	 * @throws PatriusException If the site geometry cannot be computed
+	 */
+	private EventDetector withAdaptiveMaxCheck(EventDetector detector, Site targetSite,
+			AccessConstraint constraint, List<AdaptiveMaxCheckDetector> adaptiveDetectors) throws PatriusException {
+		if (!this.adaptiveMaxCheck) {
+			return detector;
+		}
+		final AdaptiveMaxCheckDetector adaptiveDetector = new AdaptiveMaxCheckDetector(detector,
+				new AccessGeometry(targetSite, this.getEarth()), constraint, this.getSunEphemeris(),
+				this.getEarth().getBodyFrame(), this.fidelity.getMaxCheck(), this.fidelity.getMaxCheck(),
+				ADAPTIVE_MAX_CHECK);
+		adaptiveDetectors.add(adaptiveDetector);
+		return adaptiveDetector;
+	}
+
+	/**
+	 * Propagate the orbit over the input interval with the detectors attached.
+	 * 
+	 * The propagator only reads the max-check intervals of the detectors when a
+	 * propagation starts. With adaptive detectors, the interval is thus covered by
+	 * successive propagations, each one as long as the smallest adaptive max-check
+	 * interval computed at its beginning : the detectors take one step per
+	 * propagation, long when far from their events.
+	 * 
+	 * Each propagation initializes the detectors again and evaluates them at both
+	 * ends of its step, that is to say twice per step instead of once. The
+	 * adaptive intervals are therefore never shorter than the fixed max-check
+	 * interval of the fidelity preset, which the root finding already refines
+	 * near the events : there are never more propagations than fixed steps, so the
+	 * overhead is bounded by twice the fixed evaluations, and far from the events
+	 * one propagation replaces up to {@link #ADAPTIVE_MAX_CHECK} divided by the
+	 * fixed interval steps.
+	 * 
+	 * @param localPropagator   Propagator with the detectors attached
+	 * @param interval          Time interval to cover
+	 * @param adaptiveDetectors Adaptive detectors attached to the propagator, empty
+	 *                          to propagate with the fixed max-check interval
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          propagation
+	 */
+	private void propagate(KeplerianPropagator localPropagator, AbsoluteDateInterval interval,
+			List<AdaptiveMaxCheckDetector> adaptiveDetectors) throws PatriusException {
+		if (adaptiveDetectors.isEmpty()) {
+			localPropagator.propagate(interval.getLowerData(), interval.getUpperData());
+			return;
+		}
+		AbsoluteDate segmentStart = interval.getLowerData();
+		while (segmentStart.compareTo(interval.getUpperData()) < 0) {
+			// The segment must not step over the closest constraint boundary
+			double segment = Double.POSITIVE_INFINITY;
+			for (final AdaptiveMaxCheckDetector detector : adaptiveDetectors) {
+				segment = MathLib.min(segment, detector.getMaxCheckInterval());
+			}
+			AbsoluteDate segmentEnd = segmentStart.shiftedBy(segment);
+			if (segmentEnd.compareTo(interval.getUpperData()) > 0) {
+				segmentEnd = interval.getUpperData();
+			}
+			localPropagator.propagate(segmentStart, segmentEnd);
+			segmentStart = segmentEnd;
+		}
+	}
+	
+	/**
+	 * Create an adapted instance of {@link EventDetector} for monitoring 
+	 * the events defined by the visibility constraint, for the input 
+	 * target site.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @return An {@link EventDetector} answering the visibility constraint.
+	 * @throws PatriusException If the site-local {@link Satellite} cannot be
+	 *                          built.
+	 */
+	private EventDetector createConstraintVisibilityDetector(Site targetSite) throws PatriusException {
+		
+		// The closed-form detector gives the same windows without the sensor model
+		if (this.analyticVisibility) {
+			return new AnalyticVisibilityDetector(new AccessGeometry(targetSite, this.getEarth()),
+					this.getEarth().getBodyFrame(), this.fidelity.getMaxCheck(), this.fidelity.getThreshold());
+		}
+		
+		// Creating a sensor model by using the sensor of a site-local copy of the
+		// satellite. The sensor model moves the assembly frames along the propagation,
+		// so sharing the mission assembly between sites computed concurrently would
+		// corrupt their geometry.
+		final Satellite localSatellite = new Satellite(this, this.getSatellite().getName(),
+				this.getSatellite().getInitialOrbit());
+		SensorModel sensorModel = new SensorModel(localSatellite.getAssembly(), Satellite.SENSOR_NAME);
+		
+		// Adding the earth as a masking body to the sensor model
+		sensorModel.addMaskingCelestialBody(this.getEarth());
+		
+		// Defining the target by creating a PVCoordinatesProvider and a radius
+		PVCoordinatesProvider target = new TopocentricFrame(this.getEarth(), targetSite.getPoint(),targetSite.getName());
+		LocalRadiusProvider radius = new ConstantRadiusProvider(0); // radius of 0 because we consider the target as a point.
+		
+		// Adding the target to the sensor model.
+		sensorModel.setMainTarget(target, radius);
+		
+		// Creating the event visibility detector for the associated target, by using the sensor model.
+		EventDetector visibilityDetector = new SensorVisibilityDetector(sensorModel, this.fidelity.getMaxCheck(),
+				this.fidelity.getThreshold(), EventDetector.Action.CONTINUE, EventDetector.Action.CONTINUE);
+
+		return visibilityDetector;
+	}
+	
+	/**
+	 * Create an adapted instance of {@link EventDetector} for monitoring 
+	 * the events defined by the illumination constraint, for the input 
+	 * target site.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @return An {@link EventDetector} answering the illumination constraint.
+	 * @throws PatriusException If the Sun ephemeris cannot be built.
+	 */
+	private EventDetector createConstraintIlluminationDetector(Site targetSite) throws PatriusException {
+		
+		// Defining the target as a PVCoordinatesProvider
+		PVCoordinatesProvider target = new TopocentricFrame(this.getEarth(), targetSite.getPoint(),targetSite.getName());
+		
+		// Creating the illumination detector for the associated target. The angle to consider is the one between the
+		// target zenith and the direction target-->sun (sun incidence angle). By taking in input the Earth, the target 
+		// and the Sun (from its tabulated ephemeris) as we did, the calculated angle is the one between the opposite of the zenith and the direction 
+		// target--sun. That's why we compare it with 180 minus the sun incidence angle.
+		EventDetector illuminationDetector = new ThreeBodiesAngleDetector(this.getEarth(), target ,
+				this.getSunEphemeris(), MathLib.toRadians(180-ConstantsBE.MAX_SUN_INCIDENCE_ANGLE), this.fidelity.getMaxCheck(), 
+				this.fidelity.getThreshold(), EventDetector.Action.CONTINUE );
+		
+		return illuminationDetector;
+	}
+	
+	/**
+	 * Create an adapted instance of {@link EventDetector} for monitoring 
+	 * the events defined by the dazzling, for the input target site.
+	 * 
+	 * @param targetSite Input target {@link Site}
+	 * @return An {@link EventDetector} detecting the dazzling.
+	 * @throws PatriusException If the satellite position provider cannot be
+	 *                          created.
+	 */
+	private EventDetector createConstraintDazzlingDetector(Site targetSite) throws PatriusException {
+		
+		// Defining the target as a PVCoordinatesProvider
+		PVCoordinatesProvider target = new TopocentricFrame(this.getEarth(), targetSite.getPoint(),targetSite.getName());
+		
+		// Creating the dazzling detector for the associated target. The angle to consider is the one between the
+		// direction target-->satellite and the direction target--sun (sun phase angle). By taking in input the 
+		// satellite, the target and the sun, the calculated angle is also the sun phase angle, so we can compare
+		// them. The satellite position comes from the shared ephemeris, which is thread-safe.
+		EventDetector dazzlingDetector = new ThreeBodiesAngleDetector(this.getEphemeris(), target, 
+				this.getSunEphemeris(), MathLib.toRadians(ConstantsBE.MAX_SUN_PHASE_ANGLE), this.fidelity.getMaxCheck(),
+				this.fidelity.getThreshold(), EventDetector.Action.CONTINUE );
+		
+		return dazzlingDetector;
+	}
+
+	/**
+	 * Compute the access plan.
+	 * 
+	 * Reminder : the access plan corresponds to the object gathering all the
+	 * opportunities of access for all the sites of interest during the mission
+	 * horizon. One opportunity of access is defined by an access window (an
+	 * interval of time during which the satellite can observe the target and during
+	 * which all the observation conditions are achieved : visibility, incidence
+	 * angle, illumination of the scene,etc.).
+	 * 
+	 * The sites are processed sequentially or concurrently depending on
+	 * {@link #getAccessParallelism()}, the resulting plan is the same.
+	 * 
+	 * @return the sites access plan with one {@link Timeline} per {@link Site}
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public Map<Site, Timeline> computeAccessPlan() throws PatriusException {
+		return computeAccessPlan((site, accessTimeline) -> {
+			// Nothing to do until the whole plan is computed
+		});
+	}
+
+	/**
+	 * Compute the access plan, publishing the access {@link Timeline} of each
+	 * {@link Site} to the listener as soon as it is ready, so that it can be
+	 * processed while the other sites are still being computed.
+	 * 
+	 * @param listener Listener notified for each {@link Site}, from the computing
+	 *                 threads
+	 * @return the sites access plan with one {@link Timeline} per {@link Site}
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public Map<Site, Timeline> computeAccessPlan(SiteAccessListener listener) throws PatriusException {
+		logger.info("============= Computing Access Plan =============");
+		return computeAccessPlan(this.getSiteList(), listener);
+	}
+
+	/**
+	 * Compute the access plan of one shard of the sites, see
+	 * {@link #getShardSites(int, int)}. The access {@link Timeline} of each
+	 * {@link Site} is serialized in the access directory as usual, so that
+	 * several processes, possibly on several machines sharing this directory, can
+	 * each compute one shard. Once all the shards are done,
+	 * {@link #computeAccessPlan()} merges them by loading every {@link Site} from
+	 * the serialization files, see {@link AccessShardCoordinator}.
+	 * 
+	 * @param shardIndex Index of the shard, between 0 and shardCount - 1
+	 * @param shardCount Number of shards
+	 * @return the access plan of the sites of the shard
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public Map<Site, Timeline> computeAccessPlan(int shardIndex, int shardCount) throws PatriusException {
+		logger.info("============= Computing Access Plan, shard " + shardIndex + " / " + shardCount
+				+ " =============");
+		return computeAccessPlan(getShardSites(shardIndex, shardCount), (site, accessTimeline) -> {
+			// The shard is merged from the serialization files
+		});
+	}
+
+	/**
+	 * Get the sites of one shard. The sites are dealt in turn to the shards, in
+	 * the order of {@link #getSiteList()} : the partition only depends on the
+	 * number of sites and shards, so every process computes the same one, and the
+	 * sites of similar score are spread over the shards.
+	 * 
+	 * @param shardIndex Index of the shard, between 0 and shardCount - 1
+	 * @param shardCount Number of shards
+	 * @return the sites of the shard
+	 * @throws IllegalArgumentException if the shard index is not in the range
+	 */
+	public List<Site> getShardSites(int shardIndex, int shardCount) {
+		if (shardIndex < 0 || shardIndex >= shardCount) {
+			throw new IllegalArgumentException("Invalid shard " + shardIndex + " / " + shardCount);
+		}
+		final List<Site> sites = this.getSiteList();
+		final List<Site> shardSites = new ArrayList<>();
+		for (int i = shardIndex; i < sites.size(); i += shardCount) {
+			shardSites.add(sites.get(i));
+		}
+		return shardSites;
+	}
+
+	/**
+	 * Compute the accesses of some sites, publishing the access {@link Timeline}
+	 * of each {@link Site} to the listener as soon as it is ready.
+	 * 
+	 * @param sites    Sites to compute
+	 * @param listener Listener notified for each {@link Site}, from the computing
+	 *                 threads
+	 * @return the sites access plan
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	private Map<Site, Timeline> computeAccessPlan(List<Site> sites, SiteAccessListener listener)
+			throws PatriusException {
+		logger.info("Access mode : " + this.accessMode + ", parallelism : " + this.accessParallelism);
+		
+		// The serialized accesses are listed once for all the sites
+		final File[] accessFiles = this.accessDirectory.listFiles();
+		
+		if (this.accessParallelism <= 1) {
+			// Iterating over all sites
+			for (Site targetSite : sites) {
+				listener.siteAccessReady(targetSite, computeSiteAccess(targetSite, accessFiles));
+			}
+		} else {
+			// Submitting one task per site to a work-stealing pool : idle threads pick
+			// the pending sites, so a slow site never stalls the others
+			final ForkJoinPool pool = new ForkJoinPool(this.accessParallelism);
+			final List<ForkJoinTask<Timeline>> tasks = new ArrayList<>();
+			boolean completed = false;
+			try {
+				for (final Site targetSite : sites) {
+					tasks.add(pool.submit(() -> {
+						final Timeline siteAccessTimeline = computeSiteAccess(targetSite, accessFiles);
+						listener.siteAccessReady(targetSite, siteAccessTimeline);
+						return siteAccessTimeline;
+					}));
+				}
+				// Waiting for all the sites, rethrowing the first failure
+				for (final ForkJoinTask<Timeline> task : tasks) {
+					task.get();
+				}
+				completed = true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Access plan computation interrupted", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof PatriusException) {
+					throw (PatriusException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			} finally {
+				if (completed) {
+					pool.shutdown();
+				} else {
+					// Cancelling the pending sites and waiting for the running ones, so that
+					// no site is written to the plan or to the cache once the failure has
+					// been rethrown
+					for (final ForkJoinTask<Timeline> task : tasks) {
+						task.cancel(true);
+					}
+					pool.shutdownNow();
+					awaitTermination(pool);
+				}
+			}
+		}
+
+		// Each constraint detector is registered once, see AccessDetectorPipeline
+		logger.info("Constraint detectors g-function evaluations : " + this.detectorEvaluations.sum());
+
+		return this.accessPlan;
+	}
+
+	/**
+	 * Wait for the tasks of a shut down pool to end. The interruptions of the
+	 * calling thread do not stop the wait, they are restored afterwards.
+	 * 
+	 * @param pool The shut down pool
+	 */
+	private static void awaitTermination(ExecutorService pool) {
+		boolean interrupted = Thread.interrupted();
+		while (!pool.isTerminated()) {
+			try {
+				pool.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Compute the access {@link Timeline} of one {@link Site} and store it in the
+	 * access plan. The {@link Timeline} is loaded from the access cache container
+	 * of the configuration when available, otherwise it is computed and appended
+	 * to the container for later runs.
+	 * 
+	 * When the mission end date has been moved forward, the accesses serialized
+	 * over the previous horizon (same constants and start date) are reused : only
+	 * the missing time range is computed, and the window active at the previous
+	 * end date is stitched with its continuation.
+	 * 
+	 * This method is thread-safe : it can be called concurrently for different
+	 * sites.
+	 * 
+	 * @param targetSite  Input target {@link Site}
+	 * @param accessFiles Files of the access directory, listed once per plan
+	 *                    computation, null if the directory does not exist
+	 * @return The access {@link Timeline} of the site
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	private Timeline computeSiteAccess(Site targetSite, File[] accessFiles) throws PatriusException {
+		
+		logger.info(" Site : " + targetSite.getName());
+		
+		// Checking if the Site access Timeline has already been serialized or not, for
+		// the current horizon
+		final double horizonDuration = this.getEndDate().durationFrom(this.getStartDate());
+		Timeline siteAccessTimeline = loadSiteTimeline(targetSite, horizonDuration);
+		if (siteAccessTimeline == null && this.minimumAccessDuration <= 0.
+				&& this.fidelity == FidelityPreset.PRECISE && generateMethodPrefix().isEmpty()) {
+			// Files written before the horizon was part of their name, with the default
+			// method
+			siteAccessTimeline = loadSerializedTimeline(new File(this.accessDirectory,
+					new File(generateSerializationName(targetSite, hashConstantBE)).getName()).getPath());
+		}
+		
+		// If the file exists for the current Site, we use its content
+		if (siteAccessTimeline != null) {
+			this.accessPlan.put(targetSite, siteAccessTimeline);
+			ProjectUtils.printTimeline(siteAccessTimeline);
+			// the Site has been loaded, no need to compute the access again
+			return siteAccessTimeline;
+		}
+		
+		// Otherwise, the accesses computed over a shorter horizon, if any, are extended
+		// up to the current end date : only the missing time range is computed
+		final double previousDuration = findPreviousHorizon(targetSite, horizonDuration, accessFiles);
+		final Timeline previousTimeline = Double.isNaN(previousDuration) ? null
+				: loadSiteTimeline(targetSite, previousDuration);
+		if (previousTimeline != null) {
+			logger.info(targetSite.getName() + " has been serialized up to " + previousDuration
+					+ " s, extending the access computation...");
+			final AbsoluteDate previousEnd = this.getStartDate().shiftedBy(previousDuration);
+			final Timeline extension = createSiteAccessTimeline(targetSite,
+					new AbsoluteDateInterval(previousEnd, this.getEndDate()));
+			siteAccessTimeline = stitchTimelines(previousTimeline, extension, previousEnd);
+		} else {
+			// If it was not serialized or if loading has failed, we need to compute the
+			// site access Timeline
+			logger.info(targetSite.getName() + " has not been serialized, launching access computation...");
+			siteAccessTimeline = createSiteAccessTimeline(targetSite);
+		}
+		this.accessPlan.put(targetSite, siteAccessTimeline);
+		ProjectUtils.printTimeline(siteAccessTimeline);
+
+		try {
+			// Serialize the timeline for later reading, appending it to the cache
+			// container of the configuration, shared with the other processes
+			getAccessCache(horizonDuration).append(targetSite.getName(), siteAccessTimeline, this.getStartDate());
+			logger.info(targetSite.getName() + " has been serialized successfully !");
+		} catch (IOException e) {
+			logger.warn(targetSite.getName() + " could not be serialized !");
+			logger.warn(e.getMessage());
+		}
+		
+		return siteAccessTimeline;
+	}
+
+	/**
+	 * Generate the name of the file containing the serialized accesses of a
+	 * {@link Site} computed from the mission start date over a given duration, in
+	 * the binary format of {@link AccessCacheFile}. These files were written before
+	 * the {@link AccessCacheContainer} and are only read.
+	 * 
+	 * @param site            Input {@link Site}
+	 * @param horizonDuration Duration (s) of the horizon covered by the accesses
+	 * @return the filename as a String
+	 */
+	private String generateHorizonSerializationName(Site site, double horizonDuration) {
+		return new File(this.accessDirectory, generateHorizonSerializationPrefix(site)
+				+ Math.round(horizonDuration * 1000.) + "ms" + AccessCacheFile.EXTENSION).getPath();
+	}
+
+	/**
+	 * Generate the beginning of the serialization file names of a {@link Site},
+	 * common to all the horizons. The minimum access duration, when set, is part
+	 * of it since it changes the access windows.
+	 * 
+	 * @param site Input {@link Site}
+	 * @return The file name prefix
+	 */
+	private String generateHorizonSerializationPrefix(Site site) {
+		return site.getName() + "_" + generateConfigurationPrefix();
+	}
+
+	/**
+	 * Generate the part of the serialization names identifying the configuration
+	 * of the accesses, apart from the horizon duration.
+	 * 
+	 * @return the configuration prefix as a String
+	 */
+	private String generateConfigurationPrefix() {
+		return horizonFreeHashConstantBE + "_"
+				+ (this.minimumAccessDuration > 0. ? "min" + Math.round(this.minimumAccessDuration * 1000.) + "ms_"
+						: "")
+				+ (this.fidelity != FidelityPreset.PRECISE ? this.fidelity.name().toLowerCase() + "_" : "")
+				+ generateMethodPrefix();
+	}
+
+	/**
+	 * Generate the part of the serialization names identifying the method used
+	 * to compute the accesses : the access mode and the computation settings
+	 * which are not the default ones. The methods give the same windows up to
+	 * their tolerances only, so the accesses of a method are never served to
+	 * another one. The prefix is empty with the default method, whose files keep
+	 * their names.
+	 * 
+	 * @return the method prefix as a String
+	 */
+	private String generateMethodPrefix() {
+		final StringBuilder prefix = new StringBuilder();
+		if (this.accessMode != AccessMode.PER_SITE_PROPAGATION) {
+			prefix.append(this.accessMode.name().toLowerCase()).append('_');
+		}
+		final boolean[] flags = { this.analyticVisibility, this.analyticIllumination, this.fusedDetector,
+				this.twoPhaseDetection, this.swathScreening, this.cellScreening, this.adaptiveMaxCheck,
+				this.constraintCascade };
+		final String[] codes = { "av", "ai", "fd", "tp", "ss", "cs", "am", "cc" };
+		for (int i = 0; i < flags.length; i++) {
+			if (flags[i]) {
+				prefix.append(codes[i]).append('_');
+			}
+		}
+		if (this.timePartitionDuration > 0.) {
+			prefix.append("part").append(Math.round(this.timePartitionDuration * 1000.)).append("ms_");
+		}
+		return prefix.toString();
+	}
+
+	/**
+	 * Get the cache container of the accesses computed with the current
+	 * configuration over a given duration from the mission start date.
+	 * 
+	 * @param horizonDuration Duration (s) of the horizon covered by the accesses
+	 * @return the {@link AccessCacheContainer}
+	 * @throws IOException If the path of the container cannot be resolved
+	 */
+	private AccessCacheContainer getAccessCache(double horizonDuration) throws IOException {
+		final File file = new File(this.accessDirectory, generateConfigurationPrefix()
+				+ Math.round(horizonDuration * 1000.) + "ms" + AccessCacheContainer.EXTENSION);
+		final String name = file.getPath();
+		AccessCacheContainer container = this.accessCaches.get(name);
+		if (container == null) {
+			final AccessCacheContainer created = new AccessCacheContainer(file);
+			container = this.accessCaches.putIfAbsent(name, created);
+			if (container == null) {
+				container = created;
+			}
+		}
+		return container;
+	}
+
+	/**
+	 * Load the serialized accesses of a {@link Site} computed from the mission
+	 * start date over a given duration : from the cache container of the
+	 * configuration, or else from the file of the site written before the
+	 * containers.
+	 * 
+	 * @param site            Input {@link Site}
+	 * @param horizonDuration Duration (s) of the horizon covered by the accesses
+	 * @return the loaded {@link Timeline}, or null if the accesses have not been
+	 *         serialized or cannot be loaded
+	 */
+	private Timeline loadSiteTimeline(Site site, double horizonDuration) {
+		try {
+			final Timeline timeline = getAccessCache(horizonDuration).read(site.getName(), this.getStartDate(),
+					new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()), ACCESS_CODE, ACCESS_COMMENT);
+			if (timeline != null) {
+				logger.info(site.getName() + " has been loaded successfully!");
+				return timeline;
+			}
+		} catch (IOException | PatriusException e) {
+			logger.warn(site.getName() + " could not be loaded from the cache container !");
+			logger.warn(e.getMessage());
+		}
+		return loadSerializedTimeline(generateHorizonSerializationName(site, horizonDuration));
+	}
+
+	/**
+	 * Look for the longest horizon shorter than the input one over which the
+	 * accesses of a {@link Site} have been serialized.
+	 * 
+	 * @param site            Input {@link Site}
+	 * @param horizonDuration Duration (s) of the current horizon
+	 * @param files           Files of the access directory, null if it does not
+	 *                        exist
+	 * @return the duration (s) of the longest serialized shorter horizon, or NaN if
+	 *         there is none
+	 */
+	private double findPreviousHorizon(Site site, double horizonDuration, File[] files) {
+		final String sitePrefix = generateHorizonSerializationPrefix(site);
+		final String containerPrefix = generateConfigurationPrefix();
+		final String containerSuffix = "ms" + AccessCacheContainer.EXTENSION;
+		double previousDuration = Double.NaN;
+		if (files == null) {
+			return previousDuration;
+		}
+		for (final File file : files) {
+			final String name = file.getName();
+			// Cache containers holding the site, or files of the site written before
+			// them, in binary or as object streams
+			final boolean container = name.startsWith(containerPrefix) && name.endsWith(containerSuffix);
+			final String prefix = container ? containerPrefix : sitePrefix;
+			final String suffix = container ? containerSuffix
+					: name.endsWith("ms" + AccessCacheFile.EXTENSION) ? "ms" + AccessCacheFile.EXTENSION : "ms.ser";
+			if (!name.startsWith(prefix) || !name.endsWith(suffix)) {
+				continue;
+			}
+			try {
+				final double duration = Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()))
+						/ 1000.;
+				if (duration < horizonDuration && !(duration <= previousDuration)
+						&& (!container || getAccessCache(duration).contains(site.getName()))) {
+					previousDuration = duration;
+				}
+			} catch (NumberFormatException | IOException e) {
+				// Not an access file of this site
+			}
+		}
+		return previousDuration;
+	}
+
+	/**
+	 * Load a serialized access {@link Timeline}. A binary file (see
+	 * {@link AccessCacheFile}) is memory-mapped ; when it does not exist, the
+	 * object stream file of the same name written before the binary format is
+	 * loaded instead, if any.
+	 * 
+	 * @param filename Name of the file
+	 * @return the loaded {@link Timeline}, or null if the file does not exist or
+	 *         cannot be loaded
+	 */
+	private Timeline loadSerializedTimeline(String filename) {
+		if (filename.endsWith(AccessCacheFile.EXTENSION)) {
+			final File file = new File(filename);
+			if (!file.exists()) {
+				return loadSerializedTimeline(
+						filename.substring(0, filename.length() - AccessCacheFile.EXTENSION.length()) + ".ser");
+			}
+			try {
+				final Timeline timeline = AccessCacheFile.read(file, this.getStartDate(),
+						new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()), ACCESS_CODE, ACCESS_COMMENT);
+				logger.info(filename + " has been loaded successfully!");
+				return timeline;
+			} catch (IOException | PatriusException e) {
+				logger.warn(filename + " could not be loaded !");
+				logger.warn(e.getMessage());
+				return null;
+			}
+		}
+		if (!new File(filename).exists()) {
+			return null;
+		}
+		try {
+			final Timeline timeline = loadSiteAccessTimeline(filename);
+			logger.info(filename + " has been loaded successfully!");
+			return timeline;
+		} catch (ClassNotFoundException | IOException e) {
+			logger.warn(filename + " could not be loaded !");
+			logger.warn(e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Stitch the access windows computed over a previous horizon with the ones of
+	 * its extension. The window active at the boundary has been cut in two : its
+	 * parts are merged back into a single {@link Phenomenon}. The windows reaching
+	 * the boundary have been kept whatever their duration, so the minimum access
+	 * duration is applied again to the stitched windows.
+	 * 
+	 * @param previous  Access {@link Timeline} of the previous horizon
+	 * @param extension Access {@link Timeline} from the end of the previous horizon
+	 *                  to the mission end date
+	 * @param boundary  End date of the previous horizon
+	 * @return the access {@link Timeline} over the mission horizon
+	 * @throws PatriusException If the {@link Timeline} cannot be built
+	 */
+	public Timeline stitchTimelines(Timeline previous, Timeline extension, AbsoluteDate boundary)
+			throws PatriusException {
+		final Timeline stitched = new Timeline(new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()));
+
+		// Windows of the previous horizon, the one reaching the boundary being kept
+		// aside
+		Phenomenon crossing = null;
+		for (final Phenomenon phenom : previous.getPhenomenaList()) {
+			if (phenom.getTimespan().getUpperData().durationFrom(boundary) >= -this.fidelity.getThreshold()) {
+				crossing = phenom;
+			} else {
+				addLongWindow(stitched, phenom);
+			}
+		}
+
+		// Windows of the extension, the first one being merged with the one kept aside
+		// if it starts at the boundary
+		for (final Phenomenon phenom : extension.getPhenomenaList()) {
+			if (crossing != null) {
+				if (phenom.getTimespan().getLowerData().durationFrom(boundary) <= this.fidelity.getThreshold()) {
+					addLongWindow(stitched, new Phenomenon(crossing.getStartingEvent(), crossing.getStartingIsDefined(),
+							phenom.getEndingEvent(), phenom.getEndingIsDefined(), crossing.getCode(),
+							crossing.getComment()));
+					crossing = null;
+					continue;
+				}
+				addLongWindow(stitched, crossing);
+				crossing = null;
+			}
+			addLongWindow(stitched, phenom);
+		}
+		if (crossing != null) {
+			addLongWindow(stitched, crossing);
+		}
+		return stitched;
+	}
+
+	/**
+	 * Add a stitched window to a {@link Timeline} if it lasts at least the minimum
+	 * access duration, or if it reaches a bound of the mission horizon, as done by
+	 * {@link #filterShortWindows(IntervalSet, AbsoluteDateInterval)}.
+	 * 
+	 * @param timeline Stitched {@link Timeline}
+	 * @param window   Access window
+	 */
+	private void addLongWindow(Timeline timeline, Phenomenon window) {
+		final AbsoluteDateInterval timespan = window.getTimespan();
+		if (timespan.getUpperData().durationFrom(timespan.getLowerData()) >= this.minimumAccessDuration
+				|| timespan.getLowerData().compareTo(this.getStartDate()) <= 0
+				|| timespan.getUpperData().compareTo(this.getEndDate()) >= 0) {
+			timeline.addPhenomenon(window);
+		}
+	}
+
+	/**
+	 * Compute the observation plan.
+	 * 
+	 * Reminder : the observation plan corresponds to the sequence of observations
+	 * programmed for the satellite during the mission horizon. Each observation is
+	 * defined by an observation window (start date; end date defining an
+	 * {@link AbsoluteDateInterval}), a target (target {@link Site}) and an
+	 * {@link AttitudeLawLeg} giving the attitude guidance to observe the target.
+	 * 
+	 * @return the sites observation plan with one {@link AttitudeLawLeg} per
+	 *         {@link Site}
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public Map<Site, AttitudeLawLeg> computeObservationPlan() throws PatriusException {
+		/**
+		 * In order to calculate the observation, we defined a greedy algorithm. Our
+		 * algorithm can be decomposed in two steps:
+		 * 
+		 * Step 1 : defining all the possible observation windows, for all sites,
+		 * 			and sorting them by score.
+		 * 
+		 * 			To do this, we create a global array that contains all the
+		 * 			possible observations, for all sites, and for each timeline
+		 * 			of each site. In the array, an observation is defined by
+		 * 			the association of a Site, an AttitudeLawLeg and a score.
+		 * 			Therefore, there might be several times the same Site in 
+		 * 			the array, but associated to different observations. 
+		 * 			Then, we sort this array by score (in descending order).
+		 * 			By doing this, the Sites can be in disorder in the array,
+		 * 			because only sort by score. For example, we can have a 
+		 * 			sequence :
+		 * 			[..., (SiteA, ObsLeg1, Score), (SiteB, ObsLeg1, Score),
+		 * 			(SiteA, ObsLeg2, Score), ...].
+		 * 			This ensures that we insert each time the best possible 
+		 *			observation.
+		 * 
+		 * Step 2 : inserting observations in the plan, by prioritizing the ones
+		 * 			with the highest scores.
+		 * 
+		 * 			To do this, we iterate over the observations defined at the
+		 * 			previous step. For each iteration, we test if the
+		 * 			observation can be inserted in the plan.
+		 * 			First condition : the Site shouldn't have been already
+		 * 			observed.
+		 * 			Second condition : there shouldn't be another observation
+		 * 			in the same time interval.
+		 * 			Third condition : the free-interval with the previous
+		 * 			observation and the next one should be large enough to
+		 * 			perform the slew.
+		 * 			If one of these conditions is not respected, we try to
+		 * 			insert the next observation in the array...etc... until
+		 * 			we reach the end of the array.
+		 */
+		
+		logger.info("============= Computing Observation Plan =============");
+		
+		//////////////////////////// STEP 1 //////////////////////////////
+		
+		// Creating the array that will contain all possible observations.
+		List<Object[]> allObservationsArray = new ArrayList<>();
+		
+		// Iterating over the sites, and adding their possible observations
+		for (final Entry<Site, Timeline> entry : this.accessPlan.entrySet()) {
+			allObservationsArray.addAll(generateObservationCandidates(entry.getKey(), entry.getValue()));
+		}
+		
+		//////////////////////////// STEP 2 //////////////////////////////
+		
+		return insertObservations(allObservationsArray);
+	}
+
+	/**
+	 * Compute the access plan and the observation plan, overlapping the two
+	 * computations.
+	 * 
+	 * The access {@link Timeline} of each {@link Site} is published as soon as it
+	 * is ready (see {@link #computeAccessPlan(SiteAccessListener)}) to a consumer
+	 * thread, which defines and scores its possible observations while the
+	 * accesses of the other sites are still being computed. Once all the sites are
+	 * done, the observations are inserted in the plan as in
+	 * {@link #computeObservationPlan()}, in the same order whatever the order in
+	 * which the sites have been published : the plan is the same.
+	 * 
+	 * @return the sites observation plan with one {@link AttitudeLawLeg} per
+	 *         {@link Site}, the access plan being available from
+	 *         {@link #getAccessPlan()}
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public Map<Site, AttitudeLawLeg> computeAccessAndObservationPlan() throws PatriusException {
+		
+		// Queue of the sites whose accesses are ready, closed by a marker entry
+		final BlockingQueue<Entry<Site, Timeline>> readySites = new LinkedBlockingQueue<>();
+		final Entry<Site, Timeline> endOfAccesses = new AbstractMap.SimpleImmutableEntry<>(null, null);
+		
+		final ExecutorService candidatesExecutor = Executors.newSingleThreadExecutor();
+		try {
+			// Consuming the sites as they come : step 1 of the observation plan
+			final Future<List<Object[]>> candidates = candidatesExecutor.submit(() -> {
+				final List<Object[]> allObservationsArray = new ArrayList<>();
+				Entry<Site, Timeline> entry = readySites.take();
+				while (entry != endOfAccesses) {
+					allObservationsArray.addAll(generateObservationCandidates(entry.getKey(), entry.getValue()));
+					entry = readySites.take();
+				}
+				return allObservationsArray;
+			});
+			
+			// Computing the access plan, publishing each site to the consumer
+			try {
+				computeAccessPlan((site, accessTimeline) -> readySites
+						.add(new AbstractMap.SimpleImmutableEntry<>(site, accessTimeline)));
+			} finally {
+				// Always releasing the consumer, even on failure
+				readySites.add(endOfAccesses);
+			}
+			
+			// Step 2 of the observation plan, once all the candidates are known
+			return insertObservations(candidates.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Observation plan computation interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof PatriusException) {
+				throw (PatriusException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			candidatesExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Compute the observation plan on demand : the planner pulls the sites in
+	 * descending order of score, and the accesses are only computed for the
+	 * sites it requests.
+	 * 
+	 * An observation of a {@link Site} scores at most the {@link Site} score, so
+	 * the best possible observation not yet defined is bounded by the score of the
+	 * next site to pull. The possible observations of the pulled sites are
+	 * inserted in descending order of score as long as they strictly beat this
+	 * bound, otherwise the next site is pulled : a site which could tie with the
+	 * best observation is pulled before it is inserted, so the observations are
+	 * tried in the same order as in {@link #computeObservationPlan()}, ties
+	 * included, and the plan is the same.
+	 * 
+	 * The sites left can only add observations to the plan, each one scoring at
+	 * most its {@link Site} score. The planner thus stops pulling sites once their
+	 * total score is below {@link #getLazyPlanningTolerance()} times the score
+	 * already planned, and the access plan then only holds the pulled sites.
+	 * 
+	 * @return the sites observation plan with one {@link AttitudeLawLeg} per
+	 *         {@link Site}
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          computations
+	 */
+	public Map<Site, AttitudeLawLeg> computeLazyObservationPlan() throws PatriusException {
+		logger.info("============= Computing Lazy Observation Plan =============");
+		
+		// Sites in descending order of score, see Site#compareTo
+		final List<Site> sites = new ArrayList<>(this.getSiteList());
+		Collections.sort(sites);
+		double remainingScore = 0.;
+		for (final Site site : sites) {
+			remainingScore += site.getScore();
+		}
+		
+		// Possible observations of the pulled sites, best first
+		final PriorityQueue<Object[]> candidates = new PriorityQueue<>(OBSERVATION_ORDER);
+		final List<String> observedSitesList = new ArrayList<>();
+		double plannedScore = 0.;
+		int pulledSites = 0;
+		
+		// The serialized accesses are listed once for all the pulled sites
+		final File[] accessFiles = this.accessDirectory.listFiles();
+		
+		while (pulledSites < sites.size() || !candidates.isEmpty()) {
+			// Inserting the best observation if no site left can beat or tie with it
+			final double bound = pulledSites < sites.size() ? sites.get(pulledSites).getScore()
+					: Double.NEGATIVE_INFINITY;
+			if (!candidates.isEmpty() && (double) candidates.peek()[2] > bound) {
+				final Object[] obs = candidates.poll();
+				if (insertObservation(obs, observedSitesList)) {
+					plannedScore += (double) obs[2];
+				}
+				continue;
+			}
+			
+			// Stopping once the sites left cannot change the plan significantly
+			if (remainingScore < this.lazyPlanningTolerance * plannedScore) {
+				logger.info("Remaining score " + remainingScore + " below the tolerance, "
+						+ (sites.size() - pulledSites) + " sites not pulled");
+				// The observations already defined are still tried, best first
+				while (!candidates.isEmpty()) {
+					insertObservation(candidates.poll(), observedSitesList);
+				}
+				break;
+			}
+			
+			// Otherwise pulling the next site
+			final Site site = sites.get(pulledSites++);
+			remainingScore -= site.getScore();
+			candidates.addAll(generateObservationCandidates(site, computeSiteAccess(site, accessFiles)));
+		}
+		
+		logger.info("Sites pulled by the lazy planner : " + pulledSites + " / " + sites.size());
+		return this.observationPlan;
+	}
+
+	/**
+	 * Define all the possible observations of a {@link Site} from its access
+	 * {@link Timeline} (step 1 of {@link #computeObservationPlan()}), each one
+	 * with its score.
+	 * 
+	 * This method is thread-safe : it can be called while the access plan of the
+	 * other sites is still being computed.
+	 * 
+	 * @param target   Target {@link Site}
+	 * @param timeline Access {@link Timeline} of the {@link Site}
+	 * @return the possible observations, as {Site, AttitudeLawLeg, score} arrays
+	 * @throws PatriusException If a {@link PatriusException} occurs when scoring
+	 *                          the observations
+	 */
+	private List<Object[]> generateObservationCandidates(Site target, Timeline timeline) throws PatriusException {
+		
+		// Creating the array that will contain the possible observations of the site.
+		final List<Object[]> allObservationsArray = new ArrayList<>();
+		
+		// Defining our observations : for each timeline of each site, we compute 
+		// different observation intervals of 10s, by using a sliding window of
+		// 5.001s. For example, for a timeline ]7h10:00:000, 7h10:17:000[, we define
+		// 2 observation intervals : 
+		// [7h10:00:001 ; 7h10:10:001], [7h10:05:002 ; 7h10:15:002]
+		// We took a window step of 5.001s and not 5s to avoid issues with open intervals.
+		
+		// Defining the step window, set by the fidelity preset
+		final double stepWindow = this.fidelity.getCandidateStep(); // in seconds.
+		
+		// Create the observation law for the current target
+		final AttitudeLaw observationLaw = createObservationLaw(target);
+		
+		// Iterating over the timelines of the site
+		for (final Phenomenon accessWindow : timeline.getPhenomenaList()) {
+			
+			int timelineCount = 1; //Used to name the obsLeg
+			
+			// Getting the interval corresponding to the timeline
+			final AbsoluteDateInterval accessInterval = accessWindow.getTimespan();
+			
+			// Creating a list containing the middle of the future observations
+			final List<AbsoluteDate> middleDateList = accessInterval.getDateList(stepWindow);
+			
+			// Iterating over the middle dates of the future observations.
+			// We don't consider the last middle date, because we may not have
+			// enough time after it to create an observation.
+			for (int i = 0; i < middleDateList.size() - 1; i++) {
+				
+				// Creating the observation interval : 10s around the middle date
+	            final AbsoluteDate middleDate = middleDateList.get(i);
+	            final AbsoluteDate obsStart = middleDate.shiftedBy(-ConstantsBE.INTEGRATION_TIME / 2);
+				final AbsoluteDate obsEnd = middleDate.shiftedBy(ConstantsBE.INTEGRATION_TIME / 2);
+				final AbsoluteDateInterval obsInterval = new AbsoluteDateInterval(obsStart, obsEnd);
+				
+				// Creating the corresponding AttitudeLawLeg and naming it
+				final String legName = "OBS_" + timelineCount + "_" + i + "_" + target.getName();
+				final AttitudeLawLeg obsLeg = new AttitudeLawLeg(observationLaw, obsInterval, legName);
+				
+				// Computing the score of the observation
+				final double scoreObs = MathLib.cos(getEffectiveIncidence(target, obsLeg)) * target.getScore();
+				
+				// Adding the observation to the array
+				allObservationsArray.add(new Object[]{target, obsLeg, scoreObs});
+			}
+			timelineCount++;
+		}
+		
+		return allObservationsArray;
+	}
+
+	/**
+	 * Insert the possible observations in the plan, by prioritizing the ones with
+	 * the highest scores (step 2 of {@link #computeObservationPlan()}).
+	 * 
+	 * @param allObservationsArray The possible observations of all the sites, as
+	 *                             {Site, AttitudeLawLeg, score} arrays
+	 * @return the sites observation plan with one {@link AttitudeLawLeg} per
+	 *         {@link Site}
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the attitudes
+	 */
+	private Map<Site, AttitudeLawLeg> insertObservations(List<Object[]> allObservationsArray)
+			throws PatriusException {
+		
+		// Sorting the observations in descending order of score
+		allObservationsArray.sort(OBSERVATION_ORDER);
+		
+		// Creating a list which will contain the already observed sites.
+		List<String> observedSitesList = new ArrayList<>();
+		
+		// Iterating over all the possible observations
+		for (Object[] obs : allObservationsArray) {
+			insertObservation(obs, observedSitesList);
+		}
+		
+		return this.observationPlan;
+	}
+
+	/**
+	 * Try to insert one possible observation in the plan : the {@link Site} must
+	 * not have been observed yet, and the observation must leave enough time to
+	 * slew from and to the observations already in the plan.
+	 * 
+	 * @param obs                The possible observation, as a {Site,
+	 *                           AttitudeLawLeg, score} array
+	 * @param observedSitesList  Names of the sites already observed, updated on
+	 *                           insertion
+	 * @return true if the observation has been inserted
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the attitudes
+	 */
+	private boolean insertObservation(Object[] obs, List<String> observedSitesList) throws PatriusException {
+		Site currentTarget = (Site) obs[0];
+		
+		// First condition : the site should not have been already observed
+		if (observedSitesList.contains(currentTarget.getName())) {
+			// If it has already been observed, we directly go to
+			// the next observation to insert.
+			return false;
+		}
+		
+		// Defining the start and the end of the observation that we want
+		// to insert
+		AttitudeLawLeg currentObsLeg = (AttitudeLawLeg) obs[1];
+		AbsoluteDateInterval currentInterval = currentObsLeg.getTimeInterval();
+		AbsoluteDate currentStartInterval = currentInterval.getLowerData();
+		AbsoluteDate currentEndInterval = currentInterval.getUpperData();
+		
+		// Defining the start and end attitudes of the observation we want to insert.
+		Attitude currentStartIntervalAttitude = currentObsLeg.getAttitudeLaw().getAttitude(this.getEphemeris(), 
+				currentStartInterval,this.getEme2000());
+		Attitude currentEndIntervalAttitude = currentObsLeg.getAttitudeLaw().getAttitude(this.getEphemeris(), 
+				currentEndInterval, this.getEme2000());
+		
+		logger.info("---------------------------------------------");
+		logger.info("Trying to insert " + currentTarget.getName() + " : " + currentInterval + " in the observation plan...");
+		
+		// Iterating over all the observations that are already in the plan,
+		// in order to test compatibility with the one we want to insert.
+		for (AttitudeLawLeg otherObsLeg : observationPlan.values()) {
+			// Remark : In practice, we only need to test compatibility with 
+			// the previous one in the plan, and the following one. Here, we
+			// test the compatibility with all the observations that are in 
+			// the plan, so it's not optimized. But the computation time
+			// is correct.
+			
+			// Defining the start and the end of the observation that is
+		    // already in the plan
+			AbsoluteDateInterval otherInterval = otherObsLeg.getTimeInterval();
+			AbsoluteDate otherStartInterval = otherInterval.getLowerData();
+		    AbsoluteDate otherEndInterval = otherInterval.getUpperData();
+		    
+		    logger.info("-");
+		    logger.info("Testing compatibility with " + otherObsLeg.getNature() + " : " + otherInterval);
+		    
+			// Second condition : it should be the only observation during this interval.
+		    // For this, we compute the intersection between the observation we want to
+		    // insert and the one that is already in the plan.
+			if (otherInterval.getIntersectionWith(currentInterval)!=null) {
+				logger.info("Non-empty intersection detected : insertion cancelled");
+				// If the intersection is not empty, we directly go to the next
+				// observation to insert
+				return false;
+			}
+			logger.info("Intersection non-empty : OK");
+			
+			// Third condition : the slew duration must be upper than the time between observations.
+			
+			// Testing compatibility with previous observation :
+			// For this, we first compute the time between the end of the observation we want to insert,
+			// and the start of the one that is already in the plan. It must be upper than the slew
+			// duration :
+			
+			// Computing the slew duration
+			Attitude otherStartIntervalAttitude = otherObsLeg.getAttitudeLaw().getAttitude(this.getEphemeris(), 
+					otherStartInterval, this.getEme2000());
+			double slewDurationRight = this.getSatellite().computeSlewDuration(currentEndIntervalAttitude, otherStartIntervalAttitude);
+			
+			if (Math.abs(otherStartInterval.durationFrom(currentEndInterval)) < slewDurationRight) {
+				logger.info("Too short duration with the next observation : insertion cancelled");
+				// If the duration with the previous observation is too short, we directly go to
+				// the next observation to insert
+				return false;
+			}
+			
+			// Testing compatibility with following observation :
+			// For this, we first compute the time between the end of the observation that is already
+			// in the plan, and the start of the one we want to insert. It must be upper than the slew
+			// duration :
+			
+			// Computing the slew duration
+			Attitude otherEndIntervalAttitude = otherObsLeg.getAttitudeLaw().getAttitude(this.getEphemeris(), otherEndInterval,
+		    		this.getEme2000());
+			double slewDurationLeft = this.getSatellite().computeSlewDuration(otherEndIntervalAttitude, currentStartIntervalAttitude);
+			
+			if (Math.abs(currentStartInterval.durationFrom(otherEndInterval)) < slewDurationLeft) {
+				logger.info("Too short duration with the previous observation : insertion cancelled");
+				// If the duration with the following observation is too short, we directly go to
+				// the next observation to insert
+				return false;
+			}
+			logger.info("Enough time between the 2 observations : OK");
+			
+		}
+		
+		//Finally adding the observation to the plan if all conditions are met
+		this.observationPlan.put(currentTarget, currentObsLeg);
+		
+		// Updating the list of observed sites
+		observedSitesList.add(currentTarget.getName());
+		
+		logger.info("-");
+		logger.info("<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<< Successful insertion of " + currentTarget.getName()
+					+ ">>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>");
+		logger.info("-");
+		
+		return true;
+	}
+
+	/**
+	 * Computes the cinematic plan.
+	 * 
+	 * @return a {@link StrictAttitudeLegsSequence} that gives all the cinematic
+	 *         plan of the {@link Satellite}. It is a chronological sequence of all
+	 *         the {@link AttitudeLawLeg} that are necessary to define the
+	 *         {@link Attitude} of the {@link Satellite} during all the mission
+	 *         horizon. Those legs can have 3 natures : pointing a target site,
+	 *         pointing nadir and performing a slew between one of the two previous
+	 *         kind of legs.
+	 * @throws PatriusException
+	 */
+	
+	public StrictAttitudeLegsSequence<AttitudeLeg> computeCinematicPlan() throws PatriusException {
+		/**
+		 * We faced an issue when calculating the cinematic plan. We had some problems with the slews from
+		 * the nadirs to the sites. First, we computed the observationLaw with the constructor using the
+		 * Geodetic point. But we noticed that the slews from the nadir were very long (higher than the
+		 * maxSlewDuration). Moreover, when visualizing in VTS, the satellite pointed on other parts of 
+		 * the globe. So we concluded that there was an issue with our method createObservationLaw. We
+		 * tried to modify it by using 3D vectors and it solved the problems. 
+		 * But last week, we asked a teacher about which 3D vectors to use, and he said that we couldn't
+		 * use the getZenith() vector.
+		 * 
+		 * To summarize, it works, but we have a doubt on our createObservationLaw method, because we
+		 * still use the getZenith() vector.
+		 */
+
+		logger.info("============= Computing Cinematic Plan =============");
+		
+		// Sorting the observation plan by date of observation.
+		// Comparison based on the lower bounds of the time intervals
+		Map<Site, AttitudeLawLeg> sortedObservationPlan = this.observationPlan.entrySet()
+			    .stream().sorted((entry1, entry2) -> {
+			        AbsoluteDateInterval interval1 = entry1.getValue().getTimeInterval();
+			        AbsoluteDateInterval interval2 = entry2.getValue().getTimeInterval();
+			        return interval1.getLowerData().compareTo(interval2.getLowerData());})
+			    	.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+			        (e1, e2) -> e1, LinkedHashMap::new));
+		
+		// Getting our nadir law
+		final AttitudeLaw nadirLaw = this.getSatellite().getDefaultAttitudeLaw();
+		
+		// Getting the shared satellite ephemeris
+		final PVCoordinatesProvider propagator = this.getEphemeris();
+
+		/////////// FIRST STEP : Initial Nadir Law --> Slew --> First Observation ////////////
+		
+		// Getting the start and end date of the mission
+		final AbsoluteDate start = this.getStartDate();
+		final AbsoluteDate end = this.getEndDate();
+		
+		// Getting the first observation and its AttitudeLeg
+		Site firstSite = sortedObservationPlan.keySet().iterator().next();
+		AttitudeLeg firstObsLeg = sortedObservationPlan.get(firstSite);
+		
+		// Getting the start of the first observation, and its attitude
+		final AbsoluteDate firstObsStart = firstObsLeg.getDate();
+		final Attitude startFirstObsAttitude = firstObsLeg.getAttitude(propagator, firstObsStart, getEme2000());
+		
+		// Defining the end date of the initial Nadir Law, and its attitude
+		final AbsoluteDate endInitialNadirLaw = firstObsStart.shiftedBy(-getSatellite().getMaxSlewDuration());
+		final Attitude endInitialNadirAttitude = nadirLaw.getAttitude(propagator, endInitialNadirLaw, getEme2000());
+		
+		// Creating the Attitude Law Legs
+		final AttitudeLawLeg initialNadir = new AttitudeLawLeg(nadirLaw, start, endInitialNadirLaw, "Nadir_Law_1");
+		final ConstantSpinSlew slewFromInitialNadir = new ConstantSpinSlew(endInitialNadirAttitude, startFirstObsAttitude, 
+																			"Slew_Nadir_to_" + firstSite.getName());
+		
+		// Adding them to the cinematic plan
+		this.cinematicPlan.add(initialNadir);
+		this.cinematicPlan.add(slewFromInitialNadir);
+		this.cinematicPlan.add(firstObsLeg);
+		
+		/////////// SECOND STEP : Slew from 1st observation -->  2nd Observation --> Slew to Nadir --> ... --> Last Observation ////////////
+		
+		int sizeObservationPlan = sortedObservationPlan.size();
+		int currentIndex = 0; //Used to detect the last Site
+		
+		// Creating a variable PreviousSite because we need to store it to compute the slew to the next one.
+		Site previousSite = firstSite;
+		
+		// Iterating over all the observations
+		for (Map.Entry<Site, AttitudeLawLeg> entry : sortedObservationPlan.entrySet()) {
+			
+			// We don't process the first site because we already did it before the loop (step 1)
+			if (currentIndex == 0) {
+				currentIndex++;
+				continue;
+			}
+			
+			// Getting the site associated to the next observation
+			Site site = entry.getKey();
+			
+			// Getting the observation legs associated to the previous and the next site
+			AttitudeLeg obsLeg = sortedObservationPlan.get(site);
+			AttitudeLeg previousObsLeg = sortedObservationPlan.get(previousSite);
+			
+			// Getting the end of the previous observation, and its attitude
+			AbsoluteDate endPreviousObsLeg = previousObsLeg.getEnd();
+			Attitude endPreviousObsAttitude = previousObsLeg.getAttitude(propagator, endPreviousObsLeg, getEme2000());
+			
+			// Getting the start of the next observation, and its attitude
+			AbsoluteDate startObsLeg = obsLeg.getDate();
+			Attitude startObsAttitude = obsLeg.getAttitude(propagator, startObsLeg, getEme2000());
+			
+			// If there is enough time between the two observations, we insert a Nadir
+			if (startObsLeg.durationFrom(endPreviousObsLeg) > 2 * this.getSatellite().getMaxSlewDuration()) {
+				
+				// Defining the start and the end date of the Nadir Law, and its attitude
+				final AbsoluteDate startNadirLaw = endPreviousObsLeg.shiftedBy(getSatellite().getMaxSlewDuration());
+				final AbsoluteDate endNadirLaw = startObsLeg.shiftedBy(-getSatellite().getMaxSlewDuration());
+				final Attitude startNadirAttitude = nadirLaw.getAttitude(propagator, startNadirLaw, getEme2000());
+				final Attitude endNadirAttitude = nadirLaw.getAttitude(propagator, endNadirLaw, getEme2000());
+				
+				// Creating the Attitude Law Legs
+				final AttitudeLawLeg nadir = new AttitudeLawLeg(nadirLaw, startNadirLaw, endNadirLaw, "Nadir_Law");
+				final ConstantSpinSlew slewToNadir = new ConstantSpinSlew(endPreviousObsAttitude, startNadirAttitude, 
+														"Slew_from_" + previousSite.getName() + "_to_Nadir");
+				final ConstantSpinSlew slewFromNadir = new ConstantSpinSlew(endNadirAttitude, startObsAttitude, 
+															"Slew_from_Nadir_to_" + site.getName());
+				// Adding them to the cinematic plan
+				this.cinematicPlan.add(slewToNadir);
+				this.cinematicPlan.add(nadir);
+				this.cinematicPlan.add(slewFromNadir);
+				this.cinematicPlan.add(obsLeg);	
+			}
+			
+			// Else, we only inert a slew
+			else {
+				
+				// Creating the Attitude Law Leg
+				final ConstantSpinSlew slew = new ConstantSpinSlew(endPreviousObsAttitude, startObsAttitude, 
+										"Slew_from_" + previousSite.getName() + "_to_" + site.getName() );
+				
+				// Adding it to the cinematic plan with the next observation
+				this.cinematicPlan.add(slew);
+				this.cinematicPlan.add(obsLeg);
+			}
+			
+			// If this is the last Site of the observation plan, we create the final Nadir
+			if (currentIndex==sizeObservationPlan-1) {
+				// Getting the end of the last observation, and its attitude
+				AbsoluteDate endObsLeg = obsLeg.getEnd();
+				Attitude endObsAttitude = obsLeg.getAttitude(propagator, endObsLeg, getEme2000());
+				
+				// Creating the start of the final Nadir law, and its attitude
+				AbsoluteDate startFinalNadirLaw = endObsLeg.shiftedBy(getSatellite().getMaxSlewDuration());
+				Attitude startFinalNadirAttitude = nadirLaw.getAttitude(propagator, startFinalNadirLaw, getEme2000());
+				
+				// Creating the Attitude Law Legs
+				ConstantSpinSlew slewToFinalNadir = new ConstantSpinSlew(endObsAttitude, startFinalNadirAttitude, "Slew_to_final_Nadir");
+				AttitudeLawLeg finalNadir = new AttitudeLawLeg(nadirLaw, startFinalNadirLaw, end, "Final_Nadir_Law");
+				
+				// Adding them to the cinematic plan
+				this.cinematicPlan.add(slewToFinalNadir);
+				this.cinematicPlan.add(finalNadir);
+			}
+			
+			// Updating the previous site, and the current index
+			previousSite = site;
+			currentIndex++;
+		}
+		
+		return this.cinematicPlan;
+	}
+
+	
+	// Here is the first method that we used, but we faced problems with VTS
+	// (the satellite pointed anywhere in the globe)
+	
+	//private AttitudeLaw createObservationLaw(Site target) throws PatriusException {
+		/**
+		 * To perform an observation, the satellite needs to point the target for a
+		 * fixed duration.
+		 * 
+		 * Here, you will use the {@link TargetGroundPointing}. This law provides a the
+		 * Attitude of a Satellite that only points one target at the surface of a
+		 * BodyShape. The earth object from the SimpleMission is a BodyShape and we
+		 * remind you that the Site object has an attribute which is a GeodeticPoint.
+		 * Use those informations to your advantage to build a TargetGroundPointing.
+		 * 
+		 * Note : to avoid unusual behavior of the TargetGroundPointing law, we advise
+		 * you use the following constructor : TargetGroundPointing(BodyShape, Vector3D,
+		 * Vector3D, Vector3D) specifying the line of sight axis and the normal axis.
+		 */
+		/*
+		 * Complete the code below to create your observation law and return it
+		 */
+		/*AttitudeLaw observationLaw = new TargetGroundPointing(
+			    this.getEarth(),
+			    target.getPoint());
+		
+		return observationLaw;
+	}*/
+	
+	// Here is the method we use. It works, but the we have a doubt on the vectors
+	// that we use.
+	
+	/**
+	 * [COMPLETE THIS METHOD TO ACHIEVE YOUR PROJECT]
+	 * 
+	 * Create an observation leg, that is to say an {@link AttitudeLaw} that give
+	 * the {@link Attitude} (pointing direction) of the {@link Satellite} in order
+	 * to perform the observation of the input target {@link Site}.
+	 * 
+	 * An {@link AttitudeLaw} is an {@link AttitudeProvider} providing the method
+	 * {@link AttitudeProvider#getAttitude()} which can be used to compute the
+	 * {@link Attitude} of the {@link Satellite} at any given {@link AbsoluteDate}
+	 * (instant) during the mission horizon.
+	 * 
+	 * An {@link AttitudeLaw} is valid at any time in theory.
+	 * 
+	 * @param target Input target {@link Site}
+	 * @return An {@link AttitudeLawLeg} adapted to the observation.
+	 * @throws PatriusException 
+	 */
+	private AttitudeLaw createObservationLaw(Site target) throws PatriusException {
+	     
+        AttitudeLaw observationLaw = new TargetGroundPointing(
+                this.getEarth(),
+                target.getPoint().getZenith(),
+                this.getSatellite().getSensorAxis(),
+                this.getSatellite().getFrameXAxis()
+            );
+        
+        return observationLaw;
+	}
+	
+	/**
+	 * [DO NOT MODIFY THIS METHOD]
+	 * 
+	 * Computes and returns the angle of incidence (satellite->nadir ;
+	 * satellite->target) at the middle date of the input observation.
+	 * (same method as in SimpleMission)
+	 * 
+	 * @param site              Input {@link Site} associated with the
+	 *                          {@link AttitudeLawLeg}.
+	 * @param observationLawLeg Observation law leg to evaluate. It should be a
+	 *                          {@link TargetGroundPointing} targeting a given
+	 *                          {@link Site}, and we are going to measure the angle
+	 *                          of incidence of the {@link Site}with respect to
+	 *                          nadir direction at the middle date of the
+	 *                          observation {@link AttitudeLawLeg}.
+	 * @return The angle of incidence at the middle date of the input law, as a
+	 *         double.
+	 * @throws PatriusException If an error occurs during the propagation.
+	 */
+	private double getEffectiveIncidence(Site site, AttitudeLawLeg observationLawLeg) throws PatriusException {
+		// Getting the middleDate, IE the date of the middle of the observation that we
+		// are going to use to check the incidence angle.
+		final AbsoluteDate middleDate = observationLawLeg.getTimeInterval().getMiddleDate();
+
+		// Getting the satellite ephemeris to compute the satellite's pv coordinates
+		final PVCoordinatesProvider propagator = this.getEphemeris();
+
+		// Calculating the satellite PVCoordinates at middleDate
+		final PVCoordinates satPv = propagator.getPVCoordinates(middleDate, this.getEme2000());
+
+		// Calculating the Site PVCoordinates at middleDate
+		final TopocentricFrame siteFrame = new TopocentricFrame(this.getEarth(), site.getPoint(), site.getName());
+		final PVCoordinates sitePv = siteFrame.getPVCoordinates(middleDate, this.getEme2000());
+
+		// Calculating the normalized site-sat vector at middleDate
+		final Vector3D siteSatVectorEme2000 = satPv.getPosition().subtract(sitePv.getPosition()).normalize();
+
+		// Calculating the vector normal to the surface at the Site at middleDate
+		final Vector3D siteNormalVectorEarthFrame = siteFrame.getZenith();
+		final Transform earth2Eme2000 = siteFrame.getParentShape().getBodyFrame().getTransformTo(this.getEme2000(), middleDate);
+		final Vector3D siteNormalVectorEme2000 = earth2Eme2000.transformPosition(siteNormalVectorEarthFrame);
+
+		// Finally, we can compute the incidence angle = angle between
+		// siteNormalVectorEme2000 and siteSatVectorEme2000
+		final double incidenceAngle = Vector3D.angle(siteNormalVectorEme2000, siteSatVectorEme2000);
+
+		//logger.info("Site : " + site.getName() + " " + site.getPoint().toString());
+		//logger.info("Incidence angle rad : " + incidenceAngle);
+		//logger.info("Incidence angle deg : " + MathLib.toDegrees(incidenceAngle));
+
+		return incidenceAngle;
+
+	}
+
+	/**
+	 * Get the access engine shared by all the sites, building it at first call.
+	 * 
+	 * @return the {@link AccessEngine} covering the mission horizon
+	 * @throws PatriusException If the engine cannot sample the trajectory
+	 */
+	private synchronized AccessEngine getAccessEngine() throws PatriusException {
+		if (this.accessEngine == null) {
+			this.accessEngine = new AccessEngine(this, new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()),
+					this.fidelity.getMaxCheck(), this.fidelity.getThreshold());
+		}
+		return this.accessEngine;
+	}
+
+	/**
+	 * Get the repeat cycle access computation shared by all the sites, building
+	 * it at first call.
+	 * 
+	 * @return the {@link RepeatCycleAccess} covering the mission horizon
+	 * @throws PatriusException If the ephemerides cannot be built
+	 */
+	private synchronized RepeatCycleAccess getRepeatCycleAccess() throws PatriusException {
+		if (this.repeatCycleAccess == null) {
+			this.repeatCycleAccess = new RepeatCycleAccess(this,
+					new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()), this.fidelity.getMaxCheck(),
+					this.fidelity.getThreshold());
+			logger.info("Repeat period : " + this.repeatCycleAccess.getRepeatPeriod() + " s, cycles per group : "
+					+ this.repeatCycleAccess.getCyclesPerGroup());
+		}
+		return this.repeatCycleAccess;
+	}
+
+	/**
+	 * Get the illumination engine shared by all the sites, building it at first
+	 * call.
+	 * 
+	 * @return the {@link IlluminationEngine} covering the mission horizon
+	 * @throws PatriusException If the engine cannot sample the Sun
+	 */
+	private synchronized IlluminationEngine getIlluminationEngine() throws PatriusException {
+		if (this.illuminationEngine == null) {
+			this.illuminationEngine = new IlluminationEngine(this,
+					new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()), this.fidelity.getMaxCheck(),
+					this.fidelity.getThreshold());
+		}
+		return this.illuminationEngine;
+	}
+
+	/**
+	 * Get the ground track screening shared by all the sites, building it at first
+	 * call.
+	 * 
+	 * @return the {@link GroundTrackScreening} covering the mission horizon
+	 * @throws PatriusException If the ground track cannot be sampled
+	 */
+	private synchronized GroundTrackScreening getGroundTrackScreening() throws PatriusException {
+		if (this.groundTrackScreening == null) {
+			this.groundTrackScreening = new GroundTrackScreening(this,
+					new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()), SCREENING_STEP,
+					MathLib.toRadians(ConstantsBE.POINTING_CAPACITY));
+		}
+		return this.groundTrackScreening;
+	}
+
+	/**
+	 * Get the cell screening of the mission sites, building it at first use.
+	 * 
+	 * @return the cell screening
+	 * @throws PatriusException If the site positions cannot be computed
+	 */
+	private synchronized SiteCellScreening getSiteCellScreening() throws PatriusException {
+		if (this.siteCellScreening == null) {
+			final GroundTrackScreening screening = getGroundTrackScreening();
+			this.siteCellScreening = new SiteCellScreening(screening, this, this.getSiteList(),
+					CELL_FOOTPRINT_RATIO * screening.getFootprintAngle());
+			logger.info(this.getSiteList().size() + " sites bucketed into " + this.siteCellScreening.getCellCount()
+					+ " cells");
+		}
+		return this.siteCellScreening;
+	}
+
+	/**
+	 * @return whether the candidate passes are shared by the sites of a cell
+	 */
+	public boolean isCellScreening() {
+		return this.cellScreening;
+	}
+
+	/**
+	 * Set whether the detectors of {@link AccessMode#PER_SITE_PROPAGATION} are only
+	 * run inside the candidate passes of the geographic cell of the site, computed
+	 * once per cell (see {@link SiteCellScreening}). The access windows are the
+	 * same as with {@link #setSwathScreening(boolean)}, the candidate passes being
+	 * slightly wider, but the ground track is screened once per cell instead of
+	 * once per site.
+	 * 
+	 * @param cellScreening true to share the candidate passes between the sites
+	 *                      of a cell
+	 */
+	public void setCellScreening(boolean cellScreening) {
+		this.cellScreening = cellScreening;
+	}
+
+	/**
+	 * @return whether the detectors are only run inside the candidate passes
+	 */
+	public boolean isSwathScreening() {
+		return this.swathScreening;
+	}
+
+	/**
+	 * Set whether the detectors of {@link AccessMode#PER_SITE_PROPAGATION} are only
+	 * run inside the candidate passes given by the ground track. The access windows
+	 * are the same, but the detectors are no longer stepped while the satellite is
+	 * far from the site.
+	 * 
+	 * @param swathScreening true to screen the passes
+	 */
+	public void setSwathScreening(boolean swathScreening) {
+		this.swathScreening = swathScreening;
+	}
+
+	/**
+	 * @return whether the detectors adapt their max-check interval to the geometry
+	 */
+	public boolean isAdaptiveMaxCheck() {
+		return this.adaptiveMaxCheck;
+	}
+
+	/**
+	 * Set whether the detectors of {@link AccessMode#PER_SITE_PROPAGATION} adapt
+	 * their max-check interval to the distance to the constraint boundaries. The
+	 * access windows are the same, but the detectors take long steps while the
+	 * constraints are far from changing.
+	 * 
+	 * @param adaptiveMaxCheck true to adapt the max-check interval
+	 */
+	public void setAdaptiveMaxCheck(boolean adaptiveMaxCheck) {
+		this.adaptiveMaxCheck = adaptiveMaxCheck;
+	}
+
+	/**
+	 * @return whether the illumination windows are computed without propagation
+	 */
+	public boolean isAnalyticIllumination() {
+		return this.analyticIllumination;
+	}
+
+	/**
+	 * Set whether the illumination windows of
+	 * {@link AccessMode#PER_SITE_PROPAGATION} are computed by the
+	 * {@link IlluminationEngine} or by a detector attached to the orbit
+	 * propagation of each site (the default).
+	 * 
+	 * @param analyticIllumination true to use the illumination engine
+	 */
+	public void setAnalyticIllumination(boolean analyticIllumination) {
+		this.analyticIllumination = analyticIllumination;
+	}
+
+	/**
+	 * @return whether the visibility is detected with the closed-form detector
+	 */
+	public boolean isAnalyticVisibility() {
+		return this.analyticVisibility;
+	}
+
+	/**
+	 * Set whether the visibility detector of
+	 * {@link AccessMode#PER_SITE_PROPAGATION} is the closed-form
+	 * {@link AnalyticVisibilityDetector} or a {@link SensorVisibilityDetector}
+	 * built on the satellite assembly (the default). The windows are the same, but
+	 * the closed-form detector does not evaluate the sensor model at each step.
+	 * 
+	 * @param analyticVisibility true to use the closed-form detector
+	 */
+	public void setAnalyticVisibility(boolean analyticVisibility) {
+		this.analyticVisibility = analyticVisibility;
+	}
+
+	/**
+	 * @return the duration (s) of the time chunks propagated concurrently, 0 if
+	 *         the horizon is not split
+	 */
+	public double getTimePartitionDuration() {
+		return this.timePartitionDuration;
+	}
+
+	/**
+	 * Set the duration of the time chunks into which the horizon of each site is
+	 * split in {@link AccessMode#PER_SITE_PROPAGATION} mode, for instance one day
+	 * (86400 s). With an access parallelism above 1, the chunks are propagated
+	 * concurrently in the pool of the sites, so that a long horizon scales with
+	 * the number of cores and not only with the number of sites ; otherwise they
+	 * are propagated in turn in the calling thread. The access windows are the
+	 * same.
+	 * 
+	 * @param timePartitionDuration Duration (s) of the chunks, 0 to propagate the
+	 *                              horizon at once
+	 */
+	public void setTimePartitionDuration(double timePartitionDuration) {
+		this.timePartitionDuration = timePartitionDuration;
+	}
+
+	/**
+	 * @return whether the access windows are detected in two phases
+	 */
+	public boolean isTwoPhaseDetection() {
+		return this.twoPhaseDetection;
+	}
+
+	/**
+	 * Set whether the access windows of {@link AccessMode#SINGLE_PROPAGATION} are
+	 * detected in two phases : the constraints are first solved with
+	 * {@link #COARSE_TRESHOLD_EVENTS}, then only the candidate access windows
+	 * surviving the logical gates and the minimum duration are refined with
+	 * {@link #TRESHOLD_EVENTS}. The access windows are the same, with fewer
+	 * root-finding iterations.
+	 * 
+	 * @param twoPhaseDetection true to detect the access windows in two phases
+	 */
+	public void setTwoPhaseDetection(boolean twoPhaseDetection) {
+		this.twoPhaseDetection = twoPhaseDetection;
+	}
+
+	/**
+	 * @return the minimum duration (s) of the computed access windows
+	 */
+	public double getMinimumAccessDuration() {
+		return this.minimumAccessDuration;
+	}
+
+	/**
+	 * Set the minimum duration of the computed access windows, the shorter ones
+	 * being dropped, for instance {@link ConstantsBE#INTEGRATION_TIME}. The
+	 * serialized accesses are specific to this duration.
+	 * 
+	 * @param minimumAccessDuration Minimum duration (s), 0 to keep all the windows
+	 */
+	public void setMinimumAccessDuration(double minimumAccessDuration) {
+		this.minimumAccessDuration = minimumAccessDuration;
+	}
+
+	/**
+	 * @return the number of g-function evaluations of the constraint detectors
+	 *         since the mission creation
+	 */
+	public long getDetectorEvaluations() {
+		return this.detectorEvaluations.sum();
+	}
+
+	/**
+	 * @return the number of g-function evaluations of the shared access engine
+	 *         outside of its sampling grid, 0 if it has not been built, see
+	 *         {@link AccessEngine#getEvaluations()}
+	 */
+	public synchronized long getEngineEvaluations() {
+		return this.accessEngine == null ? 0L : this.accessEngine.getEvaluations();
+	}
+
+	/**
+	 * @return whether the accesses are detected with a single fused detector
+	 */
+	public boolean isFusedDetector() {
+		return this.fusedDetector;
+	}
+
+	/**
+	 * Set whether the access windows of {@link AccessMode#PER_SITE_PROPAGATION}
+	 * are detected by a single {@link FusedAccessDetector}, whose roots are the
+	 * access windows edges, rather than by one detector per constraint combined
+	 * afterwards. The fused detector uses the closed-form geometry and a fixed
+	 * max-check interval : the cascade, adaptive max-check and analytic
+	 * illumination settings do not apply to it. The per-constraint phenomena
+	 * remain available with {@link #createSiteConstraintsTimeline(Site)}.
+	 * 
+	 * @param fusedDetector true to use the fused detector
+	 */
+	public void setFusedDetector(boolean fusedDetector) {
+		this.fusedDetector = fusedDetector;
+	}
+
+	/**
+	 * @return whether the constraints are evaluated in cascade
+	 */
+	public boolean isConstraintCascade() {
+		return this.constraintCascade;
+	}
+
+	/**
+	 * Set whether the constraints are evaluated in cascade : the visibility
+	 * windows are computed first, then the illumination and dazzling constraints
+	 * are only evaluated inside them. The access windows are the same, since the
+	 * access needs the visibility, but the orbit is no longer propagated with the
+	 * dazzling detector while the site is not visible.
+	 * 
+	 * @param constraintCascade true to evaluate the constraints in cascade
+	 */
+	public void setConstraintCascade(boolean constraintCascade) {
+		this.constraintCascade = constraintCascade;
+	}
+
+	/**
+	 * @return the score mass, relative to the planned score, below which the lazy
+	 *         planner stops pulling sites
+	 */
+	public double getLazyPlanningTolerance() {
+		return this.lazyPlanningTolerance;
+	}
+
+	/**
+	 * Set the score mass, relative to the planned score, below which
+	 * {@link #computeLazyObservationPlan()} stops pulling sites : for instance
+	 * 0.01 leaves out the sites whose total score is below 1% of the planned
+	 * score. With 0, every site is pulled and the plan is the one of
+	 * {@link #computeObservationPlan()}.
+	 * 
+	 * @param lazyPlanningTolerance Relative score mass, 0 for an exact plan
+	 * @throws IllegalArgumentException if the tolerance is negative
+	 */
+	public void setLazyPlanningTolerance(double lazyPlanningTolerance) {
+		if (lazyPlanningTolerance < 0.) {
+			throw new IllegalArgumentException("The lazy planning tolerance must not be negative : "
+					+ lazyPlanningTolerance);
+		}
+		this.lazyPlanningTolerance = lazyPlanningTolerance;
+	}
+
+	/**
+	 * @return the fidelity preset of the pipeline
+	 */
+	public FidelityPreset getFidelity() {
+		return this.fidelity;
+	}
+
+	/**
+	 * Set the fidelity preset of the pipeline : the tolerances of the access
+	 * detectors, the step between the observation candidates and the resolution
+	 * of the VTS ephemerides. The accesses are serialized separately for each
+	 * preset, {@link FidelityPreset#PRECISE} keeping the former files.
+	 * 
+	 * @param fidelity Fidelity preset
+	 */
+	public synchronized void setFidelity(FidelityPreset fidelity) {
+		this.fidelity = fidelity;
+		// The shared engines are built with the detector tolerances
+		this.accessEngine = null;
+		this.repeatCycleAccess = null;
+		this.illuminationEngine = null;
+	}
+
+	/**
+	 * @return the strategy used to compute the site access timelines
+	 */
+	public AccessMode getAccessMode() {
+		return this.accessMode;
+	}
+
+	/**
+	 * Set the strategy used to compute the site access timelines.
+	 * 
+	 * @param accessMode Strategy to use
+	 */
+	public void setAccessMode(AccessMode accessMode) {
+		this.accessMode = accessMode;
+	}
+
+	/**
+	 * @return the number of threads used to compute the access plan
+	 */
+	public int getAccessParallelism() {
+		return this.accessParallelism;
+	}
+
+	/**
+	 * Set the number of threads used to compute the access plan.
+	 * 
+	 * @param accessParallelism Number of threads, 1 for a sequential computation
+	 * @throws IllegalArgumentException if the number of threads is not positive
+	 */
+	public void setAccessParallelism(int accessParallelism) {
+		if (accessParallelism < 1) {
+			throw new IllegalArgumentException("The access parallelism must be positive : " + accessParallelism);
+		}
+		this.accessParallelism = accessParallelism;
+	}
+
+	/**
+	 * Build the inverted index of the current access plan, with one bucket per
+	 * orbit revolution : the sites accessible during a pass, or around any date,
+	 * are then found without scanning every access {@link Timeline}.
+	 * 
+	 * @return the index of the access plan, not updated when the plan changes
+	 */
+	public AccessIndex createAccessIndex() {
+		return new AccessIndex(this.accessPlan, new AbsoluteDateInterval(this.getStartDate(), this.getEndDate()),
+				this.getSatellite().getInitialOrbit().getKeplerianPeriod());
+	}
+
+	/**
+	 * @return the directory of the serialized accesses
+	 */
+	public File getAccessDirectory() {
+		return this.accessDirectory;
+	}
+
+	/**
+	 * Set the directory in which the accesses are serialized and looked for, by
+	 * default {@link #ACCESS_DIRECTORY} in the working directory. The accesses
+	 * serialized in another directory are not reused.
+	 * 
+	 * @param accessDirectory Directory of the serialized accesses
+	 */
+	public void setAccessDirectory(File accessDirectory) {
+		this.accessDirectory = accessDirectory;
+	}
+
+	/**
+	 * Check whether the accesses of a {@link Site} over the mission horizon are
+	 * held by the access cache container of the current configuration.
+	 * 
+	 * @param site Input {@link Site}
+	 * @return true if the accesses of the site have been serialized
+	 * @throws IOException If the container cannot be read
+	 */
+	public boolean isAccessCached(Site site) throws IOException {
+		return getAccessCache(this.getEndDate().durationFrom(this.getStartDate())).contains(site.getName());
+	}
+
+	/**
+	 * @return the accessPlan
+	 */
+	public Map<Site, Timeline> getAccessPlan() {
+		return this.accessPlan;
+	}
+
+	/**
+	 * @return the observationPlan
+	 */
+	public Map<Site, AttitudeLawLeg> getObservationPlan() {
+		return this.observationPlan;
+	}
+
+	/**
+	 * @return the cinematicPlan
+	 */
+	public StrictAttitudeLegsSequence<AttitudeLeg> getCinematicPlan() {
+		return this.cinematicPlan;
+	}
+
+	/**
+	 * Writes the VTS output files, as
+	 * {@link SimpleMission#generateVTSVisualization(StrictAttitudeLegsSequence)}
+	 * does, the ephemerides being sampled at the steps of the fidelity preset.
+	 * 
+	 * @param cinematicPlan Input cinematic plan.
+	 * @throws PropagationException if an error happens during the orbit
+	 *                              propagation
+	 */
+	@Override
+	public void generateVTSVisualization(StrictAttitudeLegsSequence<AttitudeLeg> cinematicPlan)
+			throws PropagationException {
+		// Propagator for the satellite's pointing capacity view (nadir law)
+		final KeplerianPropagator vtsPropagatorNadir = createDefaultPropagator();
+		vtsPropagatorNadir.setEphemerisMode();
+		vtsPropagatorNadir.propagate(this.getEndDate());
+		final BoundedPropagator ephemerisNadir = vtsPropagatorNadir.getGeneratedEphemeris();
+
+		// Propagator for the cinematic plan visualization
+		final KeplerianPropagator vtsPropagator = new KeplerianPropagator(this.getSatellite().getInitialOrbit(),
+				cinematicPlan);
+		vtsPropagator.setEphemerisMode();
+		vtsPropagator.propagate(this.getEndDate());
+		final BoundedPropagator ephemeris = vtsPropagator.getGeneratedEphemeris();
+
+		// Writing the outputs
+		final String directory = ConstantsBE.PATH_VTS_DIRECTORY + File.separator;
+		logger.info("\n\nWriting VTS outputs, please wait...");
+		VTSTools.generatePOIFile(directory + "BE_Supaero_Target_Sites_POI.txt", this.getSiteList());
+		VTSTools.generateOEMFile(directory + "BE_Supaero_Satellite_Trajectory_OEM.txt", this.getStartDate(),
+				this.getEndDate(), ephemeris, this.fidelity.getOemStep());
+		VTSTools.generateAEMFile(directory + "BE_Supaero_Nadir_Pointing_AEM.txt", this.getStartDate(),
+				this.getEndDate(), ephemerisNadir, this.fidelity.getAemStep());
+		VTSTools.generateAEMFile(directory + "BE_Supaero_Cinematic_Plan_AEM.txt", this.getStartDate(),
+				this.getEndDate(), ephemeris, this.fidelity.getAemStep());
+		VTSTools.generateLegSequenceMEMFile(directory + "BE_Supaero_Cinematic_Plan_Events_MEM.txt", cinematicPlan);
+		logger.info("VTS outputs written");
+	}
+
+	@Override
+	public String toString() {
+		return "CompleteMission [name=" + this.getName() + ", startDate=" + this.getStartDate() + ", endDate="
+				+ this.getEndDate() + ", satellite=" + this.getSatellite() + "]";
+	}
+}
@@ -0,0 +1,113 @@
+package progmission;
+
+/**
+ * Fidelity presets of the mission pipeline, jointly setting the tolerances of
+ * the access detectors, the sampling of the observation candidates and the
+ * resolution of the VTS ephemerides.
+ *
+ * The accuracy of each preset follows from its parameters :
+ * <ul>
+ * <li>the detectors step the orbit every max-check interval, so a window
+ * shorter than it may be missed, and refine the window boundaries to the
+ * threshold ;</li>
+ * <li>the observation candidates are sampled every candidate step along each
+ * access window, so the planned observations are at most one step away from
+ * the best ones ;</li>
+ * <li>the VTS ephemerides are interpolated between their samples.</li>
+ * </ul>
+ * No runtime or measured accuracy figures are provided : the presets have not
+ * been benchmarked, and their runtimes depend on the machine and on the
+ * scenario.
+ */
+public enum FidelityPreset {
+
+	/**
+	 * Quick-look runs : the detectors step the orbit twice less often than with
+	 * {@link #PRECISE}, with a looser threshold, and the observation candidates
+	 * are six times sparser. Window boundaries within 0.5 s, windows shorter than
+	 * 4 min may be missed.
+	 */
+	FAST(240., 0.5, 30.001, 300., 10.),
+
+	/**
+	 * What-if runs : the detectors step the orbit as with {@link #PRECISE}, so they
+	 * see the same sign changes, and only refine the window boundaries to 10 ms.
+	 * The observation candidates are twice sparser.
+	 */
+	BALANCED(CompleteMission.MAXCHECK_EVENTS, 1.e-2, 10.001, 60., 5.),
+
+	/**
+	 * Release runs : the reference precision, with the accesses serialized under
+	 * the same names as before the presets.
+	 */
+	PRECISE(CompleteMission.MAXCHECK_EVENTS, CompleteMission.TRESHOLD_EVENTS, 5.001, 60., 1.);
+
+	/** Max-check interval (s) of the access detectors. */
+	private final double maxCheck;
+
+	/** Convergence threshold (s) of the access detectors. */
+	private final double threshold;
+
+	/** Step (s) between the observation candidates along an access window. */
+	private final double candidateStep;
+
+	/** Step (s) of the VTS position ephemeris. */
+	private final double oemStep;
+
+	/** Step (s) of the VTS attitude ephemerides. */
+	private final double aemStep;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxCheck      Max-check interval (s) of the access detectors
+	 * @param threshold     Convergence threshold (s) of the access detectors
+	 * @param candidateStep Step (s) between the observation candidates
+	 * @param oemStep       Step (s) of the VTS position ephemeris
+	 * @param aemStep       Step (s) of the VTS attitude ephemerides
+	 */
+	FidelityPreset(final double maxCheck, final double threshold, final double candidateStep, final double oemStep,
+			final double aemStep) {
+		this.maxCheck = maxCheck;
+		this.threshold = threshold;
+		this.candidateStep = candidateStep;
+		this.oemStep = oemStep;
+		this.aemStep = aemStep;
+	}
+
+	/**
+	 * @return the max-check interval (s) of the access detectors
+	 */
+	public double getMaxCheck() {
+		return this.maxCheck;
+	}
+
+	/**
+	 * @return the convergence threshold (s) of the access detectors
+	 */
+	public double getThreshold() {
+		return this.threshold;
+	}
+
+	/**
+	 * @return the step (s) between the observation candidates along an access
+	 *         window
+	 */
+	public double getCandidateStep() {
+		return this.candidateStep;
+	}
+
+	/**
+	 * @return the step (s) of the VTS position ephemeris
+	 */
+	public double getOemStep() {
+		return this.oemStep;
+	}
+
+	/**
+	 * @return the step (s) of the VTS attitude ephemerides
+	 */
+	public double getAemStep() {
+		return this.aemStep;
+	}
+}
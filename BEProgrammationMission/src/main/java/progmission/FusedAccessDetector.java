@@ -0,0 +1,133 @@
+package progmission;
+
+import fr.cnes.sirius.patrius.frames.Frame;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinatesProvider;
+import fr.cnes.sirius.patrius.propagation.SpacecraftState;
+import fr.cnes.sirius.patrius.propagation.events.AbstractDetector;
+import fr.cnes.sirius.patrius.propagation.events.EventDetector;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+
+/**
+ * Access {@link EventDetector} of a site fusing the three
+ * {@link AccessConstraint}.
+ *
+ * The g-function is the signed minimum of the constraint margins computed by
+ * {@link AccessGeometry} : the visibility margin, the illumination margin and
+ * the opposite of the dazzling excess. It is positive exactly when the site is
+ * visible and illuminated and not dazzled, so the roots found by the propagator
+ * are directly the access windows edges : a single detector, with a single
+ * root search, replaces the three constraint detectors.
+ *
+ * The constraint limiting the access at a given state is given by
+ * {@link #getLimitingConstraint(SpacecraftState)}, for diagnostics.
+ */
+public class FusedAccessDetector extends AbstractDetector {
+
+	/** Serializable UID. */
+	private static final long serialVersionUID = 7403166584187201949L;
+
+	/** Geometry of the site. */
+	private final AccessGeometry geometry;
+
+	/** Sun position provider. */
+	private final PVCoordinatesProvider sun;
+
+	/** Earth body frame, in which the geometry is evaluated. */
+	private final Frame bodyFrame;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param geometry  Geometry of the site
+	 * @param sun       Sun position provider
+	 * @param bodyFrame Earth body frame
+	 * @param maxCheck  Max-check interval (s)
+	 * @param threshold Convergence threshold (s)
+	 */
+	public FusedAccessDetector(final AccessGeometry geometry, final PVCoordinatesProvider sun,
+			final Frame bodyFrame, final double maxCheck, final double threshold) {
+		super(maxCheck, threshold);
+		this.geometry = geometry;
+		this.sun = sun;
+		this.bodyFrame = bodyFrame;
+	}
+
+	/**
+	 * Evaluate the access margin of the site.
+	 *
+	 * @param s Current spacecraft state
+	 * @return the smallest constraint margin (rad), positive during the accesses
+	 * @throws PatriusException If the satellite or Sun position cannot be
+	 *                          computed
+	 */
+	@Override
+	public double g(final SpacecraftState s) throws PatriusException {
+		final double[] margins = margins(s);
+		return MathLib.min(margins[0], MathLib.min(margins[1], margins[2]));
+	}
+
+	/**
+	 * Get the constraint limiting the access at a given state, that is to say the
+	 * one with the smallest margin.
+	 *
+	 * @param s Spacecraft state
+	 * @return the limiting {@link AccessConstraint}
+	 * @throws PatriusException If the satellite or Sun position cannot be
+	 *                          computed
+	 */
+	public AccessConstraint getLimitingConstraint(final SpacecraftState s) throws PatriusException {
+		final double[] margins = margins(s);
+		final AccessConstraint[] constraints = AccessConstraint.values();
+		int limiting = 0;
+		for (int i = 1; i < margins.length; i++) {
+			if (margins[i] < margins[limiting]) {
+				limiting = i;
+			}
+		}
+		return constraints[limiting];
+	}
+
+	/**
+	 * Compute the margins of the constraints, in the {@link AccessConstraint}
+	 * order, each one positive when the constraint allows the access.
+	 *
+	 * @param s Spacecraft state
+	 * @return the visibility, illumination and no-dazzling margins (rad)
+	 * @throws PatriusException If the satellite or Sun position cannot be
+	 *                          computed
+	 */
+	private double[] margins(final SpacecraftState s) throws PatriusException {
+		final Vector3D sat = s.getPVCoordinates(this.bodyFrame).getPosition();
+		final Vector3D sunPosition = this.sun.getPVCoordinates(s.getDate(), this.bodyFrame).getPosition();
+		return new double[] { this.geometry.visibilityG(sat.getX(), sat.getY(), sat.getZ()),
+				this.geometry.illuminationG(sunPosition.getX(), sunPosition.getY(), sunPosition.getZ()),
+				-this.geometry.dazzlingG(sat.getX(), sat.getY(), sat.getZ(), sunPosition.getX(),
+						sunPosition.getY(), sunPosition.getZ()) };
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Action eventOccurred(final SpacecraftState s, final boolean increasing, final boolean forward)
+			throws PatriusException {
+		return Action.CONTINUE;
+	}
+
+	/**
+	 * @return false : the detector is never removed from the propagator
+	 */
+	@Override
+	public boolean shouldBeRemoved() {
+		return false;
+	}
+
+	/**
+	 * @return a copy of this detector
+	 */
+	@Override
+	public EventDetector copy() {
+		return new FusedAccessDetector(this.geometry, this.sun, this.bodyFrame, getMaxCheckInterval(),
+				getThreshold());
+	}
+}
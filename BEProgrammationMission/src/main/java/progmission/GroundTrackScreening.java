@@ -0,0 +1,208 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.cnes.sirius.patrius.frames.Frame;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinatesProvider;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.Constants;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import reader.Site;
+
+/**
+ * Coarse screening of the satellite passes over the sites, based on the ground
+ * track.
+ *
+ * The satellite can only see a site when the Earth central angle between the
+ * site and the sub-satellite point is below the angle covered by the pointing
+ * capacity cone (about 7 degrees for our orbit). The ground track is sampled
+ * once, and for each site the samples close enough to the site give candidate
+ * pass intervals. The test angle is widened by the distance the sub-satellite
+ * point can travel in half a step, and the candidates are extended by one step
+ * on each side : every visibility window of the site is strictly included in a
+ * candidate, and the satellite is not visible at the candidate bounds. The
+ * same test, widened by the radius of a spherical cap, gives candidates shared
+ * by all the sites of the cap (see {@link SiteCellScreening}).
+ *
+ * Once built, the screening can be used concurrently for different sites.
+ */
+public class GroundTrackScreening {
+
+	/** Reference date of the time offsets : the mission start date. */
+	private final AbsoluteDate origin;
+
+	/** Mission whose passes are screened. */
+	private final SimpleMission mission;
+
+	/** Time interval covered by the screening. */
+	private final AbsoluteDateInterval interval;
+
+	/** Sampling step (s). */
+	private final double step;
+
+	/** Pointing capacity of the satellite (rad). */
+	private final double pointingCapacity;
+
+	/**
+	 * Maximum angle (rad) the sub-satellite point can travel in half a sampling
+	 * step.
+	 */
+	private final double halfStepTravel;
+
+	/** Offsets (s) of the sampling grid from the origin. */
+	private final double[] times;
+
+	/** Sub-satellite points (unit vectors) in the Earth body frame. */
+	private final double[] trackX, trackY, trackZ;
+
+	/** Distance from the Earth center to the satellite (m). */
+	private final double[] radius;
+
+	/**
+	 * Sample the ground track over the input interval.
+	 *
+	 * @param mission          Mission whose passes are screened
+	 * @param interval         Time interval to cover
+	 * @param step             Sampling step (s)
+	 * @param pointingCapacity Pointing capacity of the satellite (rad)
+	 * @throws PatriusException If the satellite positions cannot be computed
+	 */
+	public GroundTrackScreening(final SimpleMission mission, final AbsoluteDateInterval interval, final double step,
+			final double pointingCapacity) throws PatriusException {
+		this.mission = mission;
+		this.origin = mission.getStartDate();
+		this.interval = interval;
+		this.step = step;
+		this.pointingCapacity = pointingCapacity;
+
+		// Angular rate of the sub-satellite point : orbital motion plus Earth rotation
+		final double angularRate = mission.getSatellite().getInitialOrbit().getKeplerianMeanMotion()
+				+ Constants.WGS84_EARTH_ANGULAR_VELOCITY;
+		this.halfStepTravel = 0.5 * step * angularRate;
+
+		// Sampling the ground track
+		final Frame bodyFrame = mission.getEarth().getBodyFrame();
+		final PVCoordinatesProvider satellite = mission.getEphemeris();
+		final double start = interval.getLowerData().durationFrom(this.origin);
+		final double duration = interval.getDuration();
+		final int n = (int) MathLib.ceil(duration / step) + 1;
+		this.times = new double[n];
+		this.trackX = new double[n];
+		this.trackY = new double[n];
+		this.trackZ = new double[n];
+		this.radius = new double[n];
+		for (int i = 0; i < n; i++) {
+			this.times[i] = start + MathLib.min(i * step, duration);
+			final Vector3D sat = satellite.getPVCoordinates(this.origin.shiftedBy(this.times[i]), bodyFrame)
+					.getPosition();
+			this.radius[i] = sat.getNorm();
+			this.trackX[i] = sat.getX() / this.radius[i];
+			this.trackY[i] = sat.getY() / this.radius[i];
+			this.trackZ[i] = sat.getZ() / this.radius[i];
+		}
+	}
+
+	/**
+	 * Compute the candidate pass windows of the input {@link Site}.
+	 *
+	 * @param site Input target {@link Site}
+	 * @return the candidate windows as {start, end} offsets (s) from the mission
+	 *         start, clipped to the screening interval
+	 * @throws PatriusException If the site position cannot be computed
+	 */
+	public List<double[]> computeCandidateWindows(final Site site) throws PatriusException {
+		final Vector3D sitePosition = new AccessGeometry(site, this.mission.getEarth()).getSitePosition();
+		return computeCandidateWindows(sitePosition.normalize(), sitePosition.getNorm(), 0.);
+	}
+
+	/**
+	 * Compute the candidate pass windows shared by all the sites of a spherical
+	 * cap : every visibility window of a site less than the cap radius away from
+	 * the cap center is strictly included in a candidate.
+	 *
+	 * @param center     Direction of the cap center in the Earth body frame
+	 * @param siteRadius Smallest distance from the Earth center to the sites (m),
+	 *                   giving the widest pass angle
+	 * @param capRadius  Earth central angle (rad) between the cap center and its
+	 *                   farthest site, 0 for a single site
+	 * @return the candidate windows as {start, end} offsets (s) from the mission
+	 *         start, clipped to the screening interval
+	 */
+	public List<double[]> computeCandidateWindows(final Vector3D center, final double siteRadius,
+			final double capRadius) {
+		final double ux = center.getX();
+		final double uy = center.getY();
+		final double uz = center.getZ();
+		final double sinCapacity = MathLib.sin(this.pointingCapacity);
+
+		final List<double[]> candidates = new ArrayList<>();
+		final int n = this.times.length;
+		final double first = this.times[0];
+		final double last = this.times[n - 1];
+		double[] current = null;
+		for (int i = 0; i < n; i++) {
+			// Earth central angle covered by the pointing capacity cone from this
+			// sample (law of sines in the Earth center / satellite / site triangle),
+			// limited by the horizon
+			final double ratio = this.radius[i] / siteRadius * sinCapacity;
+			final double passAngle = ratio < 1. ? MathLib.asin(ratio) - this.pointingCapacity
+					: MathLib.acos(siteRadius / this.radius[i]);
+			final double limit = passAngle + capRadius + this.halfStepTravel;
+			final double cosAngle = ux * this.trackX[i] + uy * this.trackY[i] + uz * this.trackZ[i];
+			if (cosAngle >= MathLib.cos(limit)) {
+				final double lower = MathLib.max(first, this.times[i] - this.step);
+				final double upper = MathLib.min(last, this.times[i] + this.step);
+				if (current != null && lower <= current[1]) {
+					// Overlapping the current candidate : extending it
+					current[1] = upper;
+				} else {
+					current = new double[] { lower, upper };
+					candidates.add(current);
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Compute the candidate pass intervals of the input {@link Site}.
+	 *
+	 * @param site Input target {@link Site}
+	 * @return the chronological list of candidate intervals
+	 * @throws PatriusException If the site position cannot be computed
+	 */
+	public List<AbsoluteDateInterval> computeCandidateIntervals(final Site site) throws PatriusException {
+		final List<AbsoluteDateInterval> intervals = new ArrayList<>();
+		for (final double[] window : computeCandidateWindows(site)) {
+			intervals.add(new AbsoluteDateInterval(this.origin.shiftedBy(window[0]), this.origin.shiftedBy(window[1])));
+		}
+		return intervals;
+	}
+
+	/**
+	 * Compute the Earth central angle covered by the pointing capacity cone, for a
+	 * site on the equator and the satellite at its lowest sample.
+	 *
+	 * @return the footprint half-angle (rad)
+	 */
+	public double getFootprintAngle() {
+		double lowest = Double.POSITIVE_INFINITY;
+		for (final double r : this.radius) {
+			lowest = MathLib.min(lowest, r);
+		}
+		final double ratio = lowest / Constants.WGS84_EARTH_EQUATORIAL_RADIUS * MathLib.sin(this.pointingCapacity);
+		return ratio < 1. ? MathLib.asin(ratio) - this.pointingCapacity
+				: MathLib.acos(Constants.WGS84_EARTH_EQUATORIAL_RADIUS / lowest);
+	}
+
+	/**
+	 * @return the time interval covered by the screening
+	 */
+	public AbsoluteDateInterval getInterval() {
+		return this.interval;
+	}
+}
@@ -0,0 +1,136 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.cnes.sirius.patrius.frames.Frame;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinatesProvider;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import reader.Site;
+
+/**
+ * Illumination engine computing the Sun incidence windows of the sites without
+ * any orbit propagation.
+ *
+ * The illumination constraint only depends on the Earth rotation and on the Sun
+ * position : the Sun is sampled once over the time interval in the Earth body
+ * frame, where the sites are fixed, and this table is shared by all the sites.
+ * For each site, the illumination g-function of {@link AccessGeometry} is
+ * evaluated on the table and its sign changes are refined to the convergence
+ * threshold.
+ *
+ * Once built, the engine can be used concurrently for different sites.
+ */
+public class IlluminationEngine {
+
+	/** Mission whose sites are evaluated. */
+	private final SimpleMission mission;
+
+	/** Reference date of the time offsets : the mission start date. */
+	private final AbsoluteDate origin;
+
+	/** Convergence threshold (s) on the window boundaries. */
+	private final double threshold;
+
+	/** Earth body frame, in which the geometry is evaluated. */
+	private final Frame bodyFrame;
+
+	/** Sun ephemeris used to refine the sign changes. */
+	private final PVCoordinatesProvider sun;
+
+	/** Offsets (s) of the sampling grid from the origin. */
+	private final double[] times;
+
+	/** Sun positions on the grid in the Earth body frame (m). */
+	private final double[] sunX, sunY, sunZ;
+
+	/**
+	 * Build the engine and sample the Sun over the input interval.
+	 *
+	 * @param mission   Mission whose sites are evaluated
+	 * @param interval  Time interval to cover
+	 * @param step      Sampling step (s) : sign changes of the g-function are
+	 *                  looked for between consecutive samples
+	 * @param threshold Convergence threshold (s) on the window boundaries
+	 * @throws PatriusException If the Sun positions cannot be computed
+	 */
+	public IlluminationEngine(final SimpleMission mission, final AbsoluteDateInterval interval, final double step,
+			final double threshold) throws PatriusException {
+		this.mission = mission;
+		this.origin = mission.getStartDate();
+		this.threshold = threshold;
+		this.bodyFrame = mission.getEarth().getBodyFrame();
+		this.sun = mission.getSunEphemeris();
+
+		// Sampling the Sun once for all the sites
+		final double start = interval.getLowerData().durationFrom(this.origin);
+		final double duration = interval.getDuration();
+		final int n = (int) MathLib.ceil(duration / step) + 1;
+		this.times = new double[n];
+		this.sunX = new double[n];
+		this.sunY = new double[n];
+		this.sunZ = new double[n];
+		for (int i = 0; i < n; i++) {
+			this.times[i] = start + MathLib.min(i * step, duration);
+			final Vector3D position = sunPosition(this.times[i]);
+			this.sunX[i] = position.getX();
+			this.sunY[i] = position.getY();
+			this.sunZ[i] = position.getZ();
+		}
+	}
+
+	/**
+	 * Compute the illumination windows of the input {@link Site} over an interval.
+	 *
+	 * @param site     Input target {@link Site}
+	 * @param interval Time interval to cover, inside the one of the engine
+	 * @return the chronological list of the intervals during which the Sun
+	 *         incidence angle is below its maximum, clipped to the input interval
+	 * @throws PatriusException If the site position or the Sun position cannot be
+	 *                          computed
+	 */
+	public List<AbsoluteDateInterval> computeIlluminationIntervals(final Site site,
+			final AbsoluteDateInterval interval) throws PatriusException {
+		final AccessGeometry geometry = new AccessGeometry(site, this.mission.getEarth());
+		final double lower = interval.getLowerData().durationFrom(this.origin);
+		final double upper = interval.getUpperData().durationFrom(this.origin);
+
+		// Evaluating the g-function on the shared Sun table and refining its sign
+		// changes
+		final List<AbsoluteDateInterval> intervals = new ArrayList<>();
+		for (final double[] window : WindowFinder.findWindows(this.times,
+				i -> geometry.illuminationG(this.sunX[i], this.sunY[i], this.sunZ[i]), x -> g(geometry, x),
+				this.threshold, lower, upper)) {
+			intervals.add(new AbsoluteDateInterval(this.origin.shiftedBy(window[0]), this.origin.shiftedBy(window[1])));
+		}
+		return intervals;
+	}
+
+	/**
+	 * Evaluate the illumination g-function at any date.
+	 *
+	 * @param geometry Geometry of the site
+	 * @param t        Offset (s) from the mission start
+	 * @return the g-function value
+	 * @throws PatriusException If the Sun position cannot be computed
+	 */
+	private double g(final AccessGeometry geometry, final double t) throws PatriusException {
+		final Vector3D position = sunPosition(t);
+		return geometry.illuminationG(position.getX(), position.getY(), position.getZ());
+	}
+
+	/**
+	 * Get the Sun position in the Earth body frame.
+	 *
+	 * @param t Offset (s) from the mission start
+	 * @return the Sun position (m)
+	 * @throws PatriusException If the Sun position cannot be computed
+	 */
+	private Vector3D sunPosition(final double t) throws PatriusException {
+		return this.sun.getPVCoordinates(this.origin.shiftedBy(t), this.bodyFrame).getPosition();
+	}
+}
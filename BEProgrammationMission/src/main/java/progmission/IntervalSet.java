@@ -0,0 +1,294 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import fr.cnes.sirius.patrius.events.CodedEvent;
+import fr.cnes.sirius.patrius.events.Phenomenon;
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+
+/**
+ * Immutable set of disjoint time intervals, stored as a sorted array of
+ * primitive offsets (s) from a reference date.
+ *
+ * The logical gates used to combine the access constraints (AND, NOT, OR) and
+ * the minimum duration filter run in linear time over the bounds arrays,
+ * without creating any {@link Phenomenon} or {@link CodedEvent}. The
+ * conversion from and to a {@link Timeline} is only done at the boundaries of
+ * the computation.
+ */
+public final class IntervalSet {
+
+	/** Empty set. */
+	public static final IntervalSet EMPTY = new IntervalSet(new double[0]);
+
+	/**
+	 * Bounds of the intervals : {start0, end0, start1, end1, ...}, strictly
+	 * increasing.
+	 */
+	private final double[] bounds;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param bounds Sorted bounds of disjoint non-empty intervals, not copied
+	 */
+	private IntervalSet(final double[] bounds) {
+		this.bounds = bounds;
+	}
+
+	/**
+	 * Build a set from a list of windows. The windows may be unsorted and may
+	 * overlap : overlapping or touching windows are merged, empty ones are
+	 * dropped.
+	 *
+	 * @param windows Windows as {start, end} offsets (s)
+	 * @return the set of the windows
+	 */
+	public static IntervalSet fromWindows(final List<double[]> windows) {
+		final List<double[]> sorted = new ArrayList<>(windows);
+		sorted.sort((a, b) -> Double.compare(a[0], b[0]));
+		final double[] bounds = new double[2 * sorted.size()];
+		int n = 0;
+		for (final double[] window : sorted) {
+			if (!(window[1] > window[0])) {
+				continue;
+			}
+			if (n > 0 && window[0] <= bounds[n - 1]) {
+				// Overlapping the previous interval : extending it
+				bounds[n - 1] = MathLib.max(bounds[n - 1], window[1]);
+			} else {
+				bounds[n++] = window[0];
+				bounds[n++] = window[1];
+			}
+		}
+		return new IntervalSet(Arrays.copyOf(bounds, n));
+	}
+
+	/**
+	 * Build a set from the {@link Phenomenon} of a {@link Timeline} having a given
+	 * code.
+	 *
+	 * @param timeline Input {@link Timeline}
+	 * @param code     Code of the phenomena to keep
+	 * @param origin   Reference date of the offsets
+	 * @return the set of the phenomena time spans
+	 */
+	public static IntervalSet fromTimeline(final Timeline timeline, final String code, final AbsoluteDate origin) {
+		final List<double[]> windows = new ArrayList<>();
+		for (final Phenomenon phenom : timeline.getPhenomenaList()) {
+			if (code.equals(phenom.getCode())) {
+				final AbsoluteDateInterval timespan = phenom.getTimespan();
+				windows.add(new double[] { timespan.getLowerData().durationFrom(origin),
+						timespan.getUpperData().durationFrom(origin) });
+			}
+		}
+		return fromWindows(windows);
+	}
+
+	/**
+	 * Build a {@link Timeline} containing one {@link Phenomenon} per interval.
+	 * The phenomena whose bound is a bound of the timeline interval are
+	 * considered as clipped : this bound is marked as undefined.
+	 *
+	 * @param origin   Reference date of the offsets
+	 * @param interval Interval of validity of the {@link Timeline}
+	 * @param code     Code of the phenomena ; their events are coded "Start of
+	 *                 &lt;code&gt;" and "End of &lt;code&gt;"
+	 * @param comment  Comment of the phenomena and of their events
+	 * @return the {@link Timeline}
+	 * @throws PatriusException If the {@link Timeline} cannot be built
+	 */
+	public Timeline toTimeline(final AbsoluteDate origin, final AbsoluteDateInterval interval, final String code,
+			final String comment) throws PatriusException {
+		final double lower = interval.getLowerData().durationFrom(origin);
+		final double upper = interval.getUpperData().durationFrom(origin);
+		final Timeline timeline = new Timeline(interval);
+		for (int i = 0; i < size(); i++) {
+			final double start = getStart(i);
+			final double end = getEnd(i);
+			final CodedEvent startEvent = new CodedEvent("Start of " + code, comment, origin.shiftedBy(start), true);
+			final CodedEvent endEvent = new CodedEvent("End of " + code, comment, origin.shiftedBy(end), false);
+			timeline.addPhenomenon(new Phenomenon(startEvent, start > lower, endEvent, end < upper, code, comment));
+		}
+		return timeline;
+	}
+
+	/**
+	 * Intersection with another set (logical AND).
+	 *
+	 * @param other Other set
+	 * @return the intervals covered by both sets
+	 */
+	public IntervalSet and(final IntervalSet other) {
+		final double[] a = this.bounds;
+		final double[] b = other.bounds;
+		final double[] result = new double[a.length + b.length];
+		int n = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			final double start = MathLib.max(a[i], b[j]);
+			final double end = MathLib.min(a[i + 1], b[j + 1]);
+			if (start < end) {
+				result[n++] = start;
+				result[n++] = end;
+			}
+			// The interval ending first cannot intersect anything else
+			if (a[i + 1] < b[j + 1]) {
+				i += 2;
+			} else {
+				j += 2;
+			}
+		}
+		return new IntervalSet(Arrays.copyOf(result, n));
+	}
+
+	/**
+	 * Union with another set (logical OR). Touching intervals are merged.
+	 *
+	 * @param other Other set
+	 * @return the intervals covered by at least one of the sets
+	 */
+	public IntervalSet or(final IntervalSet other) {
+		final double[] a = this.bounds;
+		final double[] b = other.bounds;
+		final double[] result = new double[a.length + b.length];
+		int n = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length || j < b.length) {
+			// Next interval in chronological order
+			final double start;
+			final double end;
+			if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+				start = a[i];
+				end = a[i + 1];
+				i += 2;
+			} else {
+				start = b[j];
+				end = b[j + 1];
+				j += 2;
+			}
+			if (n > 0 && start <= result[n - 1]) {
+				result[n - 1] = MathLib.max(result[n - 1], end);
+			} else {
+				result[n++] = start;
+				result[n++] = end;
+			}
+		}
+		return new IntervalSet(Arrays.copyOf(result, n));
+	}
+
+	/**
+	 * Complement inside a domain (logical NOT).
+	 *
+	 * @param lower Lower bound (s) of the domain
+	 * @param upper Upper bound (s) of the domain
+	 * @return the intervals of the domain not covered by this set
+	 */
+	public IntervalSet not(final double lower, final double upper) {
+		final double[] result = new double[this.bounds.length + 2];
+		int n = 0;
+		double current = lower;
+		for (int i = 0; i < this.bounds.length && current < upper; i += 2) {
+			if (this.bounds[i] > current) {
+				result[n++] = current;
+				result[n++] = MathLib.min(this.bounds[i], upper);
+			}
+			current = MathLib.max(current, this.bounds[i + 1]);
+		}
+		if (current < upper) {
+			result[n++] = current;
+			result[n++] = upper;
+		}
+		return new IntervalSet(Arrays.copyOf(result, n));
+	}
+
+	/**
+	 * Widen each interval by a margin on both sides. Intervals overlapping once
+	 * widened are merged.
+	 *
+	 * @param margin Margin (s), positive
+	 * @return the widened intervals
+	 */
+	public IntervalSet dilate(final double margin) {
+		final double[] result = new double[this.bounds.length];
+		int n = 0;
+		for (int i = 0; i < this.bounds.length; i += 2) {
+			final double start = this.bounds[i] - margin;
+			final double end = this.bounds[i + 1] + margin;
+			if (n > 0 && start <= result[n - 1]) {
+				result[n - 1] = end;
+			} else {
+				result[n++] = start;
+				result[n++] = end;
+			}
+		}
+		return new IntervalSet(Arrays.copyOf(result, n));
+	}
+
+	/**
+	 * Filter the intervals by duration.
+	 *
+	 * @param minDuration Minimum duration (s)
+	 * @return the intervals lasting at least the minimum duration
+	 */
+	public IntervalSet withMinimumDuration(final double minDuration) {
+		final double[] result = new double[this.bounds.length];
+		int n = 0;
+		for (int i = 0; i < this.bounds.length; i += 2) {
+			if (this.bounds[i + 1] - this.bounds[i] >= minDuration) {
+				result[n++] = this.bounds[i];
+				result[n++] = this.bounds[i + 1];
+			}
+		}
+		return n == this.bounds.length ? this : new IntervalSet(Arrays.copyOf(result, n));
+	}
+
+	/**
+	 * @return the number of intervals
+	 */
+	public int size() {
+		return this.bounds.length / 2;
+	}
+
+	/**
+	 * @return true if the set contains no interval
+	 */
+	public boolean isEmpty() {
+		return this.bounds.length == 0;
+	}
+
+	/**
+	 * @param i Index of the interval
+	 * @return the start offset (s) of the interval
+	 */
+	public double getStart(final int i) {
+		return this.bounds[2 * i];
+	}
+
+	/**
+	 * @param i Index of the interval
+	 * @return the end offset (s) of the interval
+	 */
+	public double getEnd(final int i) {
+		return this.bounds[2 * i + 1];
+	}
+
+	/**
+	 * @return the total duration (s) of the intervals
+	 */
+	public double getDuration() {
+		double duration = 0.;
+		for (int i = 0; i < this.bounds.length; i += 2) {
+			duration += this.bounds[i + 1] - this.bounds[i];
+		}
+		return duration;
+	}
+}
@@ -0,0 +1,317 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fr.cnes.sirius.patrius.frames.Frame;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.FastMath;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.orbits.Orbit;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinatesProvider;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.Constants;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import reader.Site;
+
+/**
+ * Access computation exploiting the ground track repeat cycle of the orbit.
+ *
+ * The orbit is Keplerian : after N revolutions the satellite is back at the
+ * same inertial position, while the Earth has rotated by a whole number of
+ * turns plus a small mismatch angle. The access geometry of a site thus
+ * repeats every N revolutions, the ground track being only shifted in
+ * longitude by the mismatch. Shifting the ground track by an angle moves the
+ * sight line of the site by a bounded angle : the visibility g-function of
+ * {@link AccessGeometry} changes by at most a known margin per cycle.
+ *
+ * The horizon is split into groups of cycles. On the first cycle of a group,
+ * the windows where the visibility g-function exceeds minus the margin
+ * accumulated over the group are computed on a full grid. On the following
+ * cycles, the visibility is only computed inside these windows shifted in
+ * time, since it cannot be active elsewhere. The Sun-dependent constraints,
+ * illumination and dazzling, are re-checked on every cycle but only inside the
+ * visibility windows. The g-functions are sampled and refined like in the
+ * {@link AccessEngine}, so the access windows are the same.
+ *
+ * When the horizon holds no repeat cycle accurate enough, the whole horizon is
+ * computed as a single group.
+ *
+ * Once built, the instance can be used concurrently for different sites.
+ */
+public class RepeatCycleAccess {
+
+	/**
+	 * Largest visibility margin (rad) accumulated over a group of cycles : beyond
+	 * it, the shifted windows would cover most of the passes above the horizon.
+	 */
+	private static final double MAX_DRIFT_MARGIN = 0.2;
+
+	/**
+	 * Safety factor on the margin per cycle, covering the motion of the Earth
+	 * body frame axis (precession, nutation, polar motion).
+	 */
+	private static final double MARGIN_SAFETY_FACTOR = 1.1;
+
+	/** Constant part (rad) of the margin per cycle. */
+	private static final double MARGIN_OFFSET = 1.e-3;
+
+	/** Mission whose accesses are computed. */
+	private final SimpleMission mission;
+
+	/** Reference date of the time offsets : the mission start date. */
+	private final AbsoluteDate origin;
+
+	/** Sampling step (s) of the g-functions. */
+	private final double step;
+
+	/** Convergence threshold (s) on the windows boundaries. */
+	private final double threshold;
+
+	/** Earth body frame, in which the geometry is evaluated. */
+	private final Frame bodyFrame;
+
+	/** Satellite ephemeris. */
+	private final PVCoordinatesProvider satellite;
+
+	/** Sun ephemeris. */
+	private final PVCoordinatesProvider sun;
+
+	/** Repeat period (s), 0 if no repeat cycle is used. */
+	private final double period;
+
+	/** Bound (rad) of the visibility g-function change over one period. */
+	private final double marginPerCycle;
+
+	/** Number of cycles of a group, sharing a fully computed first cycle. */
+	private final int cyclesPerGroup;
+
+	/**
+	 * Build the repeat cycle access computation of a mission.
+	 *
+	 * @param mission   Mission whose accesses are computed
+	 * @param interval  Time interval to cover : the repeat cycle is chosen so that
+	 *                  it holds at least two cycles
+	 * @param step      Sampling step (s) of the g-functions
+	 * @param threshold Convergence threshold (s) on the windows boundaries
+	 * @throws PatriusException If the ephemerides cannot be built
+	 */
+	public RepeatCycleAccess(final SimpleMission mission, final AbsoluteDateInterval interval, final double step,
+			final double threshold) throws PatriusException {
+		this(mission, interval, mission.getEphemeris(), mission.getSunEphemeris(), step, threshold);
+	}
+
+	/**
+	 * Build the repeat cycle access computation of a mission over any interval,
+	 * with the input satellite and Sun ephemerides instead of the ones of the
+	 * mission, which only cover the mission horizon.
+	 *
+	 * @param mission   Mission whose accesses are computed
+	 * @param interval  Time interval to cover : the repeat cycle is chosen so that
+	 *                  it holds at least two cycles
+	 * @param satellite Satellite ephemeris, covering the interval
+	 * @param sun       Sun ephemeris, covering the interval
+	 * @param step      Sampling step (s) of the g-functions
+	 * @param threshold Convergence threshold (s) on the windows boundaries
+	 */
+	public RepeatCycleAccess(final SimpleMission mission, final AbsoluteDateInterval interval,
+			final PVCoordinatesProvider satellite, final PVCoordinatesProvider sun, final double step,
+			final double threshold) {
+		this.mission = mission;
+		this.origin = mission.getStartDate();
+		this.step = step;
+		this.threshold = threshold;
+		this.bodyFrame = mission.getEarth().getBodyFrame();
+		this.satellite = satellite;
+		this.sun = sun;
+
+		// Earth rotation mismatch over each number of revolutions fitting twice in
+		// the interval, keeping the smallest one
+		final Orbit orbit = mission.getSatellite().getInitialOrbit();
+		final double revolution = orbit.getKeplerianPeriod();
+		final double rotationPerRevolution = Constants.WGS84_EARTH_ANGULAR_VELOCITY * revolution;
+		final int maxRevolutions = (int) MathLib.floor(interval.getDuration() / (2. * revolution));
+		int revolutions = 0;
+		double mismatch = Double.POSITIVE_INFINITY;
+		for (int n = 1; n <= maxRevolutions; n++) {
+			final double turns = n * rotationPerRevolution / (2. * FastMath.PI);
+			final double nMismatch = 2. * FastMath.PI * MathLib.abs(turns - MathLib.floor(turns + 0.5));
+			if (nMismatch < mismatch) {
+				mismatch = nMismatch;
+				revolutions = n;
+			}
+		}
+
+		// Shifting the ground track by the mismatch moves the site by at most
+		// Re * mismatch : the sight line from the satellite, at least at the altitude
+		// away, turns by at most Re * mismatch / h, and the site zenith by mismatch
+		final double radius = Constants.WGS84_EARTH_EQUATORIAL_RADIUS;
+		final double altitude = orbit.getA() * (1. - orbit.getE()) - radius;
+		final double margin = revolutions == 0 ? Double.POSITIVE_INFINITY
+				: MARGIN_SAFETY_FACTOR * mismatch * (radius / altitude + 1.) + MARGIN_OFFSET;
+		final int cycles = (int) MathLib.floor(MAX_DRIFT_MARGIN / margin);
+		if (cycles >= 1) {
+			this.period = revolutions * revolution;
+			this.marginPerCycle = margin;
+			this.cyclesPerGroup = cycles + 1;
+		} else {
+			this.period = 0.;
+			this.marginPerCycle = 0.;
+			this.cyclesPerGroup = 1;
+		}
+	}
+
+	/**
+	 * Compute the access windows of the input {@link Site} : satellite
+	 * visibility and illumination and no dazzling.
+	 *
+	 * @param site     Input target {@link Site}
+	 * @param interval Time interval to cover
+	 * @return the access windows as offsets (s) from the mission start
+	 * @throws PatriusException If the satellite or Sun positions cannot be
+	 *                          computed
+	 */
+	public IntervalSet computeAccessWindows(final Site site, final AbsoluteDateInterval interval)
+			throws PatriusException {
+		final AccessGeometry geometry = new AccessGeometry(site, this.mission.getEarth());
+		final double lower = interval.getLowerData().durationFrom(this.origin);
+		final double upper = interval.getUpperData().durationFrom(this.origin);
+		final double groupDuration = this.period > 0. ? this.cyclesPerGroup * this.period : upper - lower;
+
+		IntervalSet visibility = IntervalSet.EMPTY;
+		for (double groupStart = lower; groupStart < upper; groupStart += groupDuration) {
+			// First cycle of the group : windows of the visibility widened by the margin
+			// accumulated over the group, on a full grid
+			final double firstEnd = this.period > 0. ? MathLib.min(groupStart + this.period, upper) : upper;
+			final double drift = (this.cyclesPerGroup - 1) * this.marginPerCycle;
+			final IntervalSet widened = findWindows(
+					t -> visibilityG(geometry, t) + drift, window(groupStart, firstEnd));
+			if (drift > 0.) {
+				visibility = visibility.or(findWindows(t -> visibilityG(geometry, t), widened));
+			} else {
+				// Single cycle groups : the widened windows are the visibility ones
+				visibility = visibility.or(widened);
+			}
+
+			// Following cycles : the visibility can only be active inside the shifted
+			// widened windows
+			for (int k = 1; k < this.cyclesPerGroup; k++) {
+				final double cycleStart = groupStart + k * this.period;
+				if (cycleStart >= upper) {
+					break;
+				}
+				final IntervalSet domain = shift(widened, k * this.period)
+						.and(window(cycleStart, MathLib.min(cycleStart + this.period, upper)));
+				visibility = visibility.or(findWindows(t -> visibilityG(geometry, t), domain));
+			}
+		}
+
+		// The Sun-dependent constraints are only re-checked while the site is visible
+		final IntervalSet illumination = findWindows(t -> g(geometry, AccessConstraint.ILLUMINATION, t), visibility);
+		final IntervalSet dazzling = findWindows(t -> g(geometry, AccessConstraint.DAZZLING, t), visibility);
+		return visibility.and(illumination).and(dazzling.not(lower, upper));
+	}
+
+	/**
+	 * @return the repeat period (s), 0 if the horizon holds no repeat cycle
+	 *         accurate enough
+	 */
+	public double getRepeatPeriod() {
+		return this.period;
+	}
+
+	/**
+	 * @return the number of cycles sharing a fully computed first cycle
+	 */
+	public int getCyclesPerGroup() {
+		return this.cyclesPerGroup;
+	}
+
+	/**
+	 * Find the windows during which a g-function is positive inside some domain
+	 * windows, by sampling each domain window and refining the sign changes.
+	 *
+	 * @param g      The g-function
+	 * @param domain Windows to look inside
+	 * @return the windows, clipped to the domain
+	 * @throws PatriusException If a g-function evaluation fails
+	 */
+	private IntervalSet findWindows(final WindowFinder.GFunction g, final IntervalSet domain)
+			throws PatriusException {
+		final List<double[]> windows = new ArrayList<>();
+		for (int i = 0; i < domain.size(); i++) {
+			final double start = domain.getStart(i);
+			final double end = domain.getEnd(i);
+			final int n = (int) MathLib.ceil((end - start) / this.step) + 1;
+			final double[] times = new double[n];
+			final double[] values = new double[n];
+			for (int j = 0; j < n; j++) {
+				times[j] = MathLib.min(start + j * this.step, end);
+				values[j] = g.value(times[j]);
+			}
+			windows.addAll(WindowFinder.findWindows(times, values, g, this.threshold));
+		}
+		return IntervalSet.fromWindows(windows);
+	}
+
+	/**
+	 * Evaluate the visibility g-function at any date.
+	 *
+	 * @param geometry Geometry of the site
+	 * @param t        Offset (s) from the mission start
+	 * @return the visibility margin (rad)
+	 * @throws PatriusException If the satellite position cannot be computed
+	 */
+	private double visibilityG(final AccessGeometry geometry, final double t) throws PatriusException {
+		final Vector3D sat = this.satellite.getPVCoordinates(this.origin.shiftedBy(t), this.bodyFrame)
+				.getPosition();
+		return geometry.visibilityG(sat.getX(), sat.getY(), sat.getZ());
+	}
+
+	/**
+	 * Evaluate the g-function of a constraint at any date.
+	 *
+	 * @param geometry   Geometry of the site
+	 * @param constraint Evaluated {@link AccessConstraint}
+	 * @param t          Offset (s) from the mission start
+	 * @return the g-function value
+	 * @throws PatriusException If the satellite or Sun position cannot be
+	 *                          computed
+	 */
+	private double g(final AccessGeometry geometry, final AccessConstraint constraint, final double t)
+			throws PatriusException {
+		final AbsoluteDate date = this.origin.shiftedBy(t);
+		final Vector3D sat = this.satellite.getPVCoordinates(date, this.bodyFrame).getPosition();
+		final Vector3D sunPosition = this.sun.getPVCoordinates(date, this.bodyFrame).getPosition();
+		return geometry.g(constraint, sat.getX(), sat.getY(), sat.getZ(), sunPosition.getX(), sunPosition.getY(),
+				sunPosition.getZ());
+	}
+
+	/**
+	 * Build a set holding a single window.
+	 *
+	 * @param start Start offset (s)
+	 * @param end   End offset (s)
+	 * @return the set
+	 */
+	private static IntervalSet window(final double start, final double end) {
+		return IntervalSet.fromWindows(Collections.singletonList(new double[] { start, end }));
+	}
+
+	/**
+	 * Shift all the windows of a set in time.
+	 *
+	 * @param set   Input set
+	 * @param shift Time shift (s)
+	 * @return the shifted windows
+	 */
+	private static IntervalSet shift(final IntervalSet set, final double shift) {
+		final List<double[]> windows = new ArrayList<>(set.size());
+		for (int i = 0; i < set.size(); i++) {
+			windows.add(new double[] { set.getStart(i) + shift, set.getEnd(i) + shift });
+		}
+		return IntervalSet.fromWindows(windows);
+	}
+}
@@ -0,0 +1,24 @@
+package progmission;
+
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import reader.Site;
+
+/**
+ * Listener notified each time the access {@link Timeline} of a {@link Site} is
+ * ready, loaded or computed, while the access plan is still being computed.
+ *
+ * With a parallel access computation, the listener is called from the
+ * computing threads, possibly concurrently : implementations must be
+ * thread-safe.
+ */
+@FunctionalInterface
+public interface SiteAccessListener {
+
+	/**
+	 * Called when the access {@link Timeline} of a {@link Site} is ready.
+	 *
+	 * @param site           The {@link Site}
+	 * @param accessTimeline Its access {@link Timeline}
+	 */
+	void siteAccessReady(Site site, Timeline accessTimeline);
+}
@@ -0,0 +1,170 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.FastMath;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import reader.Site;
+
+/**
+ * Coarse screening of the satellite passes shared by the neighbouring sites.
+ *
+ * The sites are bucketed into geographic cells of a given angular size : bands
+ * of latitude, each one split into cells of about the same width in longitude.
+ * Each cell is the spherical cap around the mean direction of its sites, of
+ * radius the Earth central angle to its farthest site. The candidate passes of
+ * the cell are computed once from the {@link GroundTrackScreening}, with the
+ * test angle widened by the cap radius : every visibility window of a site of
+ * the cell is strictly included in a candidate of its cell. The cost of the
+ * screening thus scales with the number of cells rather than the number of
+ * sites, at the price of slightly wider candidates.
+ *
+ * Once built, the screening can be used concurrently for different sites.
+ */
+public class SiteCellScreening {
+
+	/** Reference date of the time offsets : the mission start date. */
+	private final AbsoluteDate origin;
+
+	/** Ground track screening, giving the candidates of each cell. */
+	private final GroundTrackScreening screening;
+
+	/** Cell of each site. */
+	private final Map<Site, Cell> cells = new HashMap<>();
+
+	/** Number of cells. */
+	private final int cellCount;
+
+	/**
+	 * Bucket the sites into cells.
+	 *
+	 * @param screening Ground track screening
+	 * @param mission   Mission of the sites
+	 * @param sites     Sites to bucket
+	 * @param cellSize  Angular size (rad) of the cells, in latitude and in
+	 *                  longitude along the parallels
+	 * @throws PatriusException If the site positions cannot be computed
+	 */
+	public SiteCellScreening(final GroundTrackScreening screening, final SimpleMission mission,
+			final List<Site> sites, final double cellSize) throws PatriusException {
+		this.origin = mission.getStartDate();
+		this.screening = screening;
+
+		// Bucketing the sites by latitude band, then by longitude in the band
+		final Map<Long, List<Site>> buckets = new HashMap<>();
+		final int bandCount = (int) MathLib.ceil(FastMath.PI / cellSize);
+		for (final Site site : sites) {
+			final double latitude = site.getPoint().getLatitude();
+			final int band = (int) MathLib.min(bandCount - 1,
+					MathLib.floor((latitude + 0.5 * FastMath.PI) / cellSize));
+			final double bandLatitude = (band + 0.5) * cellSize - 0.5 * FastMath.PI;
+			final int cellsInBand = (int) MathLib.max(1.,
+					MathLib.floor(2. * FastMath.PI * MathLib.cos(bandLatitude) / cellSize));
+			final double longitude = site.getPoint().getLongitude();
+			final int cell = (int) MathLib.floor((longitude + FastMath.PI) / (2. * FastMath.PI) * cellsInBand)
+					% cellsInBand;
+			buckets.computeIfAbsent((long) band * Integer.MAX_VALUE + cell, key -> new ArrayList<>()).add(site);
+		}
+
+		// Building the spherical cap of each cell
+		for (final List<Site> bucket : buckets.values()) {
+			final List<Vector3D> positions = new ArrayList<>(bucket.size());
+			Vector3D sum = Vector3D.ZERO;
+			double siteRadius = Double.POSITIVE_INFINITY;
+			for (final Site site : bucket) {
+				final Vector3D position = new AccessGeometry(site, mission.getEarth()).getSitePosition();
+				positions.add(position);
+				sum = sum.add(position.normalize());
+				siteRadius = MathLib.min(siteRadius, position.getNorm());
+			}
+			final Vector3D center = sum.normalize();
+			double capRadius = 0.;
+			for (final Vector3D position : positions) {
+				capRadius = MathLib.max(capRadius, Vector3D.angle(center, position));
+			}
+			final Cell cell = new Cell(center, siteRadius, capRadius);
+			for (final Site site : bucket) {
+				this.cells.put(site, cell);
+			}
+		}
+		this.cellCount = buckets.size();
+	}
+
+	/**
+	 * Compute the candidate pass intervals of the input {@link Site}, which are
+	 * the ones of its cell.
+	 *
+	 * @param site Input target {@link Site}
+	 * @return the chronological list of candidate intervals
+	 * @throws PatriusException If the site position cannot be computed
+	 */
+	public List<AbsoluteDateInterval> computeCandidateIntervals(final Site site) throws PatriusException {
+		final Cell cell = this.cells.get(site);
+		if (cell == null) {
+			// Site out of the bucketed ones : screening it alone
+			return this.screening.computeCandidateIntervals(site);
+		}
+		final List<AbsoluteDateInterval> intervals = new ArrayList<>();
+		for (final double[] window : cell.getCandidateWindows()) {
+			intervals.add(new AbsoluteDateInterval(this.origin.shiftedBy(window[0]), this.origin.shiftedBy(window[1])));
+		}
+		return intervals;
+	}
+
+	/**
+	 * @return the number of cells
+	 */
+	public int getCellCount() {
+		return this.cellCount;
+	}
+
+	/**
+	 * Cell of sites, whose candidate windows are computed on first use.
+	 */
+	private final class Cell {
+
+		/** Direction of the cap center in the Earth body frame. */
+		private final Vector3D center;
+
+		/** Smallest distance from the Earth center to the sites (m). */
+		private final double siteRadius;
+
+		/** Earth central angle (rad) between the center and the farthest site. */
+		private final double capRadius;
+
+		/** Candidate windows, null until computed. */
+		private List<double[]> candidateWindows;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param center     Direction of the cap center
+		 * @param siteRadius Smallest distance from the Earth center to the sites (m)
+		 * @param capRadius  Earth central angle (rad) to the farthest site
+		 */
+		Cell(final Vector3D center, final double siteRadius, final double capRadius) {
+			this.center = center;
+			this.siteRadius = siteRadius;
+			this.capRadius = capRadius;
+		}
+
+		/**
+		 * @return the candidate windows of the cell, as {start, end} offsets (s)
+		 *         from the mission start
+		 */
+		synchronized List<double[]> getCandidateWindows() {
+			if (this.candidateWindows == null) {
+				this.candidateWindows = SiteCellScreening.this.screening.computeCandidateWindows(this.center,
+						this.siteRadius, this.capRadius);
+			}
+			return this.candidateWindows;
+		}
+	}
+}
@@ -0,0 +1,273 @@
+package progmission;
+
+import fr.cnes.sirius.patrius.frames.Frame;
+import fr.cnes.sirius.patrius.math.geometry.euclidean.threed.Vector3D;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinates;
+import fr.cnes.sirius.patrius.orbits.pvcoordinates.PVCoordinatesProvider;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+
+/**
+ * Immutable {@link PVCoordinatesProvider} interpolating a table of positions
+ * and velocities sampled once over a time interval.
+ *
+ * The source provider is sampled on a regular grid, in a single frame, into
+ * primitive arrays. A query inside the interval is then a cubic Hermite
+ * interpolation between the two surrounding samples : the position from the
+ * sampled positions and velocities, the velocity from the sampled velocities
+ * and the accelerations estimated by finite differences. For a low Earth orbit
+ * sampled every 30 s, the position error stays at the centimetre level.
+ *
+ * The table can be read concurrently. Queries outside the interval fall back to
+ * the source provider, which is accessed by one thread at a time.
+ */
+public final class TabulatedEphemeris implements PVCoordinatesProvider {
+
+	/** Serializable UID. */
+	private static final long serialVersionUID = -3212873606142719844L;
+
+	/** Provider used outside the tabulated interval. */
+	private final PVCoordinatesProvider source;
+
+	/** Frame of the table. */
+	private final Frame frame;
+
+	/** Reference date of the time offsets : the start of the interval. */
+	private final AbsoluteDate origin;
+
+	/** Tabulated interval. */
+	private final AbsoluteDateInterval interval;
+
+	/** Duration (s) of the tabulated interval. */
+	private final double duration;
+
+	/** Sampling step (s). */
+	private final double step;
+
+	/** Positions (m) on the grid. */
+	private final double[] px, py, pz;
+
+	/** Velocities (m/s) on the grid. */
+	private final double[] vx, vy, vz;
+
+	/** Accelerations (m/s²) on the grid, estimated from the velocities. */
+	private final double[] ax, ay, az;
+
+	/**
+	 * Sample the source provider over the input interval.
+	 *
+	 * @param source   Provider to tabulate
+	 * @param frame    Frame in which the positions and velocities are tabulated
+	 * @param interval Interval to cover
+	 * @param step     Sampling step (s)
+	 * @throws PatriusException If the source provider cannot be evaluated
+	 */
+	public TabulatedEphemeris(final PVCoordinatesProvider source, final Frame frame,
+			final AbsoluteDateInterval interval, final double step) throws PatriusException {
+		this.source = source;
+		this.frame = frame;
+		this.origin = interval.getLowerData();
+		this.interval = interval;
+		this.duration = interval.getDuration();
+
+		// Regular grid, the step being slightly shortened to end on the interval end
+		final int n = MathLib.max(2, (int) MathLib.ceil(this.duration / step) + 1);
+		this.step = this.duration / (n - 1);
+		this.px = new double[n];
+		this.py = new double[n];
+		this.pz = new double[n];
+		this.vx = new double[n];
+		this.vy = new double[n];
+		this.vz = new double[n];
+		for (int i = 0; i < n; i++) {
+			final PVCoordinates pv = source.getPVCoordinates(this.origin.shiftedBy(i * this.step), frame);
+			this.px[i] = pv.getPosition().getX();
+			this.py[i] = pv.getPosition().getY();
+			this.pz[i] = pv.getPosition().getZ();
+			this.vx[i] = pv.getVelocity().getX();
+			this.vy[i] = pv.getVelocity().getY();
+			this.vz[i] = pv.getVelocity().getZ();
+		}
+
+		// Accelerations from the velocities : central differences inside the grid,
+		// one-sided ones at its bounds
+		this.ax = differentiate(this.vx, this.step);
+		this.ay = differentiate(this.vy, this.step);
+		this.az = differentiate(this.vz, this.step);
+	}
+
+	/**
+	 * Tabulate the source provider with the largest step, starting from the input
+	 * one and halving it, that meets the input accuracy.
+	 *
+	 * The accuracy is checked against the source provider in the middle of each
+	 * grid interval, where the interpolation error of a smooth trajectory is
+	 * maximal.
+	 *
+	 * @param source    Provider to tabulate
+	 * @param frame     Frame in which the positions and velocities are tabulated
+	 * @param interval  Interval to cover
+	 * @param step      Initial sampling step (s)
+	 * @param tolerance Maximum position error (m)
+	 * @return the tabulated ephemeris
+	 * @throws PatriusException      If the source provider cannot be evaluated
+	 * @throws IllegalStateException If the accuracy cannot be met with a step of
+	 *                               one second
+	 */
+	public static TabulatedEphemeris withAccuracy(final PVCoordinatesProvider source, final Frame frame,
+			final AbsoluteDateInterval interval, final double step, final double tolerance) throws PatriusException {
+		double currentStep = step;
+		while (currentStep >= 1.) {
+			final TabulatedEphemeris ephemeris = new TabulatedEphemeris(source, frame, interval, currentStep);
+			if (ephemeris.computeMaxError() <= tolerance) {
+				return ephemeris;
+			}
+			currentStep = 0.5 * currentStep;
+		}
+		throw new IllegalStateException("The ephemeris accuracy of " + tolerance + " m cannot be met");
+	}
+
+	/**
+	 * Compute the maximum position error of the interpolation, comparing it to the
+	 * source provider in the middle of each grid interval.
+	 *
+	 * @return the maximum position error (m)
+	 * @throws PatriusException If the source provider cannot be evaluated
+	 */
+	public double computeMaxError() throws PatriusException {
+		double maxError = 0.;
+		for (int i = 0; i < this.px.length - 1; i++) {
+			final AbsoluteDate date = this.origin.shiftedBy((i + 0.5) * this.step);
+			final Vector3D reference;
+			synchronized (this.source) {
+				reference = this.source.getPVCoordinates(date, this.frame).getPosition();
+			}
+			final Vector3D interpolated = getPVCoordinates(date, this.frame).getPosition();
+			maxError = MathLib.max(maxError, reference.distance(interpolated));
+		}
+		return maxError;
+	}
+
+	/**
+	 * Get the position and velocity at a date, interpolated from the table inside
+	 * the tabulated interval.
+	 *
+	 * @param date  Date of the coordinates
+	 * @param frame Expression frame of the coordinates
+	 * @return the position and velocity
+	 * @throws PatriusException If the coordinates cannot be transformed to the
+	 *                          frame, or if the source provider fails
+	 */
+	@Override
+	public PVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame frame) throws PatriusException {
+		final double t = date.durationFrom(this.origin);
+		if (t < 0. || t > this.duration) {
+			// The source provider may not be thread-safe
+			synchronized (this.source) {
+				return this.source.getPVCoordinates(date, frame);
+			}
+		}
+
+		// Interval [i, i + 1] of the grid containing the date, and normalized time
+		final int i = MathLib.min((int) (t / this.step), this.px.length - 2);
+		final double h = this.step;
+		final double s = (t - i * h) / h;
+
+		// Cubic Hermite basis functions and their derivatives
+		final double s2 = s * s;
+		final double s3 = s2 * s;
+		final double h00 = 2. * s3 - 3. * s2 + 1.;
+		final double h10 = s3 - 2. * s2 + s;
+		final double h01 = -2. * s3 + 3. * s2;
+		final double h11 = s3 - s2;
+
+		final Vector3D position = new Vector3D(
+				hermite(this.px, this.vx, i, h, h00, h10, h01, h11),
+				hermite(this.py, this.vy, i, h, h00, h10, h01, h11),
+				hermite(this.pz, this.vz, i, h, h00, h10, h01, h11));
+		final Vector3D velocity = new Vector3D(
+				hermite(this.vx, this.ax, i, h, h00, h10, h01, h11),
+				hermite(this.vy, this.ay, i, h, h00, h10, h01, h11),
+				hermite(this.vz, this.az, i, h, h00, h10, h01, h11));
+		final PVCoordinates pv = new PVCoordinates(position, velocity);
+
+		if (frame == this.frame) {
+			return pv;
+		}
+		return this.frame.getTransformTo(frame, date).transformPVCoordinates(pv);
+	}
+
+	/**
+	 * @param date  Date
+	 * @param frame Frame
+	 * @return the frame of the table
+	 */
+	public Frame getNativeFrame(final AbsoluteDate date, final Frame frame) {
+		return this.frame;
+	}
+
+	/**
+	 * @return the tabulated interval
+	 */
+	public AbsoluteDateInterval getInterval() {
+		return this.interval;
+	}
+
+	/**
+	 * @return the sampling step (s)
+	 */
+	public double getStep() {
+		return this.step;
+	}
+
+	/**
+	 * @return the frame of the table
+	 */
+	public Frame getFrame() {
+		return this.frame;
+	}
+
+	/**
+	 * Cubic Hermite interpolation of one component.
+	 *
+	 * @param values      Sampled values
+	 * @param derivatives Sampled derivatives
+	 * @param i           Index of the lower sample
+	 * @param h           Sampling step (s)
+	 * @param h00         Basis function of the lower value
+	 * @param h10         Basis function of the lower derivative
+	 * @param h01         Basis function of the upper value
+	 * @param h11         Basis function of the upper derivative
+	 * @return the interpolated value
+	 */
+	private static double hermite(final double[] values, final double[] derivatives, final int i, final double h,
+			final double h00, final double h10, final double h01, final double h11) {
+		return h00 * values[i] + h10 * h * derivatives[i] + h01 * values[i + 1] + h11 * h * derivatives[i + 1];
+	}
+
+	/**
+	 * Differentiate sampled values with finite differences.
+	 *
+	 * @param values Values sampled with a regular step
+	 * @param step   Sampling step (s)
+	 * @return the derivatives at the samples
+	 */
+	private static double[] differentiate(final double[] values, final double step) {
+		final int n = values.length;
+		final double[] derivatives = new double[n];
+		if (n < 3) {
+			derivatives[0] = (values[1] - values[0]) / step;
+			derivatives[1] = derivatives[0];
+			return derivatives;
+		}
+		for (int i = 1; i < n - 1; i++) {
+			derivatives[i] = (values[i + 1] - values[i - 1]) / (2. * step);
+		}
+		// Second order one-sided differences at the bounds
+		derivatives[0] = (-3. * values[0] + 4. * values[1] - values[2]) / (2. * step);
+		derivatives[n - 1] = (3. * values[n - 1] - 4. * values[n - 2] + values[n - 3]) / (2. * step);
+		return derivatives;
+	}
+}
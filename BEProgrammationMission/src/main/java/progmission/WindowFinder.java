@@ -0,0 +1,182 @@
+package progmission;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+
+/**
+ * Extraction of the windows during which a g-function is positive, from its
+ * values sampled on a time grid. Each sign change between two consecutive grid
+ * points is refined with a bracketing root search, the same way the Patrius
+ * event detection refines the sign changes seen at each max-check step.
+ *
+ * Times are expressed as offsets (s) from a reference date, and a window is a
+ * {start, end} pair of offsets.
+ */
+final class WindowFinder {
+
+	/**
+	 * Maximum number of g-function evaluations for one root.
+	 */
+	private static final int MAX_EVALUATIONS = 100;
+
+	/**
+	 * Function whose positive windows are searched.
+	 */
+	interface GFunction {
+
+		/**
+		 * Evaluate the function.
+		 *
+		 * @param t Offset from the reference date (s)
+		 * @return the function value, positive inside the windows
+		 * @throws PatriusException If the evaluation fails
+		 */
+		double value(double t) throws PatriusException;
+	}
+
+	/**
+	 * Values of a g-function on a precomputed grid.
+	 */
+	interface GridValues {
+
+		/**
+		 * Get the value at a grid point.
+		 *
+		 * @param i Index of the grid point
+		 * @return the g-function value at this point
+		 */
+		double value(int i);
+	}
+
+	/**
+	 * Private constructor for this utility class.
+	 */
+	private WindowFinder() {
+	}
+
+	/**
+	 * Find the windows during which the g-function is positive.
+	 *
+	 * @param times     Strictly increasing grid offsets (s)
+	 * @param values    Values of the g-function on the grid
+	 * @param g         The g-function, used to refine the sign changes
+	 * @param threshold Convergence threshold on the window boundaries (s)
+	 * @return the chronological list of windows, a window active at the grid
+	 *         bounds is clipped to them
+	 * @throws PatriusException If a g-function evaluation fails
+	 */
+	static List<double[]> findWindows(final double[] times, final double[] values, final GFunction g,
+			final double threshold) throws PatriusException {
+		final List<double[]> windows = new ArrayList<>();
+		final int n = times.length;
+		double start = times[0];
+		for (int i = 0; i < n - 1; i++) {
+			final boolean inside = values[i] > 0;
+			if (inside != values[i + 1] > 0) {
+				final double root = findRoot(g, times[i], values[i], times[i + 1], values[i + 1], threshold);
+				if (inside) {
+					windows.add(new double[] { start, root });
+				} else {
+					start = root;
+				}
+			}
+		}
+		if (values[n - 1] > 0) {
+			windows.add(new double[] { start, times[n - 1] });
+		}
+		return windows;
+	}
+
+	/**
+	 * Find the windows during which the g-function is positive inside a
+	 * sub-interval of a grid. The grid points strictly inside the sub-interval are
+	 * used, and the g-function is evaluated at its bounds.
+	 *
+	 * @param times     Strictly increasing grid offsets (s)
+	 * @param grid      Values of the g-function on the grid
+	 * @param g         The g-function, used at the bounds and to refine the sign
+	 *                  changes
+	 * @param threshold Convergence threshold on the window boundaries (s)
+	 * @param lower     Lower bound of the sub-interval (s)
+	 * @param upper     Upper bound of the sub-interval (s)
+	 * @return the chronological list of windows, clipped to the sub-interval
+	 * @throws PatriusException If a g-function evaluation fails
+	 */
+	static List<double[]> findWindows(final double[] times, final GridValues grid, final GFunction g,
+			final double threshold, final double lower, final double upper) throws PatriusException {
+		// Grid points strictly inside the sub-interval
+		int first = 0;
+		while (first < times.length && times[first] <= lower) {
+			first++;
+		}
+		int last = times.length - 1;
+		while (last >= 0 && times[last] >= upper) {
+			last--;
+		}
+		final int inner = MathLib.max(0, last - first + 1);
+
+		// Local grid, bounded by the sub-interval
+		final double[] localTimes = new double[inner + 2];
+		final double[] localValues = new double[inner + 2];
+		localTimes[0] = lower;
+		localValues[0] = g.value(lower);
+		for (int k = 0; k < inner; k++) {
+			localTimes[k + 1] = times[first + k];
+			localValues[k + 1] = grid.value(first + k);
+		}
+		localTimes[inner + 1] = upper;
+		localValues[inner + 1] = g.value(upper);
+
+		return findWindows(localTimes, localValues, g, threshold);
+	}
+
+	/**
+	 * Find a root of the g-function inside a bracketing interval, using the
+	 * Illinois variant of the regula falsi with a bisection safeguard.
+	 *
+	 * @param g         The g-function
+	 * @param a         Lower bound of the bracketing interval (s)
+	 * @param ga        g-function value at the lower bound
+	 * @param b         Upper bound of the bracketing interval (s)
+	 * @param gb        g-function value at the upper bound, of opposite sign
+	 * @param threshold Convergence threshold on the root (s)
+	 * @return the root
+	 * @throws PatriusException If a g-function evaluation fails
+	 */
+	static double findRoot(final GFunction g, final double a, final double ga, final double b, final double gb,
+			final double threshold) throws PatriusException {
+		// The bracket is [x0, x1], with g(x0) and g(x1) of opposite signs
+		double x0 = a;
+		double g0 = ga;
+		double x1 = b;
+		double g1 = gb;
+		boolean bisect = false;
+		for (int i = 0; i < MAX_EVALUATIONS && MathLib.abs(x1 - x0) > threshold; i++) {
+			final double width = MathLib.abs(x1 - x0);
+			double x = bisect ? 0.5 * (x0 + x1) : x1 - g1 * (x1 - x0) / (g1 - g0);
+			if (!(x > MathLib.min(x0, x1) && x < MathLib.max(x0, x1))) {
+				x = 0.5 * (x0 + x1);
+			}
+			final double gx = g.value(x);
+			if (gx == 0.) {
+				return x;
+			}
+			if ((gx > 0) != (g1 > 0)) {
+				// The root is between x1 and x : x1 becomes the retained bound
+				x0 = x1;
+				g0 = g1;
+			} else {
+				// Illinois modification : the retained bound weight is halved
+				g0 = 0.5 * g0;
+			}
+			x1 = x;
+			g1 = gx;
+			// Falling back to a bisection when the bracket shrinks too slowly
+			bisect = MathLib.abs(x1 - x0) > 0.5 * width;
+		}
+		return 0.5 * (x0 + x1);
+	}
+}
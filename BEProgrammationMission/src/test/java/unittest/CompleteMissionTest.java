@@ -1,115 +1,1330 @@
-package unittest;
-
-import static org.junit.Assert.assertTrue;
-
-import org.junit.Test;
-
-import fr.cnes.sirius.patrius.attitudes.AttitudeLawLeg;
-import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
-import fr.cnes.sirius.patrius.utils.exception.PatriusException;
-import progmission.CompleteMission;
-
-/**
- * This is the test class for the {@link CompleteMission} class. Here you can
- * define all the unit tests you want to test the methods of {@link CompleteMission}.
- * 
- * Before each method you want to write to test a particular aspect of your
- * code, you have to add a @Test tag. This @Test tag indicates to JUnit that the
- * method must be executed as a test. Usually, test methods are made with
- * assertions to check the validity of a condition. See the
- * {@link CompleteMissionTest#testCompleteMission()} method to learn how to
- * implement basic tests using assertions.
- * 
- * For the assertions, you can use all the org.junit.Assert methods, like the
- * ones used in the {@link CompleteMissionTest#testCompleteMission()}
- * method.
- * <p>
- * <b>Warning: make sure to add Javadoc and comments to your tests so that they are
- * easy to read and to understand. Tests that lack explanations may not be considered.</b>
- * 
- * @author herberl
- *
- */
-public class CompleteMissionTest {
-
-	/**
-	 * Basic unit test to check the right instantiation of the
-	 * {@link CompleteMission} object.
-	 * 
-	 * @throws PatriusException If a {@link PatriusException} occurs when
-	 *                          instantiating the {@link CompleteMission}.
-	 */
-	@Test
-	public void testCompleteMission() throws PatriusException {
-
-		// Instantiating a CompleteMission for test purposes
-		final String input_name = "BE Supaero mission";
-		final int siteNumber = 10;
-
-		final CompleteMission mission = new CompleteMission(input_name, siteNumber);
-
-		// Asserting that the number of Sites is the one given in input
-		assertTrue("Site list size don't match !", siteNumber == mission.getSiteList().size());
-		assertTrue("Names don't match !", input_name.equalsIgnoreCase(mission.getName()));
-
-		// Testing the access plan
-		assertTrue("The access plan is not valid !", testAccessPlan(mission));
-
-		// Testing the observation plan
-		assertTrue("The observation plan is not valid !", testObservationPlan(mission));
-
-		// Testing the cinematic plan
-		assertTrue("The cinematic plan is not valid !", testCinematicPlan(mission));
-	}
-
-	/**
-	 * Here you can implement your own tests to check the access plan computation.
-	 * For example, check that the access plan is not empty, that the
-	 * {@link Timeline} objects it contains are realistic, etc.
-	 * 
-	 * @param mission {@link CompleteMission} containing the plan to validate.
-	 * @return A boolean indicating the validity of the plan
-	 */
-	private boolean testAccessPlan(CompleteMission mission) {
-		// Implement you own tests here and return the output as a boolean
-		// Of course, the more tests you perform, and the more realistic and specific
-		// are your tests, the more validated your code is !
-		final boolean testResult = true;
-		return testResult;
-	}
-
-	/**
-	 * Here you can implement your own tests to check the observation plan
-	 * computation. For example, you can check that the observation plan is not
-	 * empty, that the {@link AttitudeLawLeg} it contains are valid, etc.
-	 * 
-	 * @param mission {@link CompleteMission} containing the plan to validate.
-	 * @return A boolean indicating the validity of the plan
-	 */
-	private boolean testObservationPlan(CompleteMission mission) {
-		// Implement you own tests here and return the output as a boolean
-		// Of course, the more tests you perform, and the more realistic and specific
-		// are your tests, the more validated your code is !
-		final boolean testResult = true;
-		return testResult;
-	}
-
-	/**
-	 * Here you can implement your own tests to check the cinematic plan
-	 * computation. For example, you can check that the cinematic plan is not empty,
-	 * or that it is valid by using the provided method
-	 * {@link SimpleMission#checkCinematicPlan(StrictAttitudeLegsSequence<AttitudeLeg>)}
-	 * 
-	 * @param mission {@link CompleteMission} containing the plan to validate.
-	 * @return A boolean indicating the validity of the plan
-	 */
-	private boolean testCinematicPlan(CompleteMission mission) {
-		// Implement you own tests here and return the output as a boolean
-		// For example by using mission.checkCinematicPlan(mission.getCinematicPlan());
-		// Of course, the more tests you perform, and the more realistic and specific
-		// are your tests, the more validated your code is !
-		final boolean testResult = true;
-		return testResult;
-	}
-
-}
+package unittest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import fr.cnes.sirius.patrius.attitudes.AttitudeLawLeg;
+import fr.cnes.sirius.patrius.bodies.GeodeticPoint;
+import fr.cnes.sirius.patrius.events.CodedEventsLogger;
+import fr.cnes.sirius.patrius.events.GenericCodingEventDetector;
+import fr.cnes.sirius.patrius.events.Phenomenon;
+import fr.cnes.sirius.patrius.events.postprocessing.Timeline;
+import fr.cnes.sirius.patrius.math.util.MathLib;
+import fr.cnes.sirius.patrius.propagation.SpacecraftState;
+import fr.cnes.sirius.patrius.propagation.analytical.KeplerianPropagator;
+import fr.cnes.sirius.patrius.propagation.events.AbstractDetector;
+import fr.cnes.sirius.patrius.propagation.events.EventDetector;
+import fr.cnes.sirius.patrius.time.AbsoluteDate;
+import fr.cnes.sirius.patrius.time.AbsoluteDateInterval;
+import fr.cnes.sirius.patrius.utils.exception.PatriusException;
+import progmission.AccessConstraint;
+import progmission.AccessDetectorPipeline;
+import progmission.AccessEngine;
+import progmission.AccessIndex;
+import progmission.AccessProfile;
+import progmission.AccessShardCoordinator;
+import progmission.AdaptiveMaxCheckDetector;
+import progmission.AnalyticVisibilityDetector;
+import progmission.CompleteMission;
+import progmission.CompleteMission.AccessMode;
+import progmission.FidelityPreset;
+import progmission.FusedAccessDetector;
+import progmission.GroundTrackScreening;
+import progmission.IlluminationEngine;
+import progmission.IntervalSet;
+import progmission.RepeatCycleAccess;
+import progmission.SimpleMission;
+import progmission.SiteCellScreening;
+import progmission.TabulatedEphemeris;
+import reader.Site;
+import utils.ConstantsBE;
+
+/**
+ * This is the test class for the {@link CompleteMission} class. Here you can
+ * define all the unit tests you want to test the methods of {@link CompleteMission}.
+ * 
+ * Before each method you want to write to test a particular aspect of your
+ * code, you have to add a @Test tag. This @Test tag indicates to JUnit that the
+ * method must be executed as a test. Usually, test methods are made with
+ * assertions to check the validity of a condition. See the
+ * {@link CompleteMissionTest#testCompleteMission()} method to learn how to
+ * implement basic tests using assertions.
+ * 
+ * For the assertions, you can use all the org.junit.Assert methods, like the
+ * ones used in the {@link CompleteMissionTest#testCompleteMission()}
+ * method.
+ * <p>
+ * <b>Warning: make sure to add Javadoc and comments to your tests so that they are
+ * easy to read and to understand. Tests that lack explanations may not be considered.</b>
+ * 
+ * @author herberl
+ *
+ */
+public class CompleteMissionTest {
+
+	/**
+	 * Tolerance (s) on the access windows boundaries when comparing two access
+	 * computations : both refine the events to {@link CompleteMission#TRESHOLD_EVENTS}.
+	 */
+	private static final double WINDOW_TOLERANCE = 1.e-2;
+
+	/**
+	 * Tolerance (s) on the boundaries of the access windows extracted from an
+	 * {@link AccessProfile}, linearly interpolated between samples taken every
+	 * {@link CompleteMission#PROFILE_STEP} h. The interpolation error of an angle a
+	 * is at most h^2 / 8 times its second derivative, so the boundary error is
+	 * h^2 / 8 * |a'' / a'|. For the line of sight of a pass, this ratio stays
+	 * below v / d, about 1e-2 /s with v the satellite velocity and d its distance
+	 * to the site : about 0.03 s, the Sun angles being far slower.
+	 */
+	private static final double PROFILE_TOLERANCE = 0.1;
+
+	/**
+	 * Maximum position error (m) of the satellite {@link TabulatedEphemeris} : the
+	 * cubic Hermite interpolation error of a circular orbit sampled every
+	 * {@link SimpleMission#EPHEMERIS_STEP} is h^4 / 384 * n^4 * a, about 2 cm, where
+	 * h is the step, n the mean motion and a the semi-major axis.
+	 */
+	private static final double EPHEMERIS_TOLERANCE = 0.1;
+
+	/**
+	 * Temporary directory of the accesses serialized by the tests, so that they
+	 * neither write into nor load from the accesses/ directory of the project.
+	 */
+	@Rule
+	public final TemporaryFolder accessDirectory = new TemporaryFolder();
+
+	/**
+	 * Basic unit test to check the right instantiation of the
+	 * {@link CompleteMission} object.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when
+	 *                          instantiating the {@link CompleteMission}.
+	 */
+	@Test
+	public void testCompleteMission() throws PatriusException {
+
+		// Instantiating a CompleteMission for test purposes
+		final String input_name = "BE Supaero mission";
+		final int siteNumber = 10;
+
+		final CompleteMission mission = new CompleteMission(input_name, siteNumber);
+
+		// Asserting that the number of Sites is the one given in input
+		assertTrue("Site list size don't match !", siteNumber == mission.getSiteList().size());
+		assertTrue("Names don't match !", input_name.equalsIgnoreCase(mission.getName()));
+
+		// Testing the access plan
+		assertTrue("The access plan is not valid !", testAccessPlan(mission));
+
+		// Testing the observation plan
+		assertTrue("The observation plan is not valid !", testObservationPlan(mission));
+
+		// Testing the cinematic plan
+		assertTrue("The cinematic plan is not valid !", testCinematicPlan(mission));
+	}
+
+	/**
+	 * Here you can implement your own tests to check the access plan computation.
+	 * For example, check that the access plan is not empty, that the
+	 * {@link Timeline} objects it contains are realistic, etc.
+	 * 
+	 * @param mission {@link CompleteMission} containing the plan to validate.
+	 * @return A boolean indicating the validity of the plan
+	 */
+	private boolean testAccessPlan(CompleteMission mission) {
+		// Implement you own tests here and return the output as a boolean
+		// Of course, the more tests you perform, and the more realistic and specific
+		// are your tests, the more validated your code is !
+		final boolean testResult = true;
+		return testResult;
+	}
+
+	/**
+	 * Here you can implement your own tests to check the observation plan
+	 * computation. For example, you can check that the observation plan is not
+	 * empty, that the {@link AttitudeLawLeg} it contains are valid, etc.
+	 * 
+	 * @param mission {@link CompleteMission} containing the plan to validate.
+	 * @return A boolean indicating the validity of the plan
+	 */
+	private boolean testObservationPlan(CompleteMission mission) {
+		// Implement you own tests here and return the output as a boolean
+		// Of course, the more tests you perform, and the more realistic and specific
+		// are your tests, the more validated your code is !
+		final boolean testResult = true;
+		return testResult;
+	}
+
+	/**
+	 * Here you can implement your own tests to check the cinematic plan
+	 * computation. For example, you can check that the cinematic plan is not empty,
+	 * or that it is valid by using the provided method
+	 * {@link SimpleMission#checkCinematicPlan(StrictAttitudeLegsSequence<AttitudeLeg>)}
+	 * 
+	 * @param mission {@link CompleteMission} containing the plan to validate.
+	 * @return A boolean indicating the validity of the plan
+	 */
+	private boolean testCinematicPlan(CompleteMission mission) {
+		// Implement you own tests here and return the output as a boolean
+		// For example by using mission.checkCinematicPlan(mission.getCinematicPlan());
+		// Of course, the more tests you perform, and the more realistic and specific
+		// are your tests, the more validated your code is !
+		final boolean testResult = true;
+		return testResult;
+	}
+
+	/**
+	 * Checks that the access plan computed with several threads is the one
+	 * computed sequentially : the sites are computed the same way, only in other
+	 * threads, so the windows must be identical.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access plans.
+	 * @throws IOException      If the directory of the parallel plan cannot be
+	 *                          created.
+	 */
+	@Test
+	public void testParallelAccessPlan() throws PatriusException, IOException {
+
+		// Sequential access plan
+		final CompleteMission sequentialMission = createMission("Sequential mission", 8);
+		sequentialMission.setAccessParallelism(1);
+		final Map<Site, Timeline> sequentialPlan = sequentialMission.computeAccessPlan();
+
+		// Parallel access plan, computed in a directory of its own so that nothing is
+		// loaded from the sequential one
+		final CompleteMission parallelMission = createMission("Parallel mission", 8);
+		parallelMission.setAccessDirectory(this.accessDirectory.newFolder("parallel"));
+		parallelMission.setAccessParallelism(4);
+		final Map<Site, Timeline> parallelPlan = parallelMission.computeAccessPlan();
+		assertTrue("Parallel plan loaded instead of computed !", parallelMission.getDetectorEvaluations() > 0);
+
+		// Asserting that both plans are identical
+		assertEquals("Wrong number of sites", sequentialPlan.size(), parallelPlan.size());
+		for (final Entry<Site, Timeline> entry : sequentialPlan.entrySet()) {
+			final Site site = findSite(parallelMission.getSiteList(), entry.getKey());
+			assertSameWindows(site, entry.getValue().getPhenomenaList(), parallelPlan.get(site).getPhenomenaList(),
+					Double.MIN_VALUE);
+		}
+	}
+
+	/**
+	 * Checks that the shared satellite {@link TabulatedEphemeris} used by the
+	 * {@link CompleteMission} geometry computations stays within
+	 * {@link #EPHEMERIS_TOLERANCE} of the {@link KeplerianPropagator} it
+	 * tabulates, over the whole mission horizon and between the samples.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when
+	 *                          evaluating the orbit.
+	 */
+	@Test
+	public void testEphemeris() throws PatriusException {
+
+		// Instantiating a CompleteMission, its ephemeris and a reference propagator
+		final CompleteMission mission = new CompleteMission("Ephemeris mission", 1);
+		final TabulatedEphemeris ephemeris = mission.getEphemeris();
+		final KeplerianPropagator propagator = mission.createDefaultPropagator();
+
+		// Comparing the positions on a grid not aligned with the samples
+		final double horizon = mission.getEndDate().durationFrom(mission.getStartDate());
+		double maxError = 0.;
+		for (double offset = 0.; offset <= horizon; offset += 7.) {
+			final AbsoluteDate date = mission.getStartDate().shiftedBy(offset);
+			final double error = ephemeris.getPVCoordinates(date, mission.getEme2000()).getPosition()
+					.distance(propagator.getPVCoordinates(date, mission.getEme2000()).getPosition());
+			maxError = MathLib.max(maxError, error);
+		}
+		assertTrue("Ephemeris error too large : " + maxError + " m", maxError <= EPHEMERIS_TOLERANCE);
+	}
+
+	/**
+	 * Checks that the {@link AdaptiveMaxCheckDetector} does not miss any access
+	 * window : every window found with the fixed
+	 * {@link CompleteMission#MAXCHECK_EVENTS} step must also be found, with the
+	 * same boundaries, when the max-check interval adapts to the geometry, and no
+	 * other window may appear. Despite the detectors being evaluated at both ends
+	 * of each adaptive step, the long steps taken far from the events must save
+	 * g-function evaluations.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testAdaptiveMaxCheck() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Adaptive max-check mission", 5);
+
+		// Asserting that the adaptive max-check interval gives the windows found with
+		// the fixed one
+		assertSameAccessWindows(mission, reference -> reference.setAdaptiveMaxCheck(false),
+				adaptive -> adaptive.setAdaptiveMaxCheck(true), WINDOW_TOLERANCE);
+
+		// Asserting that the adaptive steps save g-function evaluations
+		final long fixedEvaluations = countDetectorEvaluations(mission, fixed -> fixed.setAdaptiveMaxCheck(false));
+		final long adaptiveEvaluations = countDetectorEvaluations(mission,
+				adaptive -> adaptive.setAdaptiveMaxCheck(true));
+		assertTrue("Adaptive evaluations : " + adaptiveEvaluations + ", fixed : " + fixedEvaluations,
+				adaptiveEvaluations < fixedEvaluations);
+	}
+
+	/**
+	 * Checks that the constraint cascade gives the same access windows as the
+	 * full evaluation : evaluating the illumination and dazzling only inside the
+	 * visibility windows must neither add nor remove any window.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testConstraintCascade() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Constraint cascade mission", 5);
+
+		// Asserting that the cascade gives the windows of the 3 detectors run over the
+		// horizon
+		assertSameAccessWindows(mission, reference -> reference.setConstraintCascade(false),
+				cascade -> cascade.setConstraintCascade(true), WINDOW_TOLERANCE);
+	}
+
+	/**
+	 * Checks that the access windows computed inside the candidate passes of the
+	 * swath screening are the ones computed over the whole horizon, with fewer
+	 * g-function evaluations of the constraint detectors.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testSwathScreening() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Swath screening mission", 5);
+
+		// Asserting that the candidate passes give the windows computed over the whole
+		// horizon
+		assertSameAccessWindows(mission, reference -> reference.setSwathScreening(false),
+				swath -> swath.setSwathScreening(true), WINDOW_TOLERANCE);
+
+		// Asserting that the detectors are only stepped inside the candidate passes
+		final long fullEvaluations = countDetectorEvaluations(mission, full -> full.setSwathScreening(false));
+		final long swathEvaluations = countDetectorEvaluations(mission, swath -> swath.setSwathScreening(true));
+		assertTrue("Screened evaluations : " + swathEvaluations + ", full horizon : " + fullEvaluations,
+				swathEvaluations < fullEvaluations);
+	}
+
+	/**
+	 * Checks that the candidate passes shared by the sites of a geographic cell
+	 * contain every access window : the cell screening must give the same access
+	 * windows as the computation over the whole horizon.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testCellScreening() throws PatriusException {
+
+		// Instantiating a CompleteMission with the first catalog sites
+		final CompleteMission mission = new CompleteMission("Cell screening mission", 10);
+
+		// Asserting that the candidate passes of the cells give the windows computed
+		// over the whole horizon
+		assertSameAccessWindows(mission, reference -> reference.setCellScreening(false),
+				cell -> cell.setCellScreening(true), WINDOW_TOLERANCE);
+	}
+
+	/**
+	 * Checks that towns a few km apart share a cell of the
+	 * {@link SiteCellScreening}, and that the candidate passes of the cell, widened
+	 * by its cap radius, hold all the access windows of each town.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testCellScreeningNeighbours() throws PatriusException {
+
+		// Instantiating a CompleteMission, only used for its orbit and horizon
+		final CompleteMission mission = createMission("Cell screening neighbours mission", 1);
+
+		// Paris and its neighbouring towns, from the catalog
+		final List<Site> sites = new ArrayList<>();
+		sites.add(createSite("PARIS", 2211000, 48.86, 2.34445, 0.));
+		sites.add(createSite("BOULOGNE-BILLANCOURT", 112200, 48.8333, 2.25, 34.));
+		sites.add(createSite("SAINT-DENIS", 103700, 48.9333, 2.35833, 34.5));
+		sites.add(createSite("ARGENTEUIL", 103300, 48.95, 2.25, 95.));
+		sites.add(createSite("MONTREUIL", 102200, 48.8667, 2.43333, 84.5));
+
+		// Bucketing the towns as the mission does
+		final GroundTrackScreening screening = new GroundTrackScreening(mission,
+				new AbsoluteDateInterval(mission.getStartDate(), mission.getEndDate()), CompleteMission.SCREENING_STEP,
+				MathLib.toRadians(ConstantsBE.POINTING_CAPACITY));
+		final SiteCellScreening cellScreening = new SiteCellScreening(screening, mission, sites,
+				CompleteMission.CELL_FOOTPRINT_RATIO * screening.getFootprintAngle());
+
+		// Asserting that the towns share cells
+		assertTrue("One cell per town : " + cellScreening.getCellCount(), cellScreening.getCellCount() < sites.size());
+
+		// Asserting that each access window is inside a candidate pass of the cell
+		int windowCount = 0;
+		for (final Site site : sites) {
+			final List<AbsoluteDateInterval> candidates = cellScreening.computeCandidateIntervals(site);
+			for (final Phenomenon window : mission.createSiteAccessTimeline(site).getPhenomenaList()) {
+				boolean included = false;
+				for (final AbsoluteDateInterval candidate : candidates) {
+					included |= candidate.includes(window.getTimespan());
+				}
+				assertTrue("Access window " + window.getTimespan() + " of " + site.getName()
+						+ " outside of the candidate passes !", included);
+				windowCount++;
+			}
+		}
+		assertTrue("No access window !", windowCount > 0);
+	}
+
+	/**
+	 * Checks that the {@link AccessMode#SINGLE_PROPAGATION} engine, used as the
+	 * reference of other tests, gives the access windows of the
+	 * {@link AccessMode#PER_SITE_PROPAGATION} detectors.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testSinglePropagation() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Single propagation mission", 5);
+
+		// Asserting that the engine gives the windows of the per-site detectors
+		assertSameAccessWindows(mission, reference -> reference.setAccessMode(AccessMode.PER_SITE_PROPAGATION),
+				engine -> engine.setAccessMode(AccessMode.SINGLE_PROPAGATION), WINDOW_TOLERANCE);
+	}
+
+	/**
+	 * Checks that the access windows extracted from an {@link AccessProfile} with
+	 * the {@link ConstantsBE} thresholds are the ones computed by the
+	 * {@link AccessMode#SINGLE_PROPAGATION} engine, within the profile
+	 * interpolation accuracy, and that tightening the pointing capacity only
+	 * shortens the windows.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testAccessProfile() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Access profile mission", 5);
+		mission.setAccessMode(AccessMode.SINGLE_PROPAGATION);
+		final double pointingCapacity = MathLib.toRadians(ConstantsBE.POINTING_CAPACITY);
+		final double maxSunIncidence = MathLib.toRadians(ConstantsBE.MAX_SUN_INCIDENCE_ANGLE);
+		final double maxSunPhase = MathLib.toRadians(ConstantsBE.MAX_SUN_PHASE_ANGLE);
+
+		for (final Site site : mission.getSiteList()) {
+			// Reference access windows, computed by the engine
+			final List<Phenomenon> engineWindows = mission.createSiteAccessTimeline(site).getPhenomenaList();
+
+			// Access windows extracted from the profile
+			final AccessProfile profile = mission.createSiteAccessProfile(site);
+			final Timeline profileTimeline = mission.createSiteAccessTimeline(profile, pointingCapacity,
+					maxSunIncidence, maxSunPhase);
+			assertSameWindows(site, engineWindows, profileTimeline.getPhenomenaList(), PROFILE_TOLERANCE);
+
+			// With a smaller pointing capacity, the access duration can only decrease
+			final Timeline narrowTimeline = mission.createSiteAccessTimeline(profile, pointingCapacity / 2.,
+					maxSunIncidence, maxSunPhase);
+			assertTrue(totalDuration(narrowTimeline) <= totalDuration(profileTimeline));
+		}
+	}
+
+	/**
+	 * Checks that the {@link IlluminationEngine} gives the access windows computed
+	 * with the illumination detector attached to the orbit propagation.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testAnalyticIllumination() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Analytic illumination mission", 5);
+
+		// Asserting that the illumination engine gives the windows of the detector
+		assertSameAccessWindows(mission, reference -> reference.setAnalyticIllumination(false),
+				analytic -> analytic.setAnalyticIllumination(true), WINDOW_TOLERANCE);
+	}
+
+	/**
+	 * Cross-validates the {@link AnalyticVisibilityDetector} against the
+	 * SensorVisibilityDetector : the access windows, whose edges are visibility
+	 * edges when the site becomes visible or leaves the sensor field of view,
+	 * must be the same with both detectors.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testAnalyticVisibility() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Analytic visibility mission", 5);
+
+		// Asserting that the closed-form detector gives the windows of the sensor model
+		assertSameAccessWindows(mission, reference -> reference.setAnalyticVisibility(false),
+				analytic -> analytic.setAnalyticVisibility(true), WINDOW_TOLERANCE);
+	}
+
+	/**
+	 * Checks that the {@link FusedAccessDetector} finds the access windows
+	 * computed with one detector per constraint, and that the per-constraint
+	 * diagnostics timeline is still available.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testFusedDetector() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Fused detector mission", 5);
+
+		// Asserting that the fused detector gives the windows of one detector per
+		// constraint
+		assertSameAccessWindows(mission, reference -> reference.setFusedDetector(false),
+				fused -> fused.setFusedDetector(true), WINDOW_TOLERANCE);
+
+		// The diagnostics timeline gives the phenomena of the constraints
+		for (final Site site : mission.getSiteList()) {
+			assertTrue(mission.createSiteAccessTimeline(site).getPhenomenaList().isEmpty()
+					|| !mission.createSiteConstraintsTimeline(site).getPhenomenaList().isEmpty());
+		}
+	}
+
+	/**
+	 * Checks that the {@link AccessDetectorPipeline} attaches each registered
+	 * detector once : over a propagation, each g-function is evaluated once per
+	 * max-check step, and every evaluation is counted. A detector registered
+	 * twice, on its own and through its logger, must be evaluated twice as often.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs during the
+	 *                          propagation.
+	 */
+	@Test
+	public void testAccessDetectorPipeline() throws PatriusException {
+
+		// Instantiating a CompleteMission, only used for its orbit
+		final CompleteMission mission = new CompleteMission("Pipeline mission", 1);
+		final KeplerianPropagator propagator = mission.createDefaultPropagator();
+		final double duration = 86400.;
+
+		// Registering two probe detectors, without any event
+		final LongAdder evaluations = new LongAdder();
+		final AccessDetectorPipeline pipeline = new AccessDetectorPipeline(evaluations);
+		final ProbeDetector visibility = new ProbeDetector(CompleteMission.MAXCHECK_EVENTS);
+		final ProbeDetector dazzling = new ProbeDetector(CompleteMission.MAXCHECK_EVENTS);
+		pipeline.register(AccessConstraint.VISIBILITY, visibility);
+		pipeline.register(AccessConstraint.DAZZLING, dazzling);
+		pipeline.attachTo(propagator);
+		propagator.propagate(mission.getStartDate().shiftedBy(duration));
+
+		// Asserting that each g-function is evaluated once per step, and counted
+		final double maxSteps = MathLib.ceil(duration / CompleteMission.MAXCHECK_EVENTS) + 2;
+		assertTrue("Visibility detector evaluated " + visibility.getEvaluations() + " times",
+				visibility.getEvaluations() > 0 && visibility.getEvaluations() <= maxSteps);
+		assertEquals("Detectors evaluated differently", visibility.getEvaluations(), dazzling.getEvaluations());
+		assertEquals("Evaluations not counted", visibility.getEvaluations() + dazzling.getEvaluations(),
+				evaluations.sum());
+
+		// Registering the detector twice, as before the pipeline : attached on its own
+		// and monitored by its logger
+		final KeplerianPropagator doublePropagator = mission.createDefaultPropagator();
+		final ProbeDetector doubleVisibility = new ProbeDetector(CompleteMission.MAXCHECK_EVENTS);
+		doublePropagator.addEventDetector(doubleVisibility);
+		final GenericCodingEventDetector codingDetector = new GenericCodingEventDetector(doubleVisibility,
+				AccessConstraint.VISIBILITY.getStartCode(), AccessConstraint.VISIBILITY.getEndCode(), true,
+				AccessConstraint.VISIBILITY.getCode());
+		doublePropagator.addEventDetector(new CodedEventsLogger().monitorDetector(codingDetector));
+		doublePropagator.propagate(mission.getStartDate().shiftedBy(duration));
+
+		// Asserting that the pipeline halves the g-function evaluations
+		assertEquals("Evaluations not halved by the pipeline", 2 * visibility.getEvaluations(),
+				doubleVisibility.getEvaluations());
+	}
+
+	/**
+	 * Checks that the two-phase detection gives the same access windows as the
+	 * detection at full precision, with fewer g-function evaluations.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testTwoPhaseDetection() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Two-phase detection mission", 5);
+		mission.setAccessMode(AccessMode.SINGLE_PROPAGATION);
+
+		// Asserting that the two phases give the windows computed at full precision
+		assertSameAccessWindows(mission, reference -> reference.setTwoPhaseDetection(false),
+				twoPhase -> twoPhase.setTwoPhaseDetection(true), WINDOW_TOLERANCE);
+
+		// Counting the g-function evaluations of the engine with each setting
+		mission.setTwoPhaseDetection(false);
+		final long start = mission.getEngineEvaluations();
+		for (final Site site : mission.getSiteList()) {
+			mission.createSiteAccessTimeline(site);
+		}
+		final long preciseEvaluations = mission.getEngineEvaluations() - start;
+		mission.setTwoPhaseDetection(true);
+		for (final Site site : mission.getSiteList()) {
+			mission.createSiteAccessTimeline(site);
+		}
+		final long twoPhaseEvaluations = mission.getEngineEvaluations() - start - preciseEvaluations;
+
+		// Asserting that the two phases save root-finding iterations
+		assertTrue("Two-phase evaluations : " + twoPhaseEvaluations + ", full precision : " + preciseEvaluations,
+				twoPhaseEvaluations < preciseEvaluations);
+	}
+
+	/**
+	 * Checks that splitting the horizon into time chunks propagated concurrently
+	 * gives the same access windows, the windows straddling the chunk boundaries
+	 * being merged back.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testTimePartition() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Time partition mission", 5);
+
+		// Asserting that chunks of a few hours, so that some windows straddle a
+		// boundary, give the windows computed over the whole horizon at once
+		assertSameAccessWindows(mission, reference -> reference.setTimePartitionDuration(0.),
+				chunked -> chunked.setTimePartitionDuration(10000.), WINDOW_TOLERANCE);
+	}
+
+	/**
+	 * Checks that the {@link AccessMode#REPEAT_CYCLE} mode gives the access
+	 * windows of the {@link AccessMode#SINGLE_PROPAGATION} engine.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testRepeatCycle() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = new CompleteMission("Repeat cycle mission", 5);
+
+		// Asserting that the repeat cycles give the windows of the engine
+		assertSameAccessWindows(mission, reference -> reference.setAccessMode(AccessMode.SINGLE_PROPAGATION),
+				repeat -> repeat.setAccessMode(AccessMode.REPEAT_CYCLE), WINDOW_TOLERANCE);
+	}
+
+	/**
+	 * Checks that the {@link RepeatCycleAccess} gives the access windows of the
+	 * {@link AccessEngine} over a one-month horizon, which holds repeat cycles :
+	 * the shifted cycles and the drift margin are exercised. The ephemerides of
+	 * the mission only cover one week, so both computations use ephemerides
+	 * tabulated over the month.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access windows.
+	 */
+	@Test
+	public void testRepeatCycleGroups() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites, and a one-month horizon
+		final CompleteMission mission = createMission("Repeat cycle groups mission", 5);
+		final AbsoluteDate start = mission.getStartDate();
+		final AbsoluteDateInterval month = new AbsoluteDateInterval(start, start.shiftedBy(30 * 86400.));
+		final TabulatedEphemeris satellite = new TabulatedEphemeris(mission.createDefaultPropagator(),
+				mission.getEme2000(), month, SimpleMission.EPHEMERIS_STEP);
+		final TabulatedEphemeris sun = new TabulatedEphemeris(mission.getSun(), mission.getEme2000(), month,
+				SimpleMission.SUN_EPHEMERIS_STEP);
+		final RepeatCycleAccess repeatCycleAccess = new RepeatCycleAccess(mission, month, satellite, sun,
+				CompleteMission.MAXCHECK_EVENTS, CompleteMission.TRESHOLD_EVENTS);
+		final AccessEngine engine = new AccessEngine(mission, month, satellite, sun, CompleteMission.MAXCHECK_EVENTS,
+				CompleteMission.TRESHOLD_EVENTS);
+
+		// Asserting that the month holds groups of several repeat cycles
+		assertTrue("No repeat cycle on the month !", repeatCycleAccess.getRepeatPeriod() > 0.);
+		assertTrue("Single cycle groups !", repeatCycleAccess.getCyclesPerGroup() > 1);
+
+		final double upper = month.getDuration();
+		for (final Site site : mission.getSiteList()) {
+			// Reference access windows of the engine
+			final IntervalSet expectedWindows = engine
+					.computeConstraintWindows(site, AccessConstraint.VISIBILITY, month)
+					.and(engine.computeConstraintWindows(site, AccessConstraint.ILLUMINATION, month))
+					.and(engine.computeConstraintWindows(site, AccessConstraint.DAZZLING, month).not(0., upper));
+
+			// Asserting that the repeat cycles give the same windows
+			final IntervalSet windows = repeatCycleAccess.computeAccessWindows(site, month);
+			assertEquals("Wrong number of access windows for " + site.getName(), expectedWindows.size(),
+					windows.size());
+			for (int i = 0; i < expectedWindows.size(); i++) {
+				assertEquals("Wrong window start for " + site.getName(), expectedWindows.getStart(i),
+						windows.getStart(i), WINDOW_TOLERANCE);
+				assertEquals("Wrong window end for " + site.getName(), expectedWindows.getEnd(i), windows.getEnd(i),
+						WINDOW_TOLERANCE);
+			}
+		}
+	}
+
+	/**
+	 * Checks that computing the access and observation plans together, the sites
+	 * being published as soon as their accesses are ready, gives the observation
+	 * plan computed once the whole access plan is known.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the plans.
+	 * @throws IOException      If the access directory cannot be created.
+	 */
+	@Test
+	public void testAccessAndObservationPlan() throws PatriusException, IOException {
+
+		// Reference plan, computed after the whole access plan
+		final CompleteMission mission = createMission("Sequential planning mission", 10);
+		mission.computeAccessPlan();
+		final Map<Site, AttitudeLawLeg> expectedPlan = mission.computeObservationPlan();
+
+		// Plan overlapping the two computations, the sites being computed in parallel
+		// so that they are published in any order, in a directory of its own so that
+		// nothing is loaded from the reference one
+		final CompleteMission overlappedMission = createMission("Overlapped planning mission", 10);
+		overlappedMission.setAccessDirectory(this.accessDirectory.newFolder("overlapped"));
+		overlappedMission.setAccessParallelism(4);
+		final Map<Site, AttitudeLawLeg> plan = overlappedMission.computeAccessAndObservationPlan();
+		assertTrue("Accesses loaded instead of computed !", overlappedMission.getDetectorEvaluations() > 0);
+
+		// Asserting that both plans observe the same sites at the same dates
+		assertEquals("Wrong number of observations", expectedPlan.size(), plan.size());
+		for (final Entry<Site, AttitudeLawLeg> entry : expectedPlan.entrySet()) {
+			final AttitudeLawLeg leg = plan.get(findSite(overlappedMission.getSiteList(), entry.getKey()));
+			assertTrue(entry.getKey().getName() + " not observed !", leg != null);
+			assertEquals("Wrong observation of " + entry.getKey().getName(), 0., leg.getTimeInterval().getLowerData()
+					.durationFrom(entry.getValue().getTimeInterval().getLowerData()), WINDOW_TOLERANCE);
+		}
+	}
+
+	/**
+	 * Checks that the lazy planner gives the observation plan of the greedy
+	 * planner when it pulls every site, and that it leaves out the low-score
+	 * sites when the tolerance on the remaining score allows it.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the plans.
+	 */
+	@Test
+	public void testLazyPlanning() throws PatriusException {
+
+		// Reference plan, with the accesses of every site
+		final CompleteMission eagerMission = createMission("Eager mission", 10);
+		eagerMission.computeAccessPlan();
+		final Map<Site, AttitudeLawLeg> eagerPlan = eagerMission.computeObservationPlan();
+
+		// Lazy plan pulling every site
+		final CompleteMission lazyMission = createMission("Lazy mission", 10);
+		final Map<Site, AttitudeLawLeg> lazyPlan = lazyMission.computeLazyObservationPlan();
+
+		// Asserting that both plans observe the same sites at the same dates
+		assertEquals("Wrong number of observations", eagerPlan.size(), lazyPlan.size());
+		for (final Entry<Site, AttitudeLawLeg> entry : eagerPlan.entrySet()) {
+			final AttitudeLawLeg lazyLeg = lazyPlan.get(findSite(lazyMission.getSiteList(), entry.getKey()));
+			assertTrue(entry.getKey().getName() + " not observed by the lazy planner !", lazyLeg != null);
+			assertEquals("Wrong observation of " + entry.getKey().getName(), 0.,
+					lazyLeg.getTimeInterval().getLowerData()
+							.durationFrom(entry.getValue().getTimeInterval().getLowerData()), WINDOW_TOLERANCE);
+		}
+
+		// Lazy plan stopping as soon as something is planned
+		final CompleteMission tolerantMission = createMission("Tolerant mission", 10);
+		tolerantMission.setLazyPlanningTolerance(Double.MAX_VALUE);
+		final Map<Site, AttitudeLawLeg> tolerantPlan = tolerantMission.computeLazyObservationPlan();
+
+		// Asserting that the accesses of the other sites have not been computed
+		assertTrue("Empty observation plan !", !tolerantPlan.isEmpty());
+		assertTrue("Every site has been pulled !",
+				tolerantMission.getAccessPlan().size() < tolerantMission.getSiteList().size());
+	}
+
+	/**
+	 * Checks that the shards of the sites are disjoint and cover the site list,
+	 * so that the sharded access computation computes every site once.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when
+	 *                          instantiating the {@link CompleteMission}.
+	 */
+	@Test
+	public void testShardSites() throws PatriusException {
+
+		// Instantiating a CompleteMission with more sites than shards
+		final CompleteMission mission = new CompleteMission("Sharded mission", 10);
+		final int shardCount = 3;
+
+		// Gathering the sites of all the shards
+		final Set<Site> shardedSites = new HashSet<>();
+		int total = 0;
+		for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+			final List<Site> shardSites = mission.getShardSites(shardIndex, shardCount);
+			total += shardSites.size();
+			shardedSites.addAll(shardSites);
+
+			// Asserting that the shards are balanced
+			assertTrue("Unbalanced shard " + shardIndex, shardSites.size() >= mission.getSiteList().size() / shardCount);
+		}
+
+		// Asserting that each site belongs to exactly one shard
+		assertEquals("Sites shared between shards", total, shardedSites.size());
+		assertEquals("Sites missing from the shards", new HashSet<>(mission.getSiteList()), shardedSites);
+	}
+
+	/**
+	 * Checks that the access windows computed up to a boundary, stitched with the
+	 * ones computed from it, are the windows of the whole horizon : the window cut
+	 * by the boundary must be merged back, as when the accesses serialized over a
+	 * previous horizon are extended.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testStitchTimelines() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = createMission("Stitched mission", 5);
+		int stitchedSites = 0;
+
+		for (final Site site : mission.getSiteList()) {
+			// Reference access windows over the whole horizon
+			final List<Phenomenon> expectedWindows = mission.createSiteAccessTimeline(site).getPhenomenaList();
+			if (expectedWindows.isEmpty()) {
+				continue;
+			}
+
+			// Previous horizon ending in the middle of a window, and its extension
+			final AbsoluteDateInterval crossed = expectedWindows.get(expectedWindows.size() / 2).getTimespan();
+			final AbsoluteDate boundary = crossed.getLowerData().shiftedBy(crossed.getDuration() / 2.);
+			final Timeline previous = mission.createSiteAccessTimeline(site,
+					new AbsoluteDateInterval(mission.getStartDate(), boundary));
+			final Timeline extension = mission.createSiteAccessTimeline(site,
+					new AbsoluteDateInterval(boundary, mission.getEndDate()));
+
+			// Asserting that the stitched windows are the reference ones
+			assertSameWindows(site, expectedWindows,
+					mission.stitchTimelines(previous, extension, boundary).getPhenomenaList(), WINDOW_TOLERANCE);
+			stitchedSites++;
+		}
+		assertTrue("No access window to stitch !", stitchedSites > 0);
+	}
+
+	/**
+	 * Checks that the minimum access duration is applied to the window cut by the
+	 * boundary of a previous horizon : both of its parts reach a horizon bound and
+	 * are kept, but once merged back the window is shorter than the minimum and
+	 * must be dropped, as in a computation over the whole horizon.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testStitchShortWindow() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = createMission("Stitched short window mission", 5);
+		Site site = null;
+		List<Phenomenon> windows = null;
+		for (final Site candidate : mission.getSiteList()) {
+			windows = mission.createSiteAccessTimeline(candidate).getPhenomenaList();
+			if (!windows.isEmpty()) {
+				site = candidate;
+				break;
+			}
+		}
+		assertTrue("No access window to stitch !", site != null);
+
+		// Minimum duration just above the duration of the crossed window
+		final AbsoluteDateInterval crossed = windows.get(windows.size() / 2).getTimespan();
+		mission.setMinimumAccessDuration(crossed.getDuration() + 1.);
+		final List<Phenomenon> expectedWindows = mission.createSiteAccessTimeline(site).getPhenomenaList();
+
+		// Previous horizon ending in the middle of the crossed window, and its
+		// extension
+		final AbsoluteDate boundary = crossed.getLowerData().shiftedBy(crossed.getDuration() / 2.);
+		final Timeline previous = mission.createSiteAccessTimeline(site,
+				new AbsoluteDateInterval(mission.getStartDate(), boundary));
+		final Timeline extension = mission.createSiteAccessTimeline(site,
+				new AbsoluteDateInterval(boundary, mission.getEndDate()));
+		final List<Phenomenon> stitchedWindows = mission.stitchTimelines(previous, extension, boundary)
+				.getPhenomenaList();
+
+		// Asserting that the crossed window is dropped, as from scratch
+		assertSameWindows(site, expectedWindows, stitchedWindows, WINDOW_TOLERANCE);
+		for (final Phenomenon window : stitchedWindows) {
+			assertFalse("Short crossed window kept !", window.getTimespan().contains(boundary));
+		}
+	}
+
+	/**
+	 * Checks that the {@link AccessShardCoordinator} computes the access plan
+	 * with two local worker processes, given the access settings of the mission :
+	 * the merge must load every {@link Site} from the files of the workers, and
+	 * give the access plan of a plain computation.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access plans.
+	 * @throws IOException      If the reference directory cannot be created.
+	 */
+	@Test
+	public void testShardCoordinator() throws PatriusException, IOException {
+
+		// Coordinated mission, with non-default access settings
+		final CompleteMission mission = createMission("Coordinated mission", 4);
+		mission.setFidelity(FidelityPreset.BALANCED);
+		mission.setMinimumAccessDuration(10.);
+		mission.setAnalyticVisibility(true);
+		final Map<Site, Timeline> shardedPlan = new AccessShardCoordinator(2, 1).computeAccessPlan(mission);
+
+		// Asserting that the coordinator has computed nothing itself
+		assertEquals("Accesses computed by the coordinator !", 0L, mission.getDetectorEvaluations());
+
+		// Reference plan, computed in a process of its own
+		final CompleteMission referenceMission = createMission("Coordinated mission", 4);
+		referenceMission.setAccessDirectory(this.accessDirectory.newFolder("reference"));
+		referenceMission.setFidelity(FidelityPreset.BALANCED);
+		referenceMission.setMinimumAccessDuration(10.);
+		referenceMission.setAnalyticVisibility(true);
+		final Map<Site, Timeline> expectedPlan = referenceMission.computeAccessPlan();
+
+		assertEquals("Wrong number of sites", expectedPlan.size(), shardedPlan.size());
+		for (final Entry<Site, Timeline> entry : expectedPlan.entrySet()) {
+			final Site site = findSite(mission.getSiteList(), entry.getKey());
+			assertSameWindows(site, entry.getValue().getPhenomenaList(), shardedPlan.get(site).getPhenomenaList(),
+					WINDOW_TOLERANCE);
+		}
+	}
+
+	/**
+	 * Checks that the {@link AccessIndex} gives, for each orbit revolution, the
+	 * sites found by scanning every access {@link Timeline} of the plan.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access plan.
+	 */
+	@Test
+	public void testAccessIndex() throws PatriusException {
+
+		// Instantiating a CompleteMission and computing its access plan
+		final CompleteMission mission = createMission("Access index mission", 10);
+		final Map<Site, Timeline> accessPlan = mission.computeAccessPlan();
+		final AccessIndex index = mission.createAccessIndex();
+
+		for (int revolution = 0; revolution < index.getBucketCount(); revolution++) {
+			final AbsoluteDateInterval pass = index.getBucketInterval(revolution);
+
+			// Reference sites, scanning the whole access plan
+			final Set<Site> expectedSites = new HashSet<>();
+			for (final Entry<Site, Timeline> entry : accessPlan.entrySet()) {
+				for (final Phenomenon window : entry.getValue().getPhenomenaList()) {
+					if (window.getTimespan().getLowerData().compareTo(pass.getUpperData()) <= 0
+							&& window.getTimespan().getUpperData().compareTo(pass.getLowerData()) >= 0) {
+						expectedSites.add(entry.getKey());
+					}
+				}
+			}
+
+			// Asserting that the index gives the same sites
+			assertEquals("Wrong accessible sites during revolution " + revolution, expectedSites,
+					new HashSet<>(index.getAccessibleSites(revolution)));
+		}
+	}
+
+	/**
+	 * Checks that the {@link FidelityPreset#BALANCED} preset finds the access
+	 * windows of the {@link FidelityPreset#PRECISE} one, within its detector
+	 * threshold, and that the {@link FidelityPreset#FAST} one only misses windows
+	 * shorter than its max-check interval.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	@Test
+	public void testFidelityPresets() throws PatriusException {
+
+		// Instantiating a CompleteMission with a few sites
+		final CompleteMission mission = createMission("Fidelity mission", 5);
+		final double tolerance = FidelityPreset.BALANCED.getThreshold() + WINDOW_TOLERANCE;
+
+		// Asserting that the balanced preset gives the windows of the precise one
+		assertSameAccessWindows(mission, reference -> reference.setFidelity(FidelityPreset.PRECISE),
+				balanced -> balanced.setFidelity(FidelityPreset.BALANCED), tolerance);
+
+		// The fast preset may only miss the windows shorter than its max-check
+		final double fastTolerance = FidelityPreset.FAST.getThreshold() + WINDOW_TOLERANCE;
+		for (final Site site : mission.getSiteList()) {
+			mission.setFidelity(FidelityPreset.PRECISE);
+			final List<Phenomenon> expectedWindows = mission.createSiteAccessTimeline(site).getPhenomenaList();
+			mission.setFidelity(FidelityPreset.FAST);
+			final List<Phenomenon> fastWindows = mission.createSiteAccessTimeline(site).getPhenomenaList();
+
+			// Asserting that each fast window is a precise one
+			for (final Phenomenon fastWindow : fastWindows) {
+				assertTrue("Fast access window " + fastWindow.getTimespan() + " of " + site.getName()
+						+ " not found with the precise preset !",
+						containsWindow(expectedWindows, fastWindow, fastTolerance));
+			}
+
+			// Asserting that the precise windows longer than the max-check are found
+			for (final Phenomenon expectedWindow : expectedWindows) {
+				if (expectedWindow.getTimespan().getDuration() > FidelityPreset.FAST.getMaxCheck()) {
+					assertTrue("Access window " + expectedWindow.getTimespan() + " of " + site.getName()
+							+ " missed by the fast preset !",
+							containsWindow(fastWindows, expectedWindow, fastTolerance));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks that the access windows loaded from the binary access cache are the
+	 * computed ones, boundaries and horizon flags included. The cache is written
+	 * in a temporary directory, and the second mission must load every site from
+	 * it without running any detector, whereas a mission computing the accesses
+	 * another way must not find them.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 * @throws IOException      If the cache cannot be read
+	 */
+	@Test
+	public void testAccessCache() throws PatriusException, IOException {
+
+		// Filling the access cache
+		final CompleteMission mission = createMission("Access cache mission", 5);
+		mission.computeAccessPlan();
+
+		// Asserting that the cache has been written in the temporary directory only
+		final File[] cacheFiles = this.accessDirectory.getRoot().listFiles();
+		assertTrue("No access cache written !", cacheFiles != null && cacheFiles.length > 0);
+
+		// Loading the cache from another mission
+		final CompleteMission loadingMission = createMission("Access cache mission", 5);
+		final Map<Site, Timeline> loadedPlan = loadingMission.computeAccessPlan();
+		assertEquals("Accesses computed instead of loaded !", 0L, loadingMission.getDetectorEvaluations());
+
+		for (final Site site : loadingMission.getSiteList()) {
+			// Reference access windows, computed without the cache
+			final List<Phenomenon> computedWindows = mission.createSiteAccessTimeline(site).getPhenomenaList();
+			final List<Phenomenon> loadedWindows = loadedPlan.get(site).getPhenomenaList();
+
+			// Asserting that the loaded windows are the computed ones
+			assertSameWindows(site, computedWindows, loadedWindows, WINDOW_TOLERANCE);
+			for (int i = 0; i < computedWindows.size(); i++) {
+				final Phenomenon computed = computedWindows.get(i);
+				final Phenomenon loaded = loadedWindows.get(i);
+				assertEquals("Wrong start flag", computed.getStartingIsDefined(), loaded.getStartingIsDefined());
+				assertEquals("Wrong end flag", computed.getEndingIsDefined(), loaded.getEndingIsDefined());
+			}
+		}
+
+		// Asserting that the accesses are not served to another computation method
+		final CompleteMission otherMethodMission = createMission("Access cache mission", 5);
+		otherMethodMission.setAnalyticVisibility(true);
+		for (final Site site : otherMethodMission.getSiteList()) {
+			assertFalse(site.getName() + " served to another method !", otherMethodMission.isAccessCached(site));
+		}
+	}
+
+	/**
+	 * Test of the access cache container shared by the sites : a mission with a
+	 * larger catalog appends its new sites to the container filled by a smaller
+	 * one, and a third mission loads the whole catalog from it. The container is
+	 * written in a temporary directory.
+	 * 
+	 * @throws PatriusException If a {@link PatriusException} occurs
+	 * @throws IOException      If the container cannot be read
+	 */
+	@Test
+	public void testAccessCacheContainer() throws PatriusException, IOException {
+
+		// Filling the container with a small catalog
+		final CompleteMission smallMission = createMission("Access cache container mission", 4);
+		smallMission.computeAccessPlan();
+
+		// Asserting that the container only holds the sites of the small catalog
+		final CompleteMission grownMission = createMission("Access cache container mission", 8);
+		for (final Site site : grownMission.getSiteList()) {
+			assertEquals("Wrong container content for " + site.getName(),
+					findSite(smallMission.getSiteList(), site) != null,
+					grownMission.isAccessCached(site));
+		}
+
+		// Growing the catalog : the new sites are appended to the container
+		final Map<Site, Timeline> grownPlan = grownMission.computeAccessPlan();
+		for (final Site site : grownMission.getSiteList()) {
+			assertTrue(site.getName() + " not appended to the container !", grownMission.isAccessCached(site));
+		}
+
+		// Loading the whole catalog from the container, without any computation
+		final CompleteMission loadingMission = createMission("Access cache container mission", 8);
+		final Map<Site, Timeline> loadedPlan = loadingMission.computeAccessPlan();
+		assertEquals("Accesses computed instead of loaded !", 0L, loadingMission.getDetectorEvaluations());
+
+		assertEquals("Wrong number of sites", grownPlan.size(), loadedPlan.size());
+		for (final Entry<Site, Timeline> entry : grownPlan.entrySet()) {
+			final List<Phenomenon> grownWindows = entry.getValue().getPhenomenaList();
+			final List<Phenomenon> loadedWindows = loadedPlan
+					.get(findSite(loadingMission.getSiteList(), entry.getKey())).getPhenomenaList();
+
+			// Asserting that the loaded windows are the stored ones
+			assertSameWindows(entry.getKey(), grownWindows, loadedWindows, WINDOW_TOLERANCE);
+		}
+	}
+
+	/**
+	 * Instantiate a {@link CompleteMission} serializing its accesses in the
+	 * temporary directory of the test.
+	 * 
+	 * @param missionName   Name of the mission
+	 * @param numberOfSites Number of target {@link Site}
+	 * @return the {@link CompleteMission}
+	 * @throws PatriusException If a {@link PatriusException} occurs when
+	 *                          instantiating the {@link CompleteMission}.
+	 */
+	private CompleteMission createMission(String missionName, int numberOfSites) throws PatriusException {
+		final CompleteMission mission = new CompleteMission(missionName, numberOfSites);
+		mission.setAccessDirectory(this.accessDirectory.getRoot());
+		return mission;
+	}
+
+	/**
+	 * Create a {@link Site} from its catalog values.
+	 * 
+	 * @param name      Name of the site
+	 * @param score     Score of the site
+	 * @param latitude  Latitude (deg)
+	 * @param longitude Longitude (deg)
+	 * @param altitude  Altitude (m)
+	 * @return the {@link Site}
+	 */
+	private static Site createSite(String name, double score, double latitude, double longitude, double altitude) {
+		return new Site(name, score,
+				new GeodeticPoint(MathLib.toRadians(latitude), MathLib.toRadians(longitude), altitude, name));
+	}
+
+	/**
+	 * Compute the access windows of every {@link Site} of a mission with two
+	 * settings, and check that both give the same windows.
+	 * 
+	 * @param mission   {@link CompleteMission} whose sites are computed
+	 * @param reference Setting of the reference computation
+	 * @param variant   Setting of the computation to validate
+	 * @param tolerance Tolerance (s) on the boundaries
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	private static void assertSameAccessWindows(CompleteMission mission, Consumer<CompleteMission> reference,
+			Consumer<CompleteMission> variant, double tolerance) throws PatriusException {
+		for (final Site site : mission.getSiteList()) {
+			// Reference access windows
+			reference.accept(mission);
+			final List<Phenomenon> expectedWindows = mission.createSiteAccessTimeline(site).getPhenomenaList();
+
+			// Access windows with the setting to validate
+			variant.accept(mission);
+			final List<Phenomenon> windows = mission.createSiteAccessTimeline(site).getPhenomenaList();
+
+			assertSameWindows(site, expectedWindows, windows, tolerance);
+		}
+	}
+
+	/**
+	 * Count the g-function evaluations of the constraint detectors when computing
+	 * the access windows of every {@link Site} of a mission with a setting.
+	 * 
+	 * @param mission {@link CompleteMission} whose sites are computed
+	 * @param setting Setting of the computation
+	 * @return the number of g-function evaluations
+	 * @throws PatriusException If a {@link PatriusException} occurs when computing
+	 *                          the access timelines.
+	 */
+	private static long countDetectorEvaluations(CompleteMission mission, Consumer<CompleteMission> setting)
+			throws PatriusException {
+		setting.accept(mission);
+		final long start = mission.getDetectorEvaluations();
+		for (final Site site : mission.getSiteList()) {
+			mission.createSiteAccessTimeline(site);
+		}
+		return mission.getDetectorEvaluations() - start;
+	}
+
+	/**
+	 * Check that two lists of access windows of a {@link Site} are the same : same
+	 * number of windows, each expected window being found in the other list.
+	 * 
+	 * @param site            {@link Site} of the windows
+	 * @param expectedWindows Reference access windows
+	 * @param windows         Access windows to validate
+	 * @param tolerance       Tolerance (s) on the boundaries
+	 */
+	private static void assertSameWindows(Site site, List<Phenomenon> expectedWindows, List<Phenomenon> windows,
+			double tolerance) {
+		assertEquals("Wrong number of access windows for " + site.getName(), expectedWindows.size(),
+				windows.size());
+		for (final Phenomenon expectedWindow : expectedWindows) {
+			assertTrue("Access window " + expectedWindow.getTimespan() + " of " + site.getName() + " missed !",
+					containsWindow(windows, expectedWindow, tolerance));
+		}
+	}
+
+	/**
+	 * Find the {@link Site} of the same name as the input one in a list of sites,
+	 * the sites of two missions being distinct objects.
+	 * 
+	 * @param sites List of sites
+	 * @param site  Searched {@link Site}
+	 * @return the {@link Site} of the list with the same name, or null if there is
+	 *         none
+	 */
+	private static Site findSite(List<Site> sites, Site site) {
+		for (final Site candidate : sites) {
+			if (candidate.getName().equals(site.getName())) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Compute the total duration of the phenomena of a {@link Timeline}.
+	 * 
+	 * @param timeline Input {@link Timeline}
+	 * @return the sum of the durations (s)
+	 */
+	private static double totalDuration(Timeline timeline) {
+		double duration = 0.;
+		for (final Phenomenon phenom : timeline.getPhenomenaList()) {
+			duration += phenom.getTimespan().getDuration();
+		}
+		return duration;
+	}
+
+	/**
+	 * Look for a window in a list of access windows, within
+	 * {@link #WINDOW_TOLERANCE}.
+	 * 
+	 * @param windows List of access windows
+	 * @param window  Searched window
+	 * @return true if a window of the list has the same boundaries as the searched
+	 *         one
+	 */
+	private static boolean containsWindow(List<Phenomenon> windows, Phenomenon window) {
+		return containsWindow(windows, window, WINDOW_TOLERANCE);
+	}
+
+	/**
+	 * Look for a window in a list of access windows.
+	 * 
+	 * @param windows   List of access windows
+	 * @param window    Searched window
+	 * @param tolerance Tolerance (s) on the boundaries
+	 * @return true if a window of the list has the same boundaries as the searched
+	 *         one, within the tolerance
+	 */
+	private static boolean containsWindow(List<Phenomenon> windows, Phenomenon window, double tolerance) {
+		for (final Phenomenon candidate : windows) {
+			final double startGap = candidate.getTimespan().getLowerData()
+					.durationFrom(window.getTimespan().getLowerData());
+			final double endGap = candidate.getTimespan().getUpperData()
+					.durationFrom(window.getTimespan().getUpperData());
+			if (MathLib.abs(startGap) < tolerance && MathLib.abs(endGap) < tolerance) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Detector counting its own g-function evaluations, whose g-function is always
+	 * positive.
+	 */
+	private static final class ProbeDetector extends AbstractDetector {
+
+		/** Serializable UID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Number of g-function evaluations. */
+		private long evaluations;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param maxCheck Max-check interval (s)
+		 */
+		ProbeDetector(double maxCheck) {
+			super(maxCheck, CompleteMission.TRESHOLD_EVENTS);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public double g(SpacecraftState s) {
+			this.evaluations++;
+			return 1.;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public Action eventOccurred(SpacecraftState s, boolean increasing, boolean forward) {
+			return Action.CONTINUE;
+		}
+
+		/**
+		 * @return false : the detector is never removed from the propagator
+		 */
+		@Override
+		public boolean shouldBeRemoved() {
+			return false;
+		}
+
+		/**
+		 * @return a new detector with the same max-check interval
+		 */
+		@Override
+		public EventDetector copy() {
+			return new ProbeDetector(getMaxCheckInterval());
+		}
+
+		/**
+		 * @return the number of g-function evaluations
+		 */
+		long getEvaluations() {
+			return this.evaluations;
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+package unittest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import progmission.IntervalSet;
+
+/**
+ * Test class for the {@link IntervalSet} class, used to combine the access
+ * constraints of a site.
+ *
+ * Each test builds small sets of windows by hand and checks the bounds of the
+ * result of a logical gate.
+ */
+public class IntervalSetTest {
+
+	/**
+	 * Tolerance on the bounds comparisons : the gates only copy bounds, so the
+	 * results must be exact.
+	 */
+	private static final double EPSILON = 0.;
+
+	/**
+	 * Checks that unsorted, overlapping, touching and empty windows are normalized
+	 * when building a set.
+	 */
+	@Test
+	public void testFromWindows() {
+		final IntervalSet set = IntervalSet.fromWindows(Arrays.asList(new double[] { 50., 60. },
+				new double[] { 0., 10. }, new double[] { 5., 20. }, new double[] { 20., 30. },
+				new double[] { 40., 40. }));
+
+		// [0, 10], [5, 20] and [20, 30] are merged, [40, 40] is dropped
+		assertEquals(2, set.size());
+		assertBounds(set, 0, 0., 30.);
+		assertBounds(set, 1, 50., 60.);
+	}
+
+	/**
+	 * Checks the logical AND between two sets.
+	 */
+	@Test
+	public void testAnd() {
+		final IntervalSet a = IntervalSet.fromWindows(Arrays.asList(new double[] { 0., 10. },
+				new double[] { 20., 30. }));
+		final IntervalSet b = IntervalSet.fromWindows(Arrays.asList(new double[] { 5., 25. },
+				new double[] { 28., 40. }));
+		final IntervalSet and = a.and(b);
+
+		assertEquals(3, and.size());
+		assertBounds(and, 0, 5., 10.);
+		assertBounds(and, 1, 20., 25.);
+		assertBounds(and, 2, 28., 30.);
+
+		// Intersecting with an empty set gives an empty set
+		assertTrue(a.and(IntervalSet.EMPTY).isEmpty());
+	}
+
+	/**
+	 * Checks the logical OR between two sets, overlapping windows being merged.
+	 */
+	@Test
+	public void testOr() {
+		final IntervalSet a = IntervalSet.fromWindows(Arrays.asList(new double[] { 0., 10. },
+				new double[] { 20., 30. }));
+		final IntervalSet b = IntervalSet.fromWindows(Arrays.asList(new double[] { 5., 15. },
+				new double[] { 40., 50. }));
+		final IntervalSet or = a.or(b);
+
+		assertEquals(3, or.size());
+		assertBounds(or, 0, 0., 15.);
+		assertBounds(or, 1, 20., 30.);
+		assertBounds(or, 2, 40., 50.);
+	}
+
+	/**
+	 * Checks the logical NOT of a set inside a domain, including windows crossing
+	 * the domain bounds.
+	 */
+	@Test
+	public void testNot() {
+		final IntervalSet set = IntervalSet.fromWindows(Arrays.asList(new double[] { -5., 10. },
+				new double[] { 20., 30. }, new double[] { 90., 120. }));
+		final IntervalSet not = set.not(0., 100.);
+
+		assertEquals(2, not.size());
+		assertBounds(not, 0, 10., 20.);
+		assertBounds(not, 1, 30., 90.);
+
+		// The complement of an empty set is the whole domain
+		final IntervalSet all = IntervalSet.EMPTY.not(0., 100.);
+		assertEquals(1, all.size());
+		assertBounds(all, 0, 0., 100.);
+	}
+
+	/**
+	 * Checks the minimum duration filter and the total duration.
+	 */
+	@Test
+	public void testMinimumDuration() {
+		final IntervalSet set = IntervalSet.fromWindows(Arrays.asList(new double[] { 0., 5. },
+				new double[] { 10., 30. }, new double[] { 40., 49. }));
+		final IntervalSet filtered = set.withMinimumDuration(10.);
+
+		assertEquals(1, filtered.size());
+		assertBounds(filtered, 0, 10., 30.);
+		assertEquals(34., set.getDuration(), EPSILON);
+	}
+
+	/**
+	 * Checks the widening of the intervals, the ones overlapping once widened
+	 * being merged.
+	 */
+	@Test
+	public void testDilate() {
+		final IntervalSet set = IntervalSet.fromWindows(Arrays.asList(new double[] { 0., 10. },
+				new double[] { 12., 20. }, new double[] { 30., 40. }));
+		final IntervalSet dilated = set.dilate(1.);
+
+		assertEquals(2, dilated.size());
+		assertBounds(dilated, 0, -1., 21.);
+		assertBounds(dilated, 1, 29., 41.);
+	}
+
+	/**
+	 * Assert the bounds of an interval of a set.
+	 *
+	 * @param set   Set to check
+	 * @param i     Index of the interval
+	 * @param start Expected start
+	 * @param end   Expected end
+	 */
+	private static void assertBounds(IntervalSet set, int i, double start, double end) {
+		assertEquals("Wrong start of interval " + i, start, set.getStart(i), EPSILON);
+		assertEquals("Wrong end of interval " + i, end, set.getEnd(i), EPSILON);
+	}
+}